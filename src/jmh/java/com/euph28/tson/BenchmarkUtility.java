@@ -0,0 +1,147 @@
+package com.euph28.tson;
+
+import com.euph28.tson.context.TSONContext;
+import com.euph28.tson.context.VariableType;
+import com.euph28.tson.context.restdata.ResponseData;
+import com.euph28.tson.reporter.TSONReporter;
+import com.euph28.tson.reporter.report.Report;
+import com.euph28.tson.reporter.report.ReportSource;
+import com.euph28.tson.reporter.report.ReportType;
+import com.euph28.tson.restclientinterface.TSONRestClient;
+import com.euph28.tson.runner.TSONRunner;
+
+import java.nio.file.Paths;
+
+/**
+ * Utility class that generates fixtures for benchmarks
+ */
+public class BenchmarkUtility {
+
+    /**
+     * Retrieve TSON Runner for use in benchmarks
+     *
+     * @return TSON Runner
+     */
+    public static TSONRunner getTsonRunner() {
+        return new TSONRunner(Paths.get("").toAbsolutePath().toFile());
+    }
+
+    /**
+     * Generate TSON content with a number of SEND statements, each followed by assertions
+     *
+     * @param sendCount         Number of SEND statements
+     * @param assertionsPerSend Number of assertion statements after each SEND
+     * @return Generated TSON content
+     */
+    public static String generateTsonContent(int sendCount, int assertionsPerSend) {
+        StringBuilder content = new StringBuilder();
+        content.append("ID TSON-BENCHMARK\n");
+        content.append("DESC Generated TSON content for benchmarks\n\n");
+
+        for (int i = 0; i < sendCount; i++) {
+            content.append("CUSTOM_VARIABLE [Variable ").append(i).append("] value").append(i).append("=").append(i).append('\n');
+            content.append("SEND [Send ").append(i).append("] request").append(i).append(".json\n");
+            for (int j = 0; j < assertionsPerSend; j++) {
+                switch (j % 3) {
+                    case 0:
+                        content.append("    EQUAL status=200 body.items.").append(j).append(".id=").append(j).append('\n');
+                        break;
+                    case 1:
+                        content.append("    REGEX body.items.*.name=item[0-9]+\n");
+                        break;
+                    default:
+                        content.append("    RANGE body.items.*.id=0-100000\n");
+                }
+            }
+            content.append('\n');
+        }
+        return content.toString();
+    }
+
+    /**
+     * Generate text with a number of content placeholders. Placeholders refer to variables created by
+     * {@link #addTemplateVariables(TSONContext, int)}
+     *
+     * @param placeholderCount Number of placeholders in the text
+     * @return Generated text
+     */
+    public static String generateTemplate(int placeholderCount) {
+        StringBuilder template = new StringBuilder("{\"prefix\": \"plain text without placeholders\"");
+        for (int i = 0; i < placeholderCount; i++) {
+            template.append(", \"key").append(i).append("\": \"${var.key").append(i).append("}\"");
+        }
+        return template.append('}').toString();
+    }
+
+    /**
+     * Add the variables used by {@link #generateTemplate(int)} into a context
+     *
+     * @param tsonContext      Context to add the variables to
+     * @param placeholderCount Number of variables to add
+     */
+    public static void addTemplateVariables(TSONContext tsonContext, int placeholderCount) {
+        for (int i = 0; i < placeholderCount; i++) {
+            tsonContext.addVariable(VariableType.VARIABLE, "key" + i, "value" + i);
+        }
+    }
+
+    /**
+     * Generate a JSON response body with an array of items at {@code body.items}. Each item has an {@code id}
+     * equal to its index and a {@code name} of {@code item<index>}
+     *
+     * @param itemCount Number of items in the array
+     * @return Generated JSON
+     */
+    public static String generateJsonArray(int itemCount) {
+        StringBuilder json = new StringBuilder("{\"body\": {\"items\": [");
+        for (int i = 0; i < itemCount; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\": ").append(i).append(", \"name\": \"item").append(i).append("\", \"enabled\": true}");
+        }
+        return json.append("]}}").toString();
+    }
+
+    /**
+     * Create a context whose current response is the provided body. The response is returned by a transport
+     * that does not use the network
+     *
+     * @param responseBody Body of the response
+     * @return Context with the response loaded
+     */
+    public static TSONContext getContextWithResponse(String responseBody) {
+        TSONContext tsonContext = new TSONContext();
+        TSONRestClient tsonRestClient = new TSONRestClient(tsonContext, sourceName -> "");
+        tsonRestClient.setTransport((requestVerb, requestData, connectTimeout, readTimeout) ->
+                new ResponseData(200, responseBody, 0, 0, 0, 0)
+        );
+        tsonRestClient.send();
+        return tsonContext;
+    }
+
+    /**
+     * Generate a report tree where each report has a number of sub-reports
+     *
+     * @param depth   Depth of the tree below the root
+     * @param breadth Number of sub-reports of each report
+     * @return Deepest (last) reporter of the tree. Use {@link TSONReporter#getGeneratedReport} to reach the root
+     */
+    public static TSONReporter generateReportTree(int depth, int breadth) {
+        TSONReporter current = new TSONReporter();
+        for (int layer = 0; layer < depth; layer++) {
+            TSONReporter last = current;
+            for (int i = 0; i < breadth; i++) {
+                last = current.createSubReport(new Report(
+                        i % 7 == 0 ? ReportType.PASS : ReportType.INFO,
+                        "Report " + layer + "-" + i,
+                        "",
+                        "",
+                        new ReportSource()
+                ));
+            }
+            current = last;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,85 @@
+package com.euph28.tson.assertionengine.keyword.assertion;
+
+import com.euph28.tson.BenchmarkUtility;
+import com.euph28.tson.assertionengine.TSONAssertionEngine;
+import com.euph28.tson.context.TSONContext;
+import com.euph28.tson.interpreter.Statement;
+import com.euph28.tson.reporter.TSONReporter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link PathValueAssertion#handleAssertion(TSONContext, Statement)} for each assertion type, using a
+ * wildcard path over a large array in both the default and count form
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathValueAssertionBenchmark {
+
+    /* ----- PARAMETERS ------------------------------ */
+    /**
+     * Code of the assertion keyword to benchmark
+     */
+    @Param({"EQUAL", "REGEX", "RANGE"})
+    public String assertionCode;
+
+    /**
+     * Number of items in the response array
+     */
+    @Param({"1000"})
+    public int itemCount;
+
+    /* ----- STATE ------------------------------ */
+    TSONContext tsonContext;
+
+    PathValueAssertion assertion;
+
+    Statement defaultStatement;
+
+    Statement countStatement;
+
+    @Setup
+    public void setup() {
+        tsonContext = BenchmarkUtility.getContextWithResponse(BenchmarkUtility.generateJsonArray(itemCount));
+        TSONAssertionEngine assertionEngine = new TSONAssertionEngine();
+
+        String expression;
+        switch (assertionCode) {
+            case "REGEX":
+                assertion = new AssertRegex(assertionEngine);
+                expression = "body.items.*.name=item[0-9]+";
+                break;
+            case "RANGE":
+                assertion = new AssertRange(assertionEngine);
+                expression = "body.items.*.id=0-10,100+";
+                break;
+            default:
+                assertion = new AssertEqual(assertionEngine);
+                expression = "body.items.*.enabled=true";
+        }
+        defaultStatement = new Statement(assertion, new HashMap<>(), expression);
+        countStatement = new Statement(assertion, new HashMap<>(), expression + "=1+");
+    }
+
+    /* ----- BENCHMARKS ------------------------------ */
+    @Benchmark
+    public TSONReporter handleDefault() {
+        // New reporter per invocation so that reports do not accumulate
+        assertion.tsonReporter = new TSONReporter();
+        assertion.handleAssertion(tsonContext, defaultStatement);
+        return assertion.tsonReporter;
+    }
+
+    @Benchmark
+    public TSONReporter handleCount() {
+        assertion.tsonReporter = new TSONReporter();
+        assertion.handleAssertion(tsonContext, countStatement);
+        return assertion.tsonReporter;
+    }
+}
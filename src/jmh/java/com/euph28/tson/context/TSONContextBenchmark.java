@@ -0,0 +1,43 @@
+package com.euph28.tson.context;
+
+import com.euph28.tson.BenchmarkUtility;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link TSONContext#resolveContent(String)} over text with a varying number of placeholders
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TSONContextBenchmark {
+
+    /* ----- PARAMETERS ------------------------------ */
+    /**
+     * Number of placeholders in the text to be resolved
+     */
+    @Param({"0", "1", "10", "100"})
+    public int placeholderCount;
+
+    /* ----- STATE ------------------------------ */
+    TSONContext tsonContext;
+
+    String template;
+
+    @Setup
+    public void setup() {
+        tsonContext = BenchmarkUtility.getContextWithResponse("{}");
+        BenchmarkUtility.addTemplateVariables(tsonContext, placeholderCount);
+        template = BenchmarkUtility.generateTemplate(placeholderCount);
+    }
+
+    /* ----- BENCHMARKS ------------------------------ */
+    @Benchmark
+    public String resolveContent() {
+        return tsonContext.resolveContent(template);
+    }
+}
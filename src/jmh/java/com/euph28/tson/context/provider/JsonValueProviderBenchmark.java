@@ -0,0 +1,50 @@
+package com.euph28.tson.context.provider;
+
+import com.euph28.tson.BenchmarkUtility;
+import com.euph28.tson.context.TSONContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link JsonValueProvider#getValuesFromJson(TSONContext, String)} with wildcard and direct paths
+ * over large arrays
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonValueProviderBenchmark {
+
+    /* ----- PARAMETERS ------------------------------ */
+    /**
+     * Number of items in the response array
+     */
+    @Param({"100", "10000", "50000"})
+    public int itemCount;
+
+    /* ----- STATE ------------------------------ */
+    TSONContext tsonContext;
+
+    JsonValueProvider jsonValueProvider;
+
+    @Setup
+    public void setup() {
+        tsonContext = BenchmarkUtility.getContextWithResponse(BenchmarkUtility.generateJsonArray(itemCount));
+        jsonValueProvider = new JsonValueProvider();
+    }
+
+    /* ----- BENCHMARKS ------------------------------ */
+    @Benchmark
+    public Map<String, String> wildcardPath() {
+        return jsonValueProvider.getValuesFromJson(tsonContext, "body.items.*.name");
+    }
+
+    @Benchmark
+    public Map<String, String> directPath() {
+        return jsonValueProvider.getValuesFromJson(tsonContext, "body.items.0.name");
+    }
+}
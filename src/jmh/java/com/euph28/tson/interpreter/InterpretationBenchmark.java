@@ -0,0 +1,43 @@
+package com.euph28.tson.interpreter;
+
+import com.euph28.tson.BenchmarkUtility;
+import com.euph28.tson.core.keyword.KeywordRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link Interpretation} construction (lexing, parsing and statement generation) over generated content
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterpretationBenchmark {
+
+    /* ----- PARAMETERS ------------------------------ */
+    /**
+     * Number of SEND statements in the content. Each SEND has 3 assertions and a custom variable
+     */
+    @Param({"2", "500"})
+    public int sendCount;
+
+    /* ----- STATE ------------------------------ */
+    KeywordRegistry keywordRegistry;
+
+    String content;
+
+    @Setup
+    public void setup() {
+        keywordRegistry = BenchmarkUtility.getTsonRunner().getTsonInterpreter().getKeywordRegistry();
+        content = BenchmarkUtility.generateTsonContent(sendCount, 3);
+    }
+
+    /* ----- BENCHMARKS ------------------------------ */
+    @Benchmark
+    public Interpretation interpret() {
+        return new Interpretation(keywordRegistry, content);
+    }
+}
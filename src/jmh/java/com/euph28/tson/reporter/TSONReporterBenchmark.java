@@ -0,0 +1,89 @@
+package com.euph28.tson.reporter;
+
+import com.euph28.tson.BenchmarkUtility;
+import com.euph28.tson.reporter.report.Report;
+import com.euph28.tson.reporter.report.ReportType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link TSONReporter#getGeneratedReport(ReportRetriever, boolean)} on deep report trees
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TSONReporterBenchmark {
+
+    /* ----- PARAMETERS ------------------------------ */
+    /**
+     * Depth of the report tree
+     */
+    @Param({"10", "100"})
+    public int depth;
+
+    /**
+     * Number of sub-reports of each report
+     */
+    @Param({"10"})
+    public int breadth;
+
+    /* ----- STATE ------------------------------ */
+    /**
+     * Deepest reporter of the tree
+     */
+    TSONReporter leafReporter;
+
+    /**
+     * Root reporter of the tree
+     */
+    TSONReporter rootReporter;
+
+    /**
+     * Retriever that counts the generated reports
+     */
+    ReportRetriever<Integer> countRetriever = new ReportRetriever<Integer>() {
+        @Override
+        public Integer getReport(TSONReporter reporter, List<Integer> subReportList, int layer, int index) {
+            int count = 1;
+            for (Integer subReportCount : subReportList) {
+                count += subReportCount;
+            }
+            return count;
+        }
+
+        @Override
+        public boolean enableReport(ReportType derivedReportType, Report report) {
+            return true;
+        }
+    };
+
+    @Setup
+    public void setup() {
+        leafReporter = BenchmarkUtility.generateReportTree(depth, breadth);
+        rootReporter = leafReporter;
+        while (rootReporter.parent != null) {
+            rootReporter = rootReporter.parent;
+        }
+    }
+
+    /* ----- BENCHMARKS ------------------------------ */
+    @Benchmark
+    public Integer fullReport() {
+        return leafReporter.getGeneratedReport(countRetriever, true);
+    }
+
+    @Benchmark
+    public Integer partialReport() {
+        return leafReporter.getGeneratedReport(countRetriever, false);
+    }
+
+    @Benchmark
+    public ReportType derivedReportType() {
+        return rootReporter.getDerivedReportType();
+    }
+}
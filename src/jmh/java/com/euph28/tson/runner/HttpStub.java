@@ -0,0 +1,140 @@
+package com.euph28.tson.runner;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process HTTP server that replies to every request with a canned JSON response after a fixed latency.
+ * Used by benchmarks to run {@link TSONRunner} without a real server
+ */
+public class HttpStub implements AutoCloseable {
+
+    /* ----- VARIABLES ------------------------------ */
+    /**
+     * Underlying server, bound to a free port on localhost
+     */
+    final HttpServer server;
+
+    /**
+     * Executor that handles requests
+     */
+    final ExecutorService executor;
+
+    /**
+     * Map of route to response body. Routes without an entry use {@link #defaultResponse}
+     */
+    final Map<String, byte[]> responseMap = new ConcurrentHashMap<>();
+
+    /**
+     * Response body for routes without a configured response
+     */
+    final byte[] defaultResponse;
+
+    /**
+     * Status code of every response
+     */
+    final int responseStatus;
+
+    /**
+     * Time in milliseconds to wait before replying to each request
+     */
+    final long latencyMillis;
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+
+    /**
+     * Create and start a stub
+     *
+     * @param defaultResponse Response body for all routes without a configured response
+     * @param responseStatus  Status code of every response
+     * @param latencyMillis   Time in milliseconds to wait before replying to each request
+     * @param threadCount     Number of requests that can be handled at the same time
+     * @throws IOException Thrown if the server could not be bound
+     */
+    public HttpStub(String defaultResponse, int responseStatus, long latencyMillis, int threadCount) throws IOException {
+        this.defaultResponse = defaultResponse.getBytes(StandardCharsets.UTF_8);
+        this.responseStatus = responseStatus;
+        this.latencyMillis = latencyMillis;
+
+        executor = Executors.newFixedThreadPool(Math.max(1, threadCount));
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Configure the response body of a route
+     *
+     * @param route    Route of the request (eg: {@code /items})
+     * @param response Response body for the route
+     */
+    public void setResponse(String route, String response) {
+        responseMap.put(route, response.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Handle a request by discarding its body and replying with the configured response
+     *
+     * @param exchange Request and response of the exchange
+     * @throws IOException Thrown if the exchange failed
+     */
+    void handle(HttpExchange exchange) throws IOException {
+        // Read the request fully so that the connection can be reused
+        byte[] buffer = new byte[8192];
+        try (InputStream inputStream = exchange.getRequestBody()) {
+            while (inputStream.read(buffer) > -1) {
+                // Discard
+            }
+        }
+
+        // Simulate server latency
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        byte[] response = responseMap.getOrDefault(exchange.getRequestURI().getPath(), defaultResponse);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(responseStatus, response.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(response);
+        }
+    }
+
+    /**
+     * Retrieve the port that the stub is listening on
+     *
+     * @return Port of the stub
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
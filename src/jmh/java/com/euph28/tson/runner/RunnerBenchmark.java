@@ -0,0 +1,190 @@
+package com.euph28.tson.runner;
+
+import com.euph28.tson.BenchmarkUtility;
+import com.euph28.tson.restclientinterface.TSONRestClient;
+import com.euph28.tson.restclientinterface.transport.RestTransport;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * End-to-end benchmark of {@link TSONRunner#run(String)} against an {@link HttpStub}. Reports how much of a run is
+ * spent in the framework rather than waiting for the server. <br/>
+ * <br/>
+ * Arguments are in the form {@code key=value}: <br/>
+ * {@code sends}: Number of SEND statements in the generated file (default 50) <br/>
+ * {@code assertions}: Number of assertions after each SEND (default 3) <br/>
+ * {@code items}: Number of array items in the response (default 100) <br/>
+ * {@code latency}: Latency of the stub in milliseconds (default 0) <br/>
+ * {@code warmup}: Number of runs before measuring (default 20) <br/>
+ * {@code runs}: Number of measured runs (default 100) <br/>
+ * <br/>
+ * Framework overhead of a run is its duration minus the time spent inside the transport. Per-statement overhead is
+ * the framework overhead of a run divided by its number of statements, with p50/p99 taken over the measured runs
+ */
+public class RunnerBenchmark {
+
+    /* ----- VARIABLES ------------------------------ */
+    /**
+     * Number of statements in the generated file (SEND, assertions and a custom variable per SEND)
+     */
+    final int statementCount;
+
+    /**
+     * Configuration of the benchmark
+     */
+    final Map<String, Integer> configuration;
+
+    /**
+     * Total time in nanoseconds spent inside the transport for the current run
+     */
+    long transportNanos;
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+    RunnerBenchmark(Map<String, Integer> configuration) {
+        this.configuration = configuration;
+        this.statementCount = 2 + configuration.get("sends") * (2 + configuration.get("assertions"));
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Generate a workspace with the TSON file and the request bodies it sends
+     *
+     * @return Workspace folder
+     * @throws IOException Thrown if the files could not be written
+     */
+    File generateWorkspace() throws IOException {
+        Path workspace = Files.createTempDirectory("tson-benchmark");
+        int sends = configuration.get("sends");
+        Files.write(
+                workspace.resolve("benchmark.tson"),
+                BenchmarkUtility.generateTsonContent(sends, configuration.get("assertions")).getBytes(StandardCharsets.UTF_8)
+        );
+        for (int i = 0; i < sends; i++) {
+            Files.write(
+                    workspace.resolve("request" + i + ".json"),
+                    ("{\"index\": " + i + ", \"value\": \"${var.value" + i + "}\"}").getBytes(StandardCharsets.UTF_8)
+            );
+        }
+        return workspace.toFile();
+    }
+
+    /**
+     * Run the benchmark and print the results
+     *
+     * @throws IOException Thrown if the workspace or stub could not be created
+     */
+    void run() throws IOException {
+        File workspace = generateWorkspace();
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocationBean = threadMXBean instanceof com.sun.management.ThreadMXBean
+                ? (com.sun.management.ThreadMXBean) threadMXBean
+                : null;
+
+        try (HttpStub httpStub = new HttpStub(
+                BenchmarkUtility.generateJsonArray(configuration.get("items")),
+                200,
+                configuration.get("latency"),
+                4
+        )) {
+            // Create runner pointing to the stub, timing the transport
+            Properties properties = new Properties();
+            properties.setProperty(TSONRestClient.PROPERTY_REQUEST_URL, "localhost");
+            properties.setProperty(TSONRestClient.PROPERTY_REQUEST_PORT, String.valueOf(httpStub.getPort()));
+            TSONRunner tsonRunner = new TSONRunner(workspace, properties);
+            RestTransport transport = tsonRunner.getTsonRestClient().getTransport();
+            tsonRunner.getTsonRestClient().setTransport((requestVerb, requestData, connectTimeout, readTimeout) -> {
+                long start = System.nanoTime();
+                try {
+                    return transport.send(requestVerb, requestData, connectTimeout, readTimeout);
+                } finally {
+                    transportNanos += System.nanoTime() - start;
+                }
+            });
+
+            // Warmup
+            for (int i = 0; i < configuration.get("warmup"); i++) {
+                tsonRunner.run("benchmark.tson");
+            }
+
+            // Measure
+            int runs = configuration.get("runs");
+            double[] overheadPerStatement = new double[runs];
+            long totalNanos = 0;
+            long totalTransportNanos = 0;
+            long allocatedStart = allocationBean != null ? allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+            for (int i = 0; i < runs; i++) {
+                transportNanos = 0;
+                long start = System.nanoTime();
+                tsonRunner.run("benchmark.tson");
+                long duration = System.nanoTime() - start;
+
+                totalNanos += duration;
+                totalTransportNanos += transportNanos;
+                overheadPerStatement[i] = (double) (duration - transportNanos) / statementCount;
+            }
+            long allocatedBytes = allocationBean != null
+                    ? allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId()) - allocatedStart
+                    : -1;
+
+            // Report
+            Arrays.sort(overheadPerStatement);
+            double totalSeconds = totalNanos / 1e9;
+            System.out.printf("Configuration              : %s%n", configuration);
+            System.out.printf("Statements per run         : %d%n", statementCount);
+            System.out.printf("Statements/sec             : %.1f%n", (double) statementCount * runs / totalSeconds);
+            System.out.printf("Framework share of run     : %.1f%%%n", 100.0 * (totalNanos - totalTransportNanos) / totalNanos);
+            System.out.printf("Overhead/statement p50     : %.1f us%n", percentile(overheadPerStatement, 0.50) / 1e3);
+            System.out.printf("Overhead/statement p99     : %.1f us%n", percentile(overheadPerStatement, 0.99) / 1e3);
+            if (allocatedBytes >= 0) {
+                System.out.printf("Allocation rate            : %.1f MB/sec%n", allocatedBytes / 1e6 / totalSeconds);
+                System.out.printf("Allocation/statement       : %.0f bytes%n", (double) allocatedBytes / statementCount / runs);
+            } else {
+                System.out.println("Allocation rate            : not supported by this JVM");
+            }
+        }
+    }
+
+    /**
+     * Retrieve a percentile from sorted values, using the nearest-rank method
+     *
+     * @param sortedValues Values sorted in ascending order
+     * @param percentile   Percentile between 0 and 1
+     * @return Value at the percentile
+     */
+    static double percentile(double[] sortedValues, double percentile) {
+        int rank = (int) Math.ceil(percentile * sortedValues.length);
+        return sortedValues[Math.max(0, Math.min(sortedValues.length - 1, rank - 1))];
+    }
+
+    /* ----- MAIN ------------------------------ */
+    public static void main(String[] args) throws IOException {
+        // Default configuration, overridden by key=value arguments
+        Map<String, Integer> configuration = new HashMap<>();
+        configuration.put("sends", 50);
+        configuration.put("assertions", 3);
+        configuration.put("items", 100);
+        configuration.put("latency", 0);
+        configuration.put("warmup", 20);
+        configuration.put("runs", 100);
+        for (String arg : args) {
+            String[] splitArg = arg.split("=", 2);
+            if (splitArg.length != 2 || !configuration.containsKey(splitArg[0])) {
+                throw new IllegalArgumentException("Unknown argument: " + arg + ". Accepted keys: " + configuration.keySet());
+            }
+            configuration.put(splitArg[0], Integer.parseInt(splitArg[1]));
+        }
+
+        new RunnerBenchmark(configuration).run();
+    }
+}
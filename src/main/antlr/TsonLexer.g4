@@ -9,7 +9,7 @@ lexer grammar TsonLexer;
     }
 
     private boolean isKeyword() {
-        return keywords.stream().anyMatch(term -> term.equals(getText()));
+        return keywords.contains(getText());
     }
 
     private boolean ahead(final String word, final CharStream input) {
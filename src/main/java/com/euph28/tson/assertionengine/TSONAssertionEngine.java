@@ -28,6 +28,11 @@ public class TSONAssertionEngine implements KeywordProvider {
      */
     List<TSONAssertionEngineListener> listenerList = new ArrayList<>();
 
+    /**
+     * List of provided keywords, created on first request
+     */
+    List<Keyword> keywordList;
+
     /* ----- METHODS: Assertion result handling ------------------------------ */
 
     /**
@@ -68,12 +73,14 @@ public class TSONAssertionEngine implements KeywordProvider {
     @Override
     public List<Keyword> getKeywordList() {
         // TODO: Load all classes in package & external jar
-        List<Keyword> keywordList = new ArrayList<>();
-        keywordList.add(new AssertEqual(this));
-        keywordList.add(new AssertNotEqual(this));
-        keywordList.add(new AssertRegex(this));
-        keywordList.add(new AssertRange(this));
-        keywordList.add(new Assert(this));
+        if (keywordList == null) {
+            keywordList = new ArrayList<>();
+            keywordList.add(new AssertEqual(this));
+            keywordList.add(new AssertNotEqual(this));
+            keywordList.add(new AssertRegex(this));
+            keywordList.add(new AssertRange(this));
+            keywordList.add(new Assert(this));
+        }
         return keywordList;
     }
 
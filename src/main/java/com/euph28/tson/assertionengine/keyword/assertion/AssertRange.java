@@ -1,7 +1,7 @@
 package com.euph28.tson.assertionengine.keyword.assertion;
 
 import com.euph28.tson.assertionengine.TSONAssertionEngine;
-import com.euph28.tson.assertionengine.keyword.utility.AssertionUtilities;
+import com.euph28.tson.assertionengine.keyword.utility.ValueRange;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
@@ -53,17 +53,27 @@ public class AssertRange extends PathValueAssertion {
 
     @Override
     protected boolean checkAssertion(String[] expressionValues, String actualValue, String path) throws ArrayIndexOutOfBoundsException {
-        double value;
-
-        // Convert actual value from String to double
+        // Check through the compiled range (cached by expression), so both paths share one implementation
         try {
-            value = Double.parseDouble(actualValue);
-        } catch (NumberFormatException e) {
-            LoggerFactory.getLogger(this.getClass()).error("Failed to convert the following value to double: " + actualValue, e);
+            return prepareAssertion(expressionValues).check(actualValue, path);
+        } catch (IllegalArgumentException e) {
+            LoggerFactory.getLogger(this.getClass()).error("Failed to check double value for range: " + expressionValues[1], e);
             return false;
         }
+    }
 
-        return AssertionUtilities.checkValueRange(expressionValues[1], value);
+    @Override
+    protected ValueAssertion prepareAssertion(String[] expressionValues) throws IllegalArgumentException {
+        // Compile once for the entry, an invalid range fails the entry instead of each value
+        ValueRange valueRange = ValueRange.of(expressionValues[1]);
+        return (actualValue, path) -> {
+            try {
+                return valueRange.contains(Double.parseDouble(actualValue));
+            } catch (NumberFormatException e) {
+                LoggerFactory.getLogger(this.getClass()).error("Failed to convert the following value to double: " + actualValue, e);
+                return false;
+            }
+        };
     }
 
     /* ----- OVERRIDE: AssertionBase ------------------------------ */
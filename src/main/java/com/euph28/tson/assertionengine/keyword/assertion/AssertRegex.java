@@ -1,9 +1,11 @@
 package com.euph28.tson.assertionengine.keyword.assertion;
 
 import com.euph28.tson.assertionengine.TSONAssertionEngine;
+import com.euph28.tson.assertionengine.keyword.utility.PatternCache;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
+import java.util.regex.Pattern;
 
 /**
  * Assertion keyword: Regex
@@ -57,7 +59,14 @@ public class AssertRegex extends PathValueAssertion {
 
     @Override
     protected boolean checkAssertion(String[] expressionValues, String actualValue, String path) throws ArrayIndexOutOfBoundsException {
-        return actualValue.matches(expressionValues[1]);
+        return PatternCache.compile(expressionValues[1]).matcher(actualValue).matches();
+    }
+
+    @Override
+    protected ValueAssertion prepareAssertion(String[] expressionValues) throws IllegalArgumentException {
+        // Compile once for the entry, an invalid regex throws PatternSyntaxException (an IllegalArgumentException)
+        Pattern pattern = PatternCache.compile(expressionValues[1]);
+        return (actualValue, path) -> pattern.matcher(actualValue).matches();
     }
 
     /* ----- OVERRIDE: AssertionBase ------------------------------ */
@@ -88,6 +88,22 @@ public abstract class PathValueAssertion extends AssertionBase {
     protected abstract boolean checkAssertion(String[] expressionValues, String actualValue, String path)
             throws ArrayIndexOutOfBoundsException;
 
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Prepare the assertion of an entry. This is called once per entry, before its values are checked, so that
+     * anything derived from the expression (eg: a compiled regex) is set up once instead of once per value. <br/>
+     * Defaults to calling {@link #checkAssertion(String[], String, String)} for each value
+     *
+     * @param expressionValues Array of values that has been retrieved from an expression
+     * @return Assertion to be checked against each actual value of the entry
+     * @throws IllegalArgumentException Throws exception if the expression is invalid. The entry is reported as a
+     *                                  single failure instead of one failure per value
+     */
+    protected ValueAssertion prepareAssertion(String[] expressionValues) throws IllegalArgumentException {
+        return (actualValue, path) -> checkAssertion(expressionValues, actualValue, path);
+    }
+
     /* ----- OVERRIDE: ASSERTION BASE ------------------------------ */
     @Override
     protected boolean handleAssertion(TSONContext tsonContext, Statement statement) {
@@ -120,6 +136,25 @@ public abstract class PathValueAssertion extends AssertionBase {
                 continue;
             }
 
+            // Error handling: Only path=value and path=value=count are valid formats, checked before preparing the assertion
+            if (splitValues.length != 2 && splitValues.length != 3) {
+                resultFail("Failed to assert expression due to invalid format", "Failed to assert expression", entry);
+                continue;
+            }
+
+            // Prepare assertion of the entry
+            ValueAssertion valueAssertion;
+            try {
+                valueAssertion = prepareAssertion(splitValues);
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                LoggerFactory.getLogger(this.getClass()).error("Failed to prepare assertion for expression: " + entry, e);
+                resultFail(String.format("Failed to assert expression \"%s\" due to invalid expression: %s", entry, e.getMessage()),
+                        "Failed to assert expression",
+                        entry
+                );
+                continue;
+            }
+
             /* ===== VERIFY: NORMAL vs COUNT ===== */
             switch (splitValues.length) {
                 case 2: // Default setup, eg: path=value. Perform assertion individually for each value
@@ -133,7 +168,7 @@ public abstract class PathValueAssertion extends AssertionBase {
                     for (String key : actualValue.keySet()) {
                         // Wrap in try/catch in case expression is accessed without handling array index
                         try {
-                            if (checkAssertion(splitValues, actualValue.get(key), key)) {
+                            if (valueAssertion.check(actualValue.get(key), key)) {
                                 resultPass(
                                         getResultDescription(ResultMessageType.RESULT_DEFAULT_PASS, splitValues, actualValue.get(key), key),
                                         getStepDescription(splitValues),
@@ -159,7 +194,7 @@ public abstract class PathValueAssertion extends AssertionBase {
                     for (String key : actualValue.keySet()) {
                         // Wrap in try/catch in case expression is accessed without handling array index
                         try {
-                            if (checkAssertion(splitValues, actualValue.get(key), key)) {
+                            if (valueAssertion.check(actualValue.get(key), key)) {
                                 count++;
                             }
                         } catch (ArrayIndexOutOfBoundsException e) {
@@ -183,13 +218,29 @@ public abstract class PathValueAssertion extends AssertionBase {
                         );
                     }
                     break;
-                default:
-                    resultFail("Failed to assert expression due to invalid format", "Failed to assert expression", entry);
             }
         }
         return true;
     }
 
+    /* ----- INTERFACE: VALUE ASSERTION ------------------------------ */
+
+    /**
+     * Assertion of an entry that has been prepared by {@link #prepareAssertion(String[])}
+     */
+    @FunctionalInterface
+    protected interface ValueAssertion {
+        /**
+         * Check the assertion against an actual value
+         *
+         * @param actualValue The actual value that was found at the JSON path of the entry
+         * @param path        Actual path of the {@code actualValue}
+         * @return Returns {@code true} if the assertion was successful and {@code false} if assertion failed/faced an error
+         * @throws ArrayIndexOutOfBoundsException Throws exception if the index of the expression chosen is invalid
+         */
+        boolean check(String actualValue, String path) throws ArrayIndexOutOfBoundsException;
+    }
+
     /* ----- ENUM: RESULT MESSAGE TYPES ------------------------------ */
 
     /**
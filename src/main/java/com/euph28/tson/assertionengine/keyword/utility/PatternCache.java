@@ -0,0 +1,60 @@
+package com.euph28.tson.assertionengine.keyword.utility;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Bounded cache of compiled regex {@link Pattern}, shared by all assertions. Patterns are immutable and thread-safe,
+ * so a compiled pattern can be reused by every assertion and runner that uses the same regex
+ */
+public final class PatternCache {
+
+    /* ----- CONSTANTS ------------------------------ */
+    /**
+     * Maximum number of compiled patterns kept by {@link #patternCache}
+     */
+    final static int PATTERN_CACHE_SIZE = 256;
+
+    /* ----- VARIABLES ------------------------------ */
+    /**
+     * Cache of regex to its compiled form, with the least recently used regex removed when full.
+     * Access is synchronized on the map itself
+     */
+    final static Map<String, Pattern> patternCache = new LinkedHashMap<String, Pattern>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+            return size() > PATTERN_CACHE_SIZE;
+        }
+    };
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+    private PatternCache() {
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Retrieve the compiled form of a regex, compiling and caching it if it has not been compiled before
+     *
+     * @param regex Regex to be compiled
+     * @return Compiled pattern of {@code regex}
+     * @throws PatternSyntaxException Throws exception if {@code regex} is not a valid regex. Invalid regex are not cached
+     */
+    public static Pattern compile(String regex) throws PatternSyntaxException {
+        synchronized (patternCache) {
+            Pattern pattern = patternCache.get(regex);
+            if (pattern != null) {
+                return pattern;
+            }
+        }
+
+        // Compile outside the lock, a duplicate compile of the same regex by another thread is harmless
+        Pattern pattern = Pattern.compile(regex);
+        synchronized (patternCache) {
+            patternCache.putIfAbsent(regex, pattern);
+        }
+        return pattern;
+    }
+}
@@ -0,0 +1,184 @@
+package com.euph28.tson.assertionengine.keyword.utility;
+
+import com.euph28.tson.core.Utility;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable set of ranges compiled from a range expression (eg: {@code 1-5,10+}). The ranges are sorted and merged
+ * when compiled, so that checking a value is a binary search over the ranges
+ */
+public final class ValueRange {
+
+    /* ----- CONSTANTS ------------------------------ */
+    /**
+     * Maximum number of compiled ranges kept by {@link #rangeCache}
+     */
+    final static int RANGE_CACHE_SIZE = 256;
+
+    /* ----- VARIABLES ------------------------------ */
+    /**
+     * Cache of range expression to its compiled form, with the least recently used expression removed when full.
+     * Access is synchronized on the map itself
+     */
+    final static Map<String, ValueRange> rangeCache = new LinkedHashMap<String, ValueRange>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ValueRange> eldest) {
+            return size() > RANGE_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Lower bound of each range, inclusive and sorted in ascending order
+     */
+    final double[] lowerBounds;
+
+    /**
+     * Upper bound of each range, inclusive. Ranges do not overlap, so this is also sorted in ascending order
+     */
+    final double[] upperBounds;
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+    ValueRange(double[] lowerBounds, double[] upperBounds) {
+        this.lowerBounds = lowerBounds;
+        this.upperBounds = upperBounds;
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Retrieve the compiled form of a range expression, compiling and caching it if it has not been compiled before
+     *
+     * @param expression Range expression, see {@link #compile(String)} for its format
+     * @return Compiled range of {@code expression}
+     * @throws IllegalArgumentException Throws exception if {@code expression} is not a valid range expression.
+     *                                  Invalid expressions are not cached
+     */
+    public static ValueRange of(String expression) throws IllegalArgumentException {
+        synchronized (rangeCache) {
+            ValueRange range = rangeCache.get(expression);
+            if (range != null) {
+                return range;
+            }
+        }
+
+        ValueRange range = compile(expression);
+        synchronized (rangeCache) {
+            rangeCache.putIfAbsent(expression, range);
+        }
+        return range;
+    }
+
+    /**
+     * Compile a range expression. The expression is a list of comma separated ranges which accepts the following
+     * format: <br/>
+     * <br/>
+     * {@code value+}: Accept all values from value to positive infinity, inclusive <br/>
+     * {@code value-}: Accept all values from negative infinity to value, inclusive <br/>
+     * {@code value1-value2}: Accept all values from value1 to value2, inclusive of both <br/>
+     * {@code value}: Accept only the value <br/>
+     *
+     * @param expression Range expression to be compiled
+     * @return Compiled range of {@code expression}
+     * @throws IllegalArgumentException Throws exception if {@code expression} is not a valid range expression
+     */
+    public static ValueRange compile(String expression) throws IllegalArgumentException {
+        // Split expression into individual items
+        String[] splitValues = Utility.split(expression, ',', true);
+
+        // Range (min,max) of each item
+        double[][] rangeList = new double[splitValues.length][];
+        for (int i = 0; i < splitValues.length; i++) {
+            rangeList[i] = parseRange(splitValues[i].trim());
+        }
+
+        // Sort by lower bound and merge overlapping ranges
+        Arrays.sort(rangeList, Comparator.comparingDouble(range -> range[0]));
+        double[] lowerBounds = new double[rangeList.length];
+        double[] upperBounds = new double[rangeList.length];
+        int count = 0;
+        for (double[] range : rangeList) {
+            if (count > 0 && range[0] <= upperBounds[count - 1]) {
+                upperBounds[count - 1] = Math.max(upperBounds[count - 1], range[1]);
+            } else {
+                lowerBounds[count] = range[0];
+                upperBounds[count] = range[1];
+                count++;
+            }
+        }
+
+        return new ValueRange(Arrays.copyOf(lowerBounds, count), Arrays.copyOf(upperBounds, count));
+    }
+
+    /**
+     * Parse a single item of a range expression
+     *
+     * @param value Item of a range expression
+     * @return Array of {min, max} of the item
+     * @throws IllegalArgumentException Throws exception if {@code value} is not a valid range
+     */
+    static double[] parseRange(String value) throws IllegalArgumentException {
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("Empty range found in range expression");
+        }
+
+        double[] range;
+        if (value.endsWith("+")) {
+            // Case: value+
+            range = new double[]{Double.parseDouble(value.substring(0, value.length() - 1)), Double.POSITIVE_INFINITY};
+        } else if (value.endsWith("-")) {
+            // Case: value-
+            range = new double[]{Double.NEGATIVE_INFINITY, Double.parseDouble(value.substring(0, value.length() - 1))};
+        } else {
+            // Case: value1-value2, the separator is the first '-' after a digit (first value may be negative)
+            int separator = -1;
+            for (int i = 1; i < value.length(); i++) {
+                char previous = value.charAt(i - 1);
+                if (value.charAt(i) == '-' && previous >= '0' && previous <= '9') {
+                    separator = i;
+                    break;
+                }
+            }
+
+            if (separator > -1) {
+                range = new double[]{Double.parseDouble(value.substring(0, separator)), Double.parseDouble(value.substring(separator + 1))};
+            } else {
+                // Case: single value
+                double singleValue = Double.parseDouble(value);
+                range = new double[]{singleValue, singleValue};
+            }
+        }
+
+        // Error checking: Range must not be reversed or NaN
+        if (!(range[0] <= range[1])) {
+            throw new IllegalArgumentException(String.format("Invalid range \"%s\", minimum is larger than maximum", value));
+        }
+        return range;
+    }
+
+    /**
+     * Check if a value is within any range of this set
+     *
+     * @param value Value to be checked
+     * @return Returns {@code true} if {@code value} is within a range. Returns {@code false} otherwise, including for NaN
+     */
+    public boolean contains(double value) {
+        // Binary search for the last range with lower bound less than or equal to value
+        int low = 0;
+        int high = lowerBounds.length - 1;
+        int index = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (lowerBounds[middle] <= value) {
+                index = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return index > -1 && value <= upperBounds[index];
+    }
+}
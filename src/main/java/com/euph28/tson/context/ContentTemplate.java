@@ -0,0 +1,195 @@
+package com.euph28.tson.context;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Compiled form of a text with content tags (items marked by symbols {@code ${}}). The text is split once into
+ * literal and lookup segments so that it can be resolved in a single pass by {@link #resolve(TSONContext, StringBuilder, int)}.
+ * Content tags can be nested (eg: {@code ${var.${var.key}}}), in which case the inner tags are resolved first
+ */
+final class ContentTemplate {
+
+    /* ----- VARIABLES ------------------------------ */
+    /**
+     * Segments of the template, in order
+     */
+    final Segment[] segmentList;
+
+    /**
+     * Indicates if the template has any content tag. Templates without tags resolve to the original text
+     */
+    final boolean hasLookup;
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+    ContentTemplate(List<Segment> segmentList) {
+        this.segmentList = segmentList.toArray(new Segment[0]);
+        this.hasLookup = segmentList.stream().anyMatch(segment -> segment instanceof LookupSegment);
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Compile a text into a template. Unclosed content tags are kept as literal text
+     *
+     * @param text Text to be compiled
+     * @return Compiled template of the text
+     */
+    static ContentTemplate compile(String text) {
+        List<Segment> currentSegmentList = new ArrayList<>();           // Segments of the tag currently being read
+        Deque<List<Segment>> parentSegmentList = new ArrayDeque<>();    // Segments of the tags that contain the current tag
+        int literalStart = 0;                                           // Start of the literal text currently being read
+
+        int i = 0;
+        while (i < text.length()) {
+            if (text.startsWith(TSONContext.CONTENT_TAG_START, i)) {
+                // Open a new (possibly nested) tag
+                addLiteral(currentSegmentList, text.substring(literalStart, i));
+                parentSegmentList.push(currentSegmentList);
+                currentSegmentList = new ArrayList<>();
+                i += TSONContext.CONTENT_TAG_START.length();
+                literalStart = i;
+            } else if (!parentSegmentList.isEmpty() && text.startsWith(TSONContext.CONTENT_TAG_END, i)) {
+                // Close the current tag and add it to its parent
+                addLiteral(currentSegmentList, text.substring(literalStart, i));
+                LookupSegment lookupSegment = new LookupSegment(currentSegmentList);
+                currentSegmentList = parentSegmentList.pop();
+                currentSegmentList.add(lookupSegment);
+                i += TSONContext.CONTENT_TAG_END.length();
+                literalStart = i;
+            } else {
+                i++;
+            }
+        }
+        addLiteral(currentSegmentList, text.substring(literalStart));
+
+        // Unclosed tags: keep the tag symbol as text and merge their segments into the parent
+        while (!parentSegmentList.isEmpty()) {
+            List<Segment> unclosedSegmentList = currentSegmentList;
+            currentSegmentList = parentSegmentList.pop();
+            addLiteral(currentSegmentList, TSONContext.CONTENT_TAG_START);
+            for (Segment segment : unclosedSegmentList) {
+                if (segment instanceof LiteralSegment) {
+                    addLiteral(currentSegmentList, ((LiteralSegment) segment).text);
+                } else {
+                    currentSegmentList.add(segment);
+                }
+            }
+        }
+
+        return new ContentTemplate(currentSegmentList);
+    }
+
+    /**
+     * Add literal text to a list of segments, merging it with the last segment if that is also literal text
+     *
+     * @param segmentList List of segments to add to
+     * @param text        Literal text to be added
+     */
+    static void addLiteral(List<Segment> segmentList, String text) {
+        if (text.isEmpty()) {
+            return;
+        }
+
+        int lastIndex = segmentList.size() - 1;
+        if (lastIndex >= 0 && segmentList.get(lastIndex) instanceof LiteralSegment) {
+            segmentList.set(lastIndex, new LiteralSegment(((LiteralSegment) segmentList.get(lastIndex)).text + text));
+        } else {
+            segmentList.add(new LiteralSegment(text));
+        }
+    }
+
+    /**
+     * Resolve the template into a builder
+     *
+     * @param tsonContext Context to retrieve content from
+     * @param output      Builder to append the resolved text to
+     * @param depth       Current depth of resolution, used when resolved values contain content tags themselves
+     */
+    void resolve(TSONContext tsonContext, StringBuilder output, int depth) {
+        for (Segment segment : segmentList) {
+            segment.resolve(tsonContext, output, depth);
+        }
+    }
+
+    /* ----- SEGMENTS ------------------------------ */
+
+    /**
+     * Part of a template
+     */
+    interface Segment {
+        /**
+         * Resolve this segment into a builder
+         *
+         * @param tsonContext Context to retrieve content from
+         * @param output      Builder to append the resolved text to
+         * @param depth       Current depth of resolution
+         */
+        void resolve(TSONContext tsonContext, StringBuilder output, int depth);
+    }
+
+    /**
+     * Segment of text that is used as-is
+     */
+    static final class LiteralSegment implements Segment {
+        final String text;
+
+        LiteralSegment(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void resolve(TSONContext tsonContext, StringBuilder output, int depth) {
+            output.append(text);
+        }
+    }
+
+    /**
+     * Segment of a content tag. The key of the tag is made of segments itself so that tags can be nested
+     */
+    static final class LookupSegment implements Segment {
+        /**
+         * Segments of the key
+         */
+        final Segment[] keySegmentList;
+
+        /**
+         * Key of the tag if it has no nested tags, otherwise {@code null}
+         */
+        final String constantKey;
+
+        LookupSegment(List<Segment> keySegmentList) {
+            this.keySegmentList = keySegmentList.toArray(new Segment[0]);
+            if (keySegmentList.isEmpty()) {
+                this.constantKey = "";
+            } else if (keySegmentList.size() == 1 && keySegmentList.get(0) instanceof LiteralSegment) {
+                this.constantKey = ((LiteralSegment) keySegmentList.get(0)).text;
+            } else {
+                this.constantKey = null;
+            }
+        }
+
+        @Override
+        public void resolve(TSONContext tsonContext, StringBuilder output, int depth) {
+            // Resolve key (only needed if there are nested tags)
+            String key = constantKey;
+            if (key == null) {
+                StringBuilder keyBuilder = new StringBuilder();
+                for (Segment segment : keySegmentList) {
+                    segment.resolve(tsonContext, keyBuilder, depth);
+                }
+                key = keyBuilder.toString();
+            }
+
+            // Resolve value, falling back to the key (without tag symbols) if nothing was found
+            String value = tsonContext.getContent(key, false);
+            if (value.isEmpty()) {
+                output.append(key);
+            } else {
+                tsonContext.resolveContent(value, output, depth + 1);
+            }
+        }
+    }
+}
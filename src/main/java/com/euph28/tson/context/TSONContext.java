@@ -14,7 +14,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Context class that stores all variables related to the current state
@@ -24,6 +23,17 @@ public class TSONContext implements KeywordProvider {
     final static String CONTENT_TAG_START = "${";
     final static String CONTENT_TAG_END = "}";
 
+    /**
+     * Maximum number of compiled templates kept by {@link #templateCache}
+     */
+    final static int TEMPLATE_CACHE_SIZE = 512;
+
+    /**
+     * Maximum depth when resolved values contain content tags themselves. Prevents values referring to themselves
+     * from being resolved forever
+     */
+    final static int MAX_RESOLVE_DEPTH = 16;
+
     /* ----- VARIABLES ------------------------------ */
     Logger logger = LoggerFactory.getLogger(TSONContext.class);
 
@@ -47,11 +57,27 @@ public class TSONContext implements KeywordProvider {
      */
     List<ContentProvider> contentProviderList = new ArrayList<>();
 
+    /**
+     * Index of provider prefix to the content providers with that prefix, used to select providers without scanning
+     * {@link #contentProviderList}
+     */
+    Map<String, List<ContentProvider>> contentProviderIndex = new HashMap<>();
+
     /**
      * List of provided keywords
      */
     List<Keyword> keywordList = new ArrayList<>();
 
+    /**
+     * Cache of text to its compiled template, with the least recently used template removed when full
+     */
+    Map<String, ContentTemplate> templateCache = new LinkedHashMap<String, ContentTemplate>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ContentTemplate> eldest) {
+            return size() > TEMPLATE_CACHE_SIZE;
+        }
+    };
+
     /* ----- CONSTRUCTOR ------------------------------ */
     public TSONContext() {
         // Initialize default providers
@@ -115,33 +141,49 @@ public class TSONContext implements KeywordProvider {
     public void addContentProvider(ContentProvider contentProvider) {
         if (!contentProviderList.contains(contentProvider)) {
             contentProviderList.add(contentProvider);
+            contentProviderIndex
+                    .computeIfAbsent(contentProvider.getPrefix(), prefix -> new ArrayList<>(1))
+                    .add(contentProvider);
         }
     }
 
     /**
-     * Resolve content tags (items marked by symbols {@code ${}}) within the provided String and return the String with tags resolved into actual value
+     * Resolve content tags (items marked by symbols {@code ${}}) within the provided String and return the String with tags resolved into actual value.
+     * Tags can be nested, with the inner tags resolved first. The text is compiled once into a template that is
+     * reused when the same text is resolved again
      *
      * @param text Text to be resolved
      * @return Returns {@code text} with items marked with content tags resolved.
      * Items that fail to resolve will be returned without tag symbols
      */
     public String resolveContent(String text) {
-        // Keep resolving until there is no more content tag
-        int startIndex = text.lastIndexOf(CONTENT_TAG_START);
-        while (startIndex >= 0) {
-            int endIndex = text.indexOf(CONTENT_TAG_END, startIndex + 2);
-
-            String contentText = text.substring(startIndex + 2, endIndex);
-            String resolvedText = getContent(contentText, false);
+        // Skip compilation if there is no content tag
+        if (!text.contains(CONTENT_TAG_START)) {
+            return text;
+        }
 
-            text = text.substring(0, startIndex)
-                    + (resolvedText.isEmpty() ? contentText : resolvedText)
-                    + text.substring(endIndex + 1);
+        StringBuilder output = new StringBuilder(text.length());
+        resolveContent(text, output, 0);
+        return output.toString();
+    }
 
-            startIndex = text.lastIndexOf(CONTENT_TAG_START);
+    /**
+     * Resolve content tags within the provided String into a builder
+     *
+     * @param text   Text to be resolved
+     * @param output Builder to append the resolved text to
+     * @param depth  Current depth of resolution. Resolved values that contain content tags are resolved with a
+     *               higher depth, up to {@link #MAX_RESOLVE_DEPTH}
+     */
+    void resolveContent(String text, StringBuilder output, int depth) {
+        if (!text.contains(CONTENT_TAG_START)) {
+            output.append(text);
+        } else if (depth > MAX_RESOLVE_DEPTH) {
+            logger.warn("Maximum depth reached when resolving content, leaving content unresolved: " + text);
+            output.append(text);
+        } else {
+            templateCache.computeIfAbsent(text, ContentTemplate::compile).resolve(this, output, depth);
         }
-
-        return text;
     }
 
     /**
@@ -155,21 +197,35 @@ public class TSONContext implements KeywordProvider {
      * Returns empty String if retrieval failed (no matching content provider or no content for key)
      */
     public String getContent(String text, boolean allowMultipleResults) {
-        // Retrieve all results from retriever
-        Map<String, String> fullResult = getContent(text);
+        List<ContentProvider> targetContentProviderList = getTargetContentProviderList(text);
+        String contentKey = getContentKey(text, targetContentProviderList);
+
+        // Retrieve results from providers, keeping only the first value and the number of results
+        String firstResult = null;
+        int resultCount = 0;
+        for (ContentProvider provider : targetContentProviderList) {
+            Map<String, String> providerResult = provider.getContent(this, contentKey);
+            if (!providerResult.isEmpty()) {
+                if (firstResult == null) {
+                    firstResult = providerResult.values().iterator().next();
+                }
+                resultCount += providerResult.size();
+            }
+        }
 
         // Return if there is only one item
-        switch (fullResult.size()) {
+        switch (resultCount) {
             case 0:
+                logger.warn("No result found when resolving content: " + text);
                 return "";
             case 1:
-                return fullResult.get(fullResult.keySet().stream().findFirst().orElse(""));
+                return firstResult;
             default:
                 if (!allowMultipleResults) {
                     logger.warn("More than one result found when resolving content when it should only find one. Content text: " + text);
                     return "";
                 } else {
-                    return fullResult.get(fullResult.keySet().stream().findFirst().orElse(""));
+                    return firstResult;
                 }
         }
     }
@@ -183,40 +239,20 @@ public class TSONContext implements KeywordProvider {
      * @return Map of path to retrieved text. Paths will include the provider as a prefix
      */
     public Map<String, String> getContent(String text) {
-        logger.trace("Retrieving content from provider for content text: " + text);
+        if (logger.isTraceEnabled()) {
+            logger.trace("Retrieving content from provider for content text: " + text);
+        }
         Map<String, String> result = new LinkedHashMap<>();   // Result that will be populated and returned
 
-        /* 1. Retrieve possible prefix and key */
-        int periodIndex = text.indexOf('.');            // Index of first period, used for separating prefix from key
-        // Get prefix: text before first period
-        String prefix = text.substring(0, periodIndex > -1 ? periodIndex : 0);
-        // Key that is given to providers. This key is the same as the text arg but without prefix
-        // This is reverted to the text arg if the prefix is found invalid on a later step
-        String contentKey = text.substring(periodIndex + 1);
-
-        /* 2. Create list of providers to resolve with (this sets up Step 3) */
-        // Retrieve using prefix (multiple is allowed if for some reason we have that scenario)
-        List<ContentProvider> targetContentProviderList = contentProviderList
-                .stream()
-                .filter(provider -> provider.getPrefix().equals(prefix))
-                .collect(Collectors.toList());
-        // Default to all providers if there is no targets (no matching prefix) found
-        if (targetContentProviderList.isEmpty()) {
-            targetContentProviderList.addAll(contentProviderList);
-            contentKey = text;                                      // Revert content key to text if the prefix was invalid
-        }
+        List<ContentProvider> targetContentProviderList = getTargetContentProviderList(text);
+        String contentKey = getContentKey(text, targetContentProviderList);
 
-        /* 3. With the list of providers, retrieve contents from them */
+        // Retrieve contents from providers, adding the provider prefix to each path
         for (ContentProvider provider : targetContentProviderList) {
-            Map<String, String> providerResult = provider.getContent(this, contentKey);
-            result.putAll(
-                    providerResult.entrySet()
-                            .stream()
-                            .collect(Collectors.toMap(
-                                    map -> provider.getPrefix() + "." + map.getKey(),
-                                    Map.Entry::getValue
-                            ))
-            );
+            String pathPrefix = provider.getPrefix() + ".";
+            for (Map.Entry<String, String> entry : provider.getContent(this, contentKey).entrySet()) {
+                result.put(pathPrefix + entry.getKey(), entry.getValue());
+            }
         }
 
         // Log warning just in case
@@ -227,13 +263,53 @@ public class TSONContext implements KeywordProvider {
     }
 
     /**
-     * Checks if there is content from content text (text with content tag)
+     * Checks if there is content from content text (text with content tag). This does not build the result of the
+     * lookup and does not log a warning if there is no content
      *
      * @param text Text to check for content with. Text should have the format of {@code <content-provider-prefix>.<key>}
      * @return Returns {@code true} if there is content, returns {@code false} if otherwise
      */
     public boolean hasContent(String text) {
-        return !getContent(text).isEmpty();
+        List<ContentProvider> targetContentProviderList = getTargetContentProviderList(text);
+        String contentKey = getContentKey(text, targetContentProviderList);
+
+        for (ContentProvider provider : targetContentProviderList) {
+            if (provider.hasContent(this, contentKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the providers that should resolve a content text, based on the prefix of the text (text before the first
+     * period)
+     *
+     * @param text Content text to retrieve the providers for
+     * @return Providers with a matching prefix. Returns all providers if no provider has a matching prefix
+     */
+    List<ContentProvider> getTargetContentProviderList(String text) {
+        int periodIndex = text.indexOf('.');
+        if (periodIndex > -1) {
+            List<ContentProvider> prefixProviderList = contentProviderIndex.get(text.substring(0, periodIndex));
+            if (prefixProviderList != null) {
+                return prefixProviderList;
+            }
+        }
+        return contentProviderList;
+    }
+
+    /**
+     * Get the key that is given to providers for a content text
+     *
+     * @param text                      Content text to retrieve the key for
+     * @param targetContentProviderList Providers returned by {@link #getTargetContentProviderList(String)} for the text
+     * @return The text without its prefix if the prefix matched a provider, otherwise the text itself
+     */
+    String getContentKey(String text, List<ContentProvider> targetContentProviderList) {
+        return targetContentProviderList == contentProviderList
+                ? text
+                : text.substring(text.indexOf('.') + 1);
     }
 
     /* ----- GETTERS & SETTERS: REQUEST, RESPONSE, INTERPRETER ------------------------------ */
@@ -8,6 +8,10 @@ import com.euph28.tson.reporter.TSONReporter;
 import com.euph28.tson.reporter.report.ReportType;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 public class Sleep extends Keyword {
@@ -40,17 +44,9 @@ public class Sleep extends Keyword {
 
     @Override
     public boolean handle(TSONContext tsonContext, TSONReporter tsonReporter, Statement statement) {
-        // Report
-        tsonReporter.getReport().setReportFallbackTitle("Wait for " + statement.getValue() + " milliseconds");
-        tsonReporter.getReport().setReportStep("Wait for " + statement.getValue() + " milliseconds");
-
         // Retrieve duration
-        int duration;
-        try {
-            duration = Integer.parseInt(statement.getValue());
-        } catch (NumberFormatException e) {
-            tsonReporter.getReport().setReportType(ReportType.ERROR);
-            tsonReporter.getReport().setReportDetail("Failed to convert value to duration: " + statement.getValue());
+        int duration = getDuration(tsonReporter, statement);
+        if (duration < 0) {
             return false;
         }
 
@@ -63,4 +59,46 @@ public class Sleep extends Keyword {
 
         return true;
     }
+
+    @Override
+    public CompletionStage<Boolean> handleAsync(TSONContext tsonContext, TSONReporter tsonReporter, Statement statement, ScheduledExecutorService scheduler, Executor executor) {
+        // Retrieve duration
+        int duration = getDuration(tsonReporter, statement);
+        if (duration < 0) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        // Complete from the scheduler instead of holding a thread while waiting
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        scheduler.schedule(() -> result.complete(true), duration, TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Update the report of this statement and retrieve the duration to wait for
+     *
+     * @param tsonReporter Reporter class to report execution result to
+     * @param statement    Statement with the duration as value
+     * @return Duration in milliseconds. Returns {@code -1} (and reports an error) if the value is not a valid duration
+     */
+    int getDuration(TSONReporter tsonReporter, Statement statement) {
+        // Report
+        tsonReporter.getReport().setReportFallbackTitle("Wait for " + statement.getValue() + " milliseconds");
+        tsonReporter.getReport().setReportStep("Wait for " + statement.getValue() + " milliseconds");
+
+        // Convert value
+        int duration;
+        try {
+            duration = Integer.parseInt(statement.getValue());
+        } catch (NumberFormatException e) {
+            duration = -1;
+        }
+        if (duration < 0) {
+            tsonReporter.getReport().setReportType(ReportType.ERROR);
+            tsonReporter.getReport().setReportDetail("Failed to convert value to duration: " + statement.getValue());
+        }
+        return duration;
+    }
 }
@@ -25,4 +25,16 @@ public interface ContentProvider {
      * @return Map of path to content. This should return an empty map if nothing was found
      */
     Map<String, String> getContent(TSONContext tsonContext, String key);
+
+    /**
+     * Checks if there is content for the provided key. Providers should override this if the check can be done
+     * without building the result of {@link #getContent(TSONContext, String)}
+     *
+     * @param tsonContext TSON context that called for this provider
+     * @param key         Key for the content to be checked
+     * @return Returns {@code true} if there is content, returns {@code false} if otherwise
+     */
+    default boolean hasContent(TSONContext tsonContext, String key) {
+        return !getContent(tsonContext, key).isEmpty();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.euph28.tson.context.provider;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Compiled form of a JSON path used by {@link JsonValueProvider}. The path is split and its segments are classified
+ * once, so that it can be evaluated repeatedly over JSON trees without parsing the path again
+ */
+final class JsonPath {
+    Logger logger = LoggerFactory.getLogger(JsonPath.class);
+
+    /* ----- CONSTANTS ------------------------------ */
+    /**
+     * Path segment that matches all items of an array
+     */
+    final static String WILDCARD = "*";
+
+    /* ----- VARIABLES ------------------------------ */
+    /**
+     * Original path that this was compiled from, used for logging
+     */
+    final String originalPath;
+
+    /**
+     * Indicates if the path should be evaluated against the request JSON ({@code true}) or the response JSON ({@code false})
+     */
+    final boolean isRequest;
+
+    /**
+     * Segments of the path, in order
+     */
+    final Segment[] segmentList;
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+    JsonPath(String originalPath, boolean isRequest, List<Segment> segmentList) {
+        this.originalPath = originalPath;
+        this.isRequest = isRequest;
+        this.segmentList = segmentList.toArray(new Segment[0]);
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Compile a JSON path
+     *
+     * @param jsonPath Path to the value. Path can be separated by periods (eg: body.item.0.value) or in the
+     *                 form of a JSON Pointer  (eg: {@code /body/item/0/value}).<br/>
+     *                 Wildcards ({@code *}) can be used to retrieve all values in an array. <br/>
+     *                 Starting the jsonPath with "{@code request.}" will result in request JSON being used.
+     *                 Otherwise, response data will be used instead
+     * @return Compiled path
+     */
+    static JsonPath compile(String jsonPath) {
+        boolean isRequest = jsonPath.startsWith("request.");
+
+        // Trim jsonPath if it starts with request/response
+        String path = isRequest ? jsonPath.substring("request.".length()) : jsonPath;
+        path = path.startsWith("response.") ? path.substring("response.".length()) : path;
+
+        // Split by '/' if it is a JSON Pointer, otherwise by '.'
+        char delimiter = path.indexOf('/') > -1 ? '/' : '.';
+        List<Segment> segmentList = new ArrayList<>();
+        int start = 0;
+        while (start <= path.length()) {
+            int end = path.indexOf(delimiter, start);
+            end = end > -1 ? end : path.length();
+            if (end > start) {
+                segmentList.add(new Segment(path.substring(start, end)));
+            }
+            start = end + 1;
+        }
+
+        return new JsonPath(jsonPath, isRequest, segmentList);
+    }
+
+    /**
+     * Evaluate the path over a JSON tree. Each resolved value is passed to the consumer in document order, without
+     * building intermediate results
+     *
+     * @param root     Root of the JSON tree
+     * @param consumer Consumer of the JSON Pointer (eg: {@code /body/item/0}) and the text value of each resolved node
+     */
+    void evaluate(JsonNode root, BiConsumer<String, String> consumer) {
+        evaluate(root, 0, new StringBuilder(), consumer);
+    }
+
+    /**
+     * Evaluate the remaining segments of the path from a node
+     *
+     * @param node         Current node
+     * @param segmentIndex Index of the next segment to be evaluated
+     * @param pointer      Pointer of the current node. This is restored to its original length before returning
+     * @param consumer     Consumer of the resolved values
+     */
+    void evaluate(JsonNode node, int segmentIndex, StringBuilder pointer, BiConsumer<String, String> consumer) {
+        // End of path: report the value
+        if (segmentIndex == segmentList.length) {
+            consumer.accept(pointer.length() == 0 ? "/" : pointer.toString(), node.asText());
+            return;
+        }
+
+        Segment segment = segmentList[segmentIndex];
+        int pointerLength = pointer.length();
+
+        if (segment.isWildcard && node.isArray()) {
+            // Wildcard: evaluate each item of the array
+            for (int i = 0; i < node.size(); i++) {
+                pointer.append('/').append(i);
+                evaluate(node.get(i), segmentIndex + 1, pointer, consumer);
+                pointer.setLength(pointerLength);
+            }
+        } else {
+            // Field or index: evaluate a single child
+            pointer.append('/').append(segment.name);
+            JsonNode child = segment.index >= 0 && node.isArray() ? node.get(segment.index) : node.get(segment.name);
+            if (child != null) {
+                evaluate(child, segmentIndex + 1, pointer, consumer);
+            } else if (logger.isWarnEnabled()) {
+                logger.warn(String.format("Null value found when resolving pointer path \"%s\", provided by JSON path \"%s\"", pointer, originalPath));
+            }
+            pointer.setLength(pointerLength);
+        }
+    }
+
+    /* ----- SEGMENT ------------------------------ */
+
+    /**
+     * Segment of a path, classified as a field, an array index or a wildcard
+     */
+    static final class Segment {
+        /**
+         * Text of the segment, used as the field name
+         */
+        final String name;
+
+        /**
+         * Array index of the segment. This is {@code -1} if the segment is not an index
+         */
+        final int index;
+
+        /**
+         * Indicates if the segment is a wildcard. Wildcards on non-array nodes are treated as a field name
+         */
+        final boolean isWildcard;
+
+        Segment(String name) {
+            this.name = name;
+            this.index = parseIndex(name);
+            this.isWildcard = WILDCARD.equals(name);
+        }
+
+        /**
+         * Parse the segment as an array index
+         *
+         * @param name Text of the segment
+         * @return Parsed index, or {@code -1} if the text is not a non-negative integer
+         */
+        static int parseIndex(String name) {
+            if (name.isEmpty() || name.length() > 9) {
+                return -1;
+            }
+            int result = 0;
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                result = result * 10 + (c - '0');
+            }
+            return result;
+        }
+    }
+}
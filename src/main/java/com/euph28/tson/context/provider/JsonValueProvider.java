@@ -2,16 +2,13 @@ package com.euph28.tson.context.provider;
 
 import com.euph28.tson.context.TSONContext;
 import com.fasterxml.jackson.core.JsonPointer;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 /**
  * Load content value from JSON data. Accepts JSON path in the form of period delimited paths (eg: {@code body.text.item})
@@ -19,23 +16,41 @@ import java.util.Map;
  */
 public class JsonValueProvider implements ContentProvider {
 
+    /* ----- CONSTANTS ------------------------------ */
+    /**
+     * Maximum number of compiled paths kept by {@link #pathCache}
+     */
+    final static int PATH_CACHE_SIZE = 512;
+
     /* ----- VARIABLES ------------------------------ */
     Logger logger = LoggerFactory.getLogger(JsonValueProvider.class);
 
+    /**
+     * Cache of path to its compiled form, with the least recently used path removed when full
+     */
+    Map<String, JsonPath> pathCache = new LinkedHashMap<String, JsonPath>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JsonPath> eldest) {
+            return size() > PATH_CACHE_SIZE;
+        }
+    };
+
     /* ----- METHODS: JSON ------------------------------ */
 
     /**
-     * Retrieve JSON content to be used based on jsonPath
+     * Retrieve parsed JSON content to be used based on jsonPath. The content is parsed once per request/response
+     * and shared between lookups
      *
      * @param tsonContext Context for retrieving available JSON content
      * @param jsonPath    JSON path that will determine what JSON content to use
-     * @return JSON content as requested by {@code jsonPath}. Returns request JSON if path starts with {@code request.}
-     * and response JSON if otherwise.
+     * @return JSON tree as requested by {@code jsonPath}. Returns request JSON if path starts with {@code request.}
+     * and response JSON if otherwise. Returns a {@link com.fasterxml.jackson.databind.node.MissingNode} if the
+     * content is not valid JSON
      */
-    String getJsonContent(TSONContext tsonContext, String jsonPath) {
+    JsonNode getJsonContent(TSONContext tsonContext, String jsonPath) {
         return jsonPath.startsWith("request.")
-                ? tsonContext.getRequestData().getRequestBody()
-                : tsonContext.getResponseData().getResponseBody();
+                ? tsonContext.getRequestData().getRequestJson()
+                : tsonContext.getResponseData().getResponseJson();
     }
 
     /**
@@ -68,82 +83,31 @@ public class JsonValueProvider implements ContentProvider {
      * @return Map of path-to-value of resolved values. Returns {@code null} if path was invalid
      */
     Map<String, String> getValuesFromJson(TSONContext tsonContext, String jsonPath) {
-        // Store original path for logging
-        String originalPath = jsonPath;
-
-        // Retrieve jsonContent and update path
-        String jsonContent = getJsonContent(tsonContext, jsonPath);
-        jsonPath = updatePath(jsonPath);
-
-        // Setup required variables
-        ObjectMapper objectMapper = new ObjectMapper();             // JSON library mapper
-        Map<String, JsonNode> nodeMap = new LinkedHashMap<>();      // Map of path-to-nodes that will be returned. This is traversed until path is resolved
-        String[] jsonPathSplit = jsonPath.split("/");         // List of paths to traverse
-
-        // Retrieve the first node
-        try {
-            // Initial node
-            nodeMap.put("", objectMapper.readTree(jsonContent));
-        } catch (JsonProcessingException e) {
-            logger.error("Failed to process provided JSON for path: " + originalPath, e);
-            return new LinkedHashMap<>();
-        }
-
-        // Traverse each path and update node
-        for (String path : jsonPathSplit) {
-            // Skip if empty (needed for first index due to path starting with "/", keeping it in case of human error)
-            if (path.isEmpty()) {
-                continue;
-            }
-
-            // Temporary updated node map for this iteration, will replace the original at end of each iteration
-            Map<String, JsonNode> iterationNodeMap = new LinkedHashMap<>();
-
-            // Traverse each node to traverse each path (handles splitting when wildcard is present)
-            for (String nodeMapKey : nodeMap.keySet()) {
-                JsonNode currentNode = nodeMap.get(nodeMapKey);
-
-                // Part 1: Generate new list of paths for this node (if it splits)
-                List<String> currentNodePathList = new ArrayList<>();
-                if (path.equals("*") && currentNode.isArray()) {    // Generate new node paths if this is an array and wildcard is used
-                    for (int i = 0; i < currentNode.size(); i++) {
-                        currentNodePathList.add(String.valueOf(i));
-                    }
-                } else {
-                    currentNodePathList.add(path);
-                }
-
-                // Part 2: Retrieve the new nodes based on the new list of paths
-                for (String currentNodePath : currentNodePathList) {
-                    JsonNode value = currentNodePath.matches("-?\\d+") ? currentNode.get(Integer.parseInt(currentNodePath)) : currentNode.get(currentNodePath);
-                    if (value != null) {
-                        // Only add if value is not null
-                        iterationNodeMap.put(nodeMapKey + "/" + currentNodePath, value);
-                    } else {
-                        // Otherwise, log a warning
-                        logger.warn(String.format("Null value found when resolving pointer path \"%s\", provided by JSON path \"%s\"", nodeMapKey + "/" + currentNodePath, originalPath));
-                    }
-                }
-            }
-
-            nodeMap = iterationNodeMap;
-        }
-
-        // Post-processing: Convert from node to path-value map
         Map<String, String> pathValueResultMap = new LinkedHashMap<>();
-        for (String key : nodeMap.keySet()) {
-            try {
-                pathValueResultMap.put(
-                        key.startsWith("/") ? key : "/" + key,
-                        nodeMap.get(key).asText()
-                );
-            } catch (NullPointerException e) {
-                logger.error(String.format("Failed to resolve pointer path \"%s\", provided by JSON path \"%s\"", jsonPath, originalPath), e);
-                return new LinkedHashMap<>();
-            }
+        forEachValueFromJson(tsonContext, jsonPath, pathValueResultMap::put);
+        return pathValueResultMap;
+    }
+
+    /**
+     * Resolve values from JSON content and path, passing each value to a consumer as it is resolved
+     *
+     * @param tsonContext Context class that stores the variables related to the current running state
+     * @param jsonPath    Path to the value. See {@link #getValuesFromJson(TSONContext, String)} for the format
+     * @param consumer    Consumer of the JSON Pointer and value of each resolved value, called in document order
+     */
+    void forEachValueFromJson(TSONContext tsonContext, String jsonPath, BiConsumer<String, String> consumer) {
+        JsonPath compiledPath = pathCache.computeIfAbsent(jsonPath, JsonPath::compile);
+
+        // Retrieve the JSON content
+        JsonNode jsonContent = compiledPath.isRequest
+                ? tsonContext.getRequestData().getRequestJson()
+                : tsonContext.getResponseData().getResponseJson();
+        if (jsonContent.isMissingNode()) {
+            logger.error("Failed to process provided JSON for path: " + jsonPath);
+            return;
         }
 
-        return pathValueResultMap;
+        compiledPath.evaluate(jsonContent, consumer);
     }
 
     /**
@@ -163,19 +127,18 @@ public class JsonValueProvider implements ContentProvider {
         String originalPath = jsonPath;
 
         // Retrieve jsonContent and update path
-        String jsonContent = getJsonContent(tsonContext, jsonPath);
+        JsonNode jsonContent = getJsonContent(tsonContext, jsonPath);
         jsonPath = updatePath(jsonPath);
 
         // Retrieve value from jsonPath
-        ObjectMapper objectMapper = new ObjectMapper();
         try {
-            JsonNode jsonNode = objectMapper.readTree(jsonContent).at(JsonPointer.valueOf(jsonPath));
+            JsonNode jsonNode = jsonContent.at(JsonPointer.valueOf(jsonPath));
             if (!jsonNode.isMissingNode()) {
                 return jsonNode.toString();
             } else {
                 return "";
             }
-        } catch (JsonProcessingException e) {
+        } catch (IllegalArgumentException e) {
             logger.error(String.format("Failed to resolve JsonPointer \"%s\", provided by path \"%s\"", jsonPath, originalPath), e);
             return "";
         }
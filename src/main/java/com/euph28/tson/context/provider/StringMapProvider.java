@@ -4,6 +4,7 @@ import com.euph28.tson.context.TSONContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -56,12 +57,14 @@ public class StringMapProvider implements ContentProvider {
 
     @Override
     public Map<String, String> getContent(TSONContext tsonContext, String key) {
-        Map<String, String> result = new HashMap<>();
-
-        if (dataMap.containsKey(key)) {
-            result.put(key, dataMap.get(key));
-        }
+        String value = dataMap.get(key);
+        return value != null || dataMap.containsKey(key)
+                ? Collections.singletonMap(key, value)
+                : Collections.emptyMap();
+    }
 
-        return result;
+    @Override
+    public boolean hasContent(TSONContext tsonContext, String key) {
+        return dataMap.containsKey(key);
     }
 }
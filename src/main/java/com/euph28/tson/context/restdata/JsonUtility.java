@@ -0,0 +1,47 @@
+package com.euph28.tson.context.restdata;
+
+import com.euph28.tson.context.restdata.printer.VsCodeJacksonPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Shared JSON objects for reading and writing request/response data. {@link ObjectMapper} and {@link ObjectWriter}
+ * are thread-safe once configured, so a single instance is shared instead of being created for every use
+ */
+public final class JsonUtility {
+
+    /* ----- CONSTANTS ------------------------------ */
+    /**
+     * Shared mapper for reading and writing JSON
+     */
+    static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * Shared writer that formats JSON with {@link VsCodeJacksonPrettyPrinter}
+     */
+    static final ObjectWriter PRETTY_WRITER = OBJECT_MAPPER.writer(new VsCodeJacksonPrettyPrinter());
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+    private JsonUtility() {
+    }
+
+    /* ----- GETTERS ------------------------------ */
+
+    /**
+     * Retrieve the shared mapper for reading and writing JSON
+     *
+     * @return Shared {@link ObjectMapper}
+     */
+    public static ObjectMapper getObjectMapper() {
+        return OBJECT_MAPPER;
+    }
+
+    /**
+     * Retrieve the shared writer for formatting JSON with {@link VsCodeJacksonPrettyPrinter}
+     *
+     * @return Shared pretty {@link ObjectWriter}
+     */
+    public static ObjectWriter getPrettyWriter() {
+        return PRETTY_WRITER;
+    }
+}
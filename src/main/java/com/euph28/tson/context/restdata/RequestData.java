@@ -1,10 +1,18 @@
 package com.euph28.tson.context.restdata;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * Data related to request sent to server
  */
 public class RequestData {
     /* ----- VARIABLES ------------------------------ */
+    final Logger logger = LoggerFactory.getLogger(RequestData.class);
+
     /**
      * URL that was sent for the request. The URL follows format for creating a {@link java.net.URL} object
      */
@@ -15,6 +23,11 @@ public class RequestData {
      */
     String requestBody;
 
+    /**
+     * Parsed JSON tree of {@link #requestBody}. Parsed on first use by {@link #getRequestJson()}
+     */
+    volatile JsonNode requestJson;
+
     /* ----- CONSTRUCTOR ------------------------------ */
 
     /**
@@ -47,4 +60,25 @@ public class RequestData {
     public String getRequestBody() {
         return requestBody;
     }
+
+    /**
+     * Retrieve the content body sent for the request as a JSON tree. The body is only parsed once and the tree is
+     * shared by all subsequent calls, so the tree should not be modified
+     *
+     * @return JSON tree of the body. Returns a {@link MissingNode} if the body is not valid JSON
+     */
+    public JsonNode getRequestJson() {
+        JsonNode result = requestJson;
+        if (result == null) {
+            try {
+                result = JsonUtility.getObjectMapper().readTree(requestBody);
+                result = result != null ? result : MissingNode.getInstance();
+            } catch (JsonProcessingException e) {
+                logger.warn("Unable to parse request body as JSON");
+                result = MissingNode.getInstance();
+            }
+            requestJson = result;
+        }
+        return result;
+    }
 }
@@ -1,12 +1,16 @@
 package com.euph28.tson.context.restdata;
 
-import com.euph28.tson.context.restdata.printer.VsCodeJacksonPrettyPrinter;
 import com.euph28.tson.restclientinterface.TSONRestClient;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Data related to response received from server
  */
@@ -20,9 +24,31 @@ public class ResponseData {
     int responseStatus;
 
     /**
-     * Content body of the response
+     * Content body of the response as raw bytes, as received from the server. Can be {@code null} if the
+     * response was created from a String
+     */
+    byte[] responseBytes;
+
+    /**
+     * Charset of {@link #responseBytes}
+     */
+    Charset responseCharset;
+
+    /**
+     * Content body of the response as a String, as received from the server. Decoded from {@link #responseBytes}
+     * on first use by {@link #getResponseBodyRaw()}
+     */
+    volatile String responseBody;
+
+    /**
+     * Formatted version of the body. Formatted on first use by {@link #getResponseBody()}
+     */
+    volatile String responseBodyFormatted;
+
+    /**
+     * Parsed JSON tree of the body. Parsed on first use by {@link #getResponseJson()}
      */
-    String responseBody;
+    volatile JsonNode responseJson;
 
     /**
      * Time that connection started
@@ -72,23 +98,76 @@ public class ResponseData {
         this.timeEnd = timeEnd;
     }
 
+    /**
+     * Data related to response received from server. The body is kept as bytes and only decoded/parsed when needed
+     *
+     * @param responseStatus  Status code of the response
+     * @param responseBytes   Content body of the response as raw bytes
+     * @param responseCharset Charset of the content body
+     * @param timeStart       Time connection started in nanoseconds
+     * @param timeConnect     Time connection was successful in nanoseconds
+     * @param timeResponse    Time initial response received in nanoseconds
+     * @param timeEnd         Time connection ended in nanoseconds
+     */
+    public ResponseData(int responseStatus, byte[] responseBytes, Charset responseCharset, long timeStart, long timeConnect, long timeResponse, long timeEnd) {
+        this.responseStatus = responseStatus;
+        this.responseBytes = responseBytes;
+        this.responseCharset = responseCharset;
+        this.timeStart = timeStart;
+        this.timeConnect = timeConnect;
+        this.timeResponse = timeResponse;
+        this.timeEnd = timeEnd;
+    }
+
     /* ----- SETTERS & GETTERS ------------------------------ */
 
     /**
-     * Set response body and format it if applicable (if it is JSON)
+     * Set response body. Formatting is deferred until the body is retrieved with {@link #getResponseBody()}
+     *
      * @param responseBody Response body
      */
     void setResponseBody(String responseBody) {
+        this.responseBody = responseBody;
+        this.responseBytes = null;
+        this.responseCharset = null;
+        this.responseBodyFormatted = null;
+        this.responseJson = null;
+    }
+
+    /**
+     * Format the response body if applicable (if it is JSON). The body is written from the parsed JSON tree
+     * so that it is not parsed again
+     *
+     * @return Formatted response body. Returns the body as-is if it is not JSON
+     */
+    String formatResponseBody() {
+        JsonNode json = getResponseJson();
+        if (json.isMissingNode()) {
+            return getResponseBodyRaw();
+        }
+
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            Object json = mapper.readValue(responseBody, Object.class);
-            this.responseBody = mapper.writer(new VsCodeJacksonPrettyPrinter()).writeValueAsString(json);
+            return JsonUtility.getPrettyWriter().writeValueAsString(json);
         } catch (JsonProcessingException e) {
             logger.warn("Unable to format response body as JSON String");
-            this.responseBody = responseBody;
+            return getResponseBodyRaw();
         }
     }
 
+    /**
+     * Parse the response body into a JSON tree. Bytes are parsed directly if they are UTF-8, otherwise the
+     * decoded body is parsed
+     *
+     * @return JSON tree of the body
+     * @throws IOException Thrown if the body is not valid JSON
+     */
+    JsonNode parseResponseBody() throws IOException {
+        byte[] bytes = responseBytes;
+        return bytes != null && StandardCharsets.UTF_8.equals(responseCharset)
+                ? JsonUtility.getObjectMapper().readTree(bytes)
+                : JsonUtility.getObjectMapper().readTree(getResponseBodyRaw());
+    }
+
     /**
      * Retrieve the status code of the response
      *
@@ -99,12 +178,54 @@ public class ResponseData {
     }
 
     /**
-     * Retrieve the content body of the response
+     * Retrieve the content body of the response as it was received, without formatting
      *
      * @return Content body of the response
      */
+    public String getResponseBodyRaw() {
+        String result = responseBody;
+        if (result == null) {
+            byte[] bytes = responseBytes;
+            result = bytes != null ? new String(bytes, responseCharset) : "";
+            responseBody = result;
+        }
+        return result;
+    }
+
+    /**
+     * Retrieve the content body of the response, formatted if it is JSON. The body is formatted on the first call
+     * and the result is reused afterwards
+     *
+     * @return Formatted content body of the response
+     */
     public String getResponseBody() {
-        return responseBody;
+        String result = responseBodyFormatted;
+        if (result == null) {
+            result = formatResponseBody();
+            responseBodyFormatted = result;
+        }
+        return result;
+    }
+
+    /**
+     * Retrieve the content body of the response as a JSON tree. The body is only parsed once and the tree is
+     * shared by all subsequent calls, so the tree should not be modified
+     *
+     * @return JSON tree of the body. Returns a {@link MissingNode} if the body is not valid JSON
+     */
+    public JsonNode getResponseJson() {
+        JsonNode result = responseJson;
+        if (result == null) {
+            try {
+                result = parseResponseBody();
+                result = result != null ? result : MissingNode.getInstance();
+            } catch (IOException e) {
+                logger.warn("Unable to parse response body as JSON");
+                result = MissingNode.getInstance();
+            }
+            responseJson = result;
+        }
+        return result;
     }
 
     /**
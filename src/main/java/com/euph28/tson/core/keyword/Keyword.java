@@ -6,6 +6,10 @@ import com.euph28.tson.reporter.TSONReporter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * Keyword located within a TSOn file. Keywords mark actions that needs to be processed
@@ -66,6 +70,42 @@ public abstract class Keyword {
      */
     public abstract boolean handle(TSONContext tsonContext, TSONReporter tsonReporter, Statement statement);
 
+    /**
+     * Handle the processing of this {@link Keyword} without blocking the executing thread while waiting. Used when
+     * statements are executed asynchronously, where the next statement only runs once the returned stage completes.
+     * Keywords that wait (eg: SLEEP) should override this to complete the stage from the {@code scheduler} instead
+     * of blocking. The scheduler is shared by all runs, so blocking work (eg: sending a request) after a delay should
+     * be handed to the {@code executor} instead of being run on the scheduler. <br/>
+     * Defaults to calling {@link #handle(TSONContext, TSONReporter, Statement)}
+     *
+     * @param tsonContext  Context class that stores the variables related to the current running state
+     * @param tsonReporter Reporter class to report execution result to
+     * @param statement    Additional value for this {@link Keyword} provided in the TSON file
+     * @param scheduler    Scheduler that can be used to complete the stage after a delay
+     * @param executor     Executor of the run, to run blocking work on after a delay
+     * @return Stage that completes with {@code true} if handle was successful
+     */
+    public CompletionStage<Boolean> handleAsync(TSONContext tsonContext, TSONReporter tsonReporter, Statement statement, ScheduledExecutorService scheduler, Executor executor) {
+        return CompletableFuture.completedFuture(handle(tsonContext, tsonReporter, statement));
+    }
+
+    /**
+     * Start the processing of this {@link Keyword} ahead of the statement cursor, while earlier statements are still
+     * being handled. Used when {@link KeywordType#ACTION} statements are pipelined, where the result of the started
+     * processing is then used by {@link #handle(TSONContext, TSONReporter, Statement)} once the cursor reaches the
+     * statement. Keywords should only start if the statement does not depend on the result of earlier statements. <br/>
+     * Defaults to not starting ahead
+     *
+     * @param tsonContext Context class that stores the variables related to the current running state
+     * @param statement   Statement to be started ahead
+     * @param executor    Executor to run the started processing on
+     * @return Returns {@code true} if the processing was started, {@code false} if the statement has to wait for
+     * the cursor
+     */
+    public boolean startPipelined(TSONContext tsonContext, Statement statement, Executor executor) {
+        return false;
+    }
+
     /* ----- OVERRIDE: EQUALS ------------------------------ */
 
     @Override
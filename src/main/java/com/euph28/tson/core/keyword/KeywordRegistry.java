@@ -0,0 +1,96 @@
+package com.euph28.tson.core.keyword;
+
+import java.util.*;
+
+/**
+ * Immutable registry of {@link Keyword} with lookup by {@link Keyword#getCode()}. A registry is built once from
+ * the keywords of all {@link KeywordProvider} and shared by the lexer, parser listener and interpreter
+ */
+public final class KeywordRegistry {
+
+    /* ----- CONSTANTS ------------------------------ */
+    /**
+     * Registry with no keywords
+     */
+    public static final KeywordRegistry EMPTY = new KeywordRegistry(Collections.emptyList());
+
+    /* ----- VARIABLES ------------------------------ */
+    /**
+     * List of keywords, in the order they were provided
+     */
+    final List<Keyword> keywordList;
+
+    /**
+     * Map of keyword code to keyword. If multiple keywords share the same code, the first one is used
+     */
+    final Map<String, Keyword> keywordMap;
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+
+    /**
+     * Create a registry from a list of keywords
+     *
+     * @param keywordList List of keywords to be registered
+     */
+    public KeywordRegistry(List<Keyword> keywordList) {
+        Map<String, Keyword> map = new HashMap<>();
+        for (Keyword keyword : keywordList) {
+            map.putIfAbsent(keyword.getCode(), keyword);
+        }
+
+        this.keywordList = Collections.unmodifiableList(new ArrayList<>(keywordList));
+        this.keywordMap = Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Create a registry from the keywords of a list of providers
+     *
+     * @param keywordProviderList List of providers to retrieve keywords from
+     * @return Registry of all keywords provided
+     */
+    public static KeywordRegistry fromProviders(List<KeywordProvider> keywordProviderList) {
+        List<Keyword> keywordList = new ArrayList<>();
+        keywordProviderList.forEach(provider -> keywordList.addAll(provider.getKeywordList()));
+        return new KeywordRegistry(keywordList);
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Retrieve a keyword by its code
+     *
+     * @param code Code of the keyword (see {@link Keyword#getCode()})
+     * @return Keyword with the code. Returns {@code null} if there is no such keyword
+     */
+    public Keyword get(String code) {
+        return keywordMap.get(code);
+    }
+
+    /**
+     * Check if there is a keyword with the code
+     *
+     * @param code Code of the keyword (see {@link Keyword#getCode()})
+     * @return Returns {@code true} if the keyword exists
+     */
+    public boolean contains(String code) {
+        return keywordMap.containsKey(code);
+    }
+
+    /**
+     * Retrieve all registered keywords
+     *
+     * @return Unmodifiable list of keywords
+     */
+    public List<Keyword> getKeywordList() {
+        return keywordList;
+    }
+
+    /**
+     * Retrieve the codes of all registered keywords
+     *
+     * @return Unmodifiable set of keyword codes
+     */
+    public Set<String> getKeywordCodeSet() {
+        return keywordMap.keySet();
+    }
+}
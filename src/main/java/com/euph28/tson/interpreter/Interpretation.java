@@ -3,6 +3,7 @@ package com.euph28.tson.interpreter;
 import com.euph28.tson.antlr.TsonLexer;
 import com.euph28.tson.antlr.TsonParser;
 import com.euph28.tson.core.keyword.Keyword;
+import com.euph28.tson.core.keyword.KeywordRegistry;
 import com.euph28.tson.core.keyword.KeywordType;
 import org.antlr.v4.runtime.BaseErrorListener;
 import org.antlr.v4.runtime.CharStreams;
@@ -14,9 +15,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Interprets and stores the interpreted content of a TSON file
@@ -26,7 +26,8 @@ public class Interpretation {
     Logger logger = LoggerFactory.getLogger(Statement.class);
 
     /**
-     * List of interpreted {@link Statement}
+     * List of interpreted {@link Statement}. The list is unmodifiable and can be shared between interpretations
+     * of the same content (see {@link #Interpretation(Interpretation, KeywordRegistry)})
      */
     List<Statement> statementList;
 
@@ -47,25 +48,64 @@ public class Interpretation {
     String content;
 
     /**
-     * List of keywords
+     * Registry of keywords
      */
-    List<Keyword> keywordList;
+    KeywordRegistry keywordRegistry;
 
     /* ----- CONSTRUCTOR ------------------------------ */
 
     /**
      * Interpret and store the interpreted content from a TSON content
      *
-     * @param content TSON content found within a file
+     * @param keywordList List of keywords that can be used in the content
+     * @param content     TSON content found within a file
      */
     public Interpretation(List<Keyword> keywordList, String content) {
-        this.keywordList = new ArrayList<>(keywordList);
+        this(new KeywordRegistry(keywordList), content);
+    }
+
+    /**
+     * Interpret and store the interpreted content from a TSON content
+     *
+     * @param keywordRegistry Registry of keywords that can be used in the content
+     * @param content         TSON content found within a file
+     */
+    public Interpretation(KeywordRegistry keywordRegistry, String content) {
+        this.keywordRegistry = keywordRegistry;
         this.content = content;
 
         // Generate basic Statement list
-        StatementListener statementListener = new StatementListener(keywordList);
+        StatementListener statementListener = new StatementListener(keywordRegistry);
         parse(0, statementListener, errorListener);
-        statementList = statementListener.getStatementList();
+        statementList = Collections.unmodifiableList(statementListener.getStatementList());
+    }
+
+    /**
+     * Create an interpretation from the interpreted statements of another interpretation, without parsing the
+     * content again. Statements are shared if the registry is the same, otherwise they are copied with the keywords
+     * of the registry (as keywords are bound to the components of their runner). The created interpretation has its
+     * own iterator that starts at the beginning
+     *
+     * @param interpretation  Interpretation to reuse the statements of
+     * @param keywordRegistry Registry of keywords to be used, with the same keyword codes as the interpretation
+     */
+    Interpretation(Interpretation interpretation, KeywordRegistry keywordRegistry) {
+        this.keywordRegistry = keywordRegistry;
+        this.content = interpretation.content;
+        this.errorListener = interpretation.errorListener;
+        if (keywordRegistry == interpretation.keywordRegistry) {
+            this.statementList = interpretation.statementList;
+        } else {
+            List<Statement> reboundStatementList = new ArrayList<>(interpretation.statementList.size());
+            for (Statement statement : interpretation.statementList) {
+                reboundStatementList.add(new Statement(
+                        keywordRegistry.get(statement.keyword.getCode()),
+                        statement.properties,
+                        statement.value
+                ));
+            }
+            this.statementList = Collections.unmodifiableList(reboundStatementList);
+        }
     }
 
     /* ----- METHODS: PARSER ------------------------------ */
@@ -74,14 +114,10 @@ public class Interpretation {
      * Run lexer on TSON content
      */
     TsonLexer getLexer() {
-        // ANTLR4 Lexer, input the keywordList for dynamic keyword parsing
+        // ANTLR4 Lexer, input the keyword codes for dynamic keyword parsing
         return new TsonLexer(
                 CharStreams.fromString(content),
-                new HashSet<>(keywordList
-                        .stream()
-                        .map(Keyword::getCode)
-                        .collect(Collectors.toList())
-                )
+                keywordRegistry.getKeywordCodeSet()
         );
     }
 
@@ -144,6 +180,15 @@ public class Interpretation {
                 : null;
     }
 
+    /**
+     * Retrieve the {@link Statement}s that have not been iterated yet. Does not move the iterator forward
+     *
+     * @return Unmodifiable list of statements from the next {@link Statement} until the end
+     */
+    public List<Statement> getRemaining() {
+        return statementList.subList(Math.min(iteratorNextIndex, statementList.size()), statementList.size());
+    }
+
     /**
      * Retrieve the next {@link Statement} in the iterator and moves the iterator forward
      *
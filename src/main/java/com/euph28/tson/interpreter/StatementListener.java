@@ -3,6 +3,7 @@ package com.euph28.tson.interpreter;
 import com.euph28.tson.antlr.TsonParser;
 import com.euph28.tson.antlr.TsonParserBaseListener;
 import com.euph28.tson.core.keyword.Keyword;
+import com.euph28.tson.core.keyword.KeywordRegistry;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -21,9 +22,9 @@ public class StatementListener extends TsonParserBaseListener {
     List<Statement> statementList = new ArrayList<>();
 
     /**
-     * List of supported {@link Keyword}
+     * Registry of supported {@link Keyword}
      */
-    List<Keyword> keywordList;
+    KeywordRegistry keywordRegistry;
 
     /**
      * The keyword of the currently parsed Statement
@@ -46,8 +47,8 @@ public class StatementListener extends TsonParserBaseListener {
     String currentValue;
 
     /* ----- CONSTRUCTOR ------------------------------ */
-    StatementListener(List<Keyword> keywordList) {
-        this.keywordList = keywordList;
+    StatementListener(KeywordRegistry keywordRegistry) {
+        this.keywordRegistry = keywordRegistry;
     }
 
     /* ----- METHODS ------------------------------ */
@@ -99,11 +100,7 @@ public class StatementListener extends TsonParserBaseListener {
 
     @Override
     public void enterKeyword(TsonParser.KeywordContext ctx) {
-        currentKeyword = keywordList
-                .stream()
-                .filter(k -> k.getCode().equals(ctx.getText()))
-                .findFirst()
-                .orElse(null);
+        currentKeyword = keywordRegistry.get(ctx.getText());
     }
 
     @Override
@@ -2,13 +2,15 @@ package com.euph28.tson.interpreter;
 
 import com.euph28.tson.core.keyword.Keyword;
 import com.euph28.tson.core.keyword.KeywordProvider;
+import com.euph28.tson.core.keyword.KeywordRegistry;
 import com.euph28.tson.core.provider.ContentProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * Main access point for the TSON Interpreter
@@ -29,15 +31,22 @@ public class TSONInterpreter {
     List<ContentProvider> contentProviderList = new ArrayList<>();
 
     /**
-     * List of keywords that should be used
+     * Registry of keywords that should be used. Rebuilt when a {@link KeywordProvider} is added
      */
-    List<Keyword> keywordList = new ArrayList<>();
+    KeywordRegistry keywordRegistry = KeywordRegistry.EMPTY;
 
     /**
      * Current (latest) interpretation
      */
     Interpretation currentInterpretation;
 
+    /**
+     * Map of source name to the last successful interpretation of that source. Interpretations are reused if the
+     * content of the source and the keyword codes have not changed. The cache can be shared between interpreters
+     * (see {@link #setInterpretationCache(Map)})
+     */
+    Map<String, Interpretation> interpretationCache = new HashMap<>();
+
     /* ----- CONSTRUCTOR ------------------------------ */
 
     public TSONInterpreter() {
@@ -47,20 +56,67 @@ public class TSONInterpreter {
     /* ----- METHODS: INTERPRETER ------------------------------ */
 
     /**
-     * Load a TSON file from filename into the interpreter
+     * Load a TSON file from filename into the interpreter. If the same content was interpreted before with the same
+     * keyword codes, the statements of the previous interpretation are reused (bound to the keywords of this
+     * interpreter) instead of parsing the content again
      *
      * @param sourceName File/source name of the content to be loaded
-     * @return Returns {@code true} if content was successfully read
+     * @return Interpretation of the content, with its iterator at the start
      */
     public Interpretation interpret(String sourceName) {
         // Retrieve content
         String content = getContentFromProvider(sourceName);
 
-        // Perform interpretation and return
-        currentInterpretation = new Interpretation(getKeywords(), content);
+        // Reuse statements if content is unchanged
+        Interpretation cachedInterpretation = interpretationCache.get(sourceName);
+        if (cachedInterpretation != null
+                && cachedInterpretation.content.equals(content)
+                && isSameKeywordCodes(cachedInterpretation.keywordRegistry)) {
+            logger.trace("Reusing cached interpretation for source: " + sourceName);
+            currentInterpretation = new Interpretation(cachedInterpretation, keywordRegistry);
+            return currentInterpretation;
+        }
+
+        // Perform interpretation, cache if successful and return
+        currentInterpretation = new Interpretation(keywordRegistry, content);
+        if (currentInterpretation.hasError()) {
+            interpretationCache.remove(sourceName);
+        } else {
+            interpretationCache.put(sourceName, currentInterpretation);
+        }
         return currentInterpretation;
     }
 
+    /**
+     * Remove all cached interpretations, forcing the next {@link #interpret(String)} to parse the content again
+     */
+    public void clearInterpretationCache() {
+        interpretationCache.clear();
+    }
+
+    /**
+     * Set the cache of interpretations, allowing interpreters with the same keyword codes (eg: the runners of a suite)
+     * to reuse each other's interpretations
+     *
+     * @param interpretationCache Map of source name to interpretation. The map should be thread-safe if the
+     *                            interpreters sharing it are used by different threads
+     */
+    public void setInterpretationCache(Map<String, Interpretation> interpretationCache) {
+        this.interpretationCache = interpretationCache;
+    }
+
+    /**
+     * Check if a keyword registry has the same keyword codes as this interpreter. Content is lexed and parsed based
+     * on the keyword codes only, so interpretations with the same codes can be reused
+     *
+     * @param otherKeywordRegistry Registry to be checked
+     * @return Returns {@code true} if the registry has the same keyword codes
+     */
+    boolean isSameKeywordCodes(KeywordRegistry otherKeywordRegistry) {
+        return otherKeywordRegistry == keywordRegistry
+                || otherKeywordRegistry.getKeywordCodeSet().equals(keywordRegistry.getKeywordCodeSet());
+    }
+
     /* ----- METHODS: ITERATOR ------------------------------ */
 
     /**
@@ -83,23 +139,28 @@ public class TSONInterpreter {
             // Add to list
             logger.trace("New keyword provider added");
             keywordProviderList.add(keywordProvider);
-            // Regenerate keyword list
-            keywordList.clear();
-            keywordProviderList.forEach(provider -> keywordList.addAll(provider.getKeywordList()));
-            logger.debug(String.format("Keyword list (re)generated. %d keywords were found", keywordList.size()));
+            // Regenerate keyword registry
+            keywordRegistry = KeywordRegistry.fromProviders(keywordProviderList);
+            logger.debug(String.format("Keyword list (re)generated. %d keywords were found", keywordRegistry.getKeywordList().size()));
         }
     }
 
     /**
      * Retrieve the list of {@link Keyword} provided by the {@link KeywordProvider}
      *
-     * @return List of {@link Keyword} provided
+     * @return Unmodifiable list of {@link Keyword} provided
      */
     public List<Keyword> getKeywords() {
-        return keywordProviderList
-                .stream()
-                .flatMap(provider -> provider.getKeywordList().stream())
-                .collect(Collectors.toList());
+        return keywordRegistry.getKeywordList();
+    }
+
+    /**
+     * Retrieve the registry of {@link Keyword} provided by the {@link KeywordProvider}
+     *
+     * @return Registry of {@link Keyword} provided
+     */
+    public KeywordRegistry getKeywordRegistry() {
+        return keywordRegistry;
     }
 
     /**
@@ -0,0 +1,59 @@
+package com.euph28.tson.reporter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Listener that passes the events of a {@link TSONReporter} to multiple listeners, in the order they were given. <br/>
+ * Listeners that release completed reports (eg: {@link com.euph28.tson.reporter.writer.JsonLinesReportWriter}) should
+ * be given last, so that the other listeners receive the reports before they are released
+ */
+public class CompositeReportListener implements ReportListener {
+
+    /* ----- VARIABLES ------------------------------ */
+    /**
+     * Listeners that events are passed to, in order
+     */
+    final List<ReportListener> reportListenerList = new ArrayList<>();
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+
+    /**
+     * Create a listener that passes events to a list of listeners
+     *
+     * @param reportListenerList Listeners to pass events to, in order. {@code null} listeners are ignored
+     */
+    public CompositeReportListener(List<? extends ReportListener> reportListenerList) {
+        for (ReportListener reportListener : reportListenerList) {
+            if (reportListener != null) {
+                this.reportListenerList.add(reportListener);
+            }
+        }
+    }
+
+    /**
+     * Create a listener that passes events to multiple listeners
+     *
+     * @param reportListeners Listeners to pass events to, in order. {@code null} listeners are ignored
+     */
+    public CompositeReportListener(ReportListener... reportListeners) {
+        this(Arrays.asList(reportListeners));
+    }
+
+    /* ----- OVERRIDE: REPORT LISTENER ------------------------------ */
+
+    @Override
+    public void onReportCreated(TSONReporter reporter) {
+        for (ReportListener reportListener : reportListenerList) {
+            reportListener.onReportCreated(reporter);
+        }
+    }
+
+    @Override
+    public void onReportCompleted(TSONReporter reporter) {
+        for (ReportListener reportListener : reportListenerList) {
+            reportListener.onReportCompleted(reporter);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.euph28.tson.reporter;
+
+/**
+ * Listener of the events of a {@link TSONReporter}. A listener set on a reporter receives the events of the reporter
+ * and the sub-reports created under it (see {@link TSONReporter#setReportListener(ReportListener)})
+ */
+public interface ReportListener {
+    /**
+     * Called after a sub-report is created
+     *
+     * @param reporter Reporter that was created
+     */
+    default void onReportCreated(TSONReporter reporter) {
+    }
+
+    /**
+     * Called after a reporter is completed. A completed reporter (and its sub-reports) will not be changed anymore,
+     * so it can be written out and released (see {@link TSONReporter#release()})
+     *
+     * @param reporter Reporter that was completed
+     */
+    default void onReportCompleted(TSONReporter reporter) {
+    }
+}
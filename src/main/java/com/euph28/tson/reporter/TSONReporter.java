@@ -1,13 +1,19 @@
 package com.euph28.tson.reporter;
 
+import com.euph28.tson.reporter.attachment.AttachmentStore;
 import com.euph28.tson.reporter.report.Report;
 import com.euph28.tson.reporter.report.ReportSource;
 import com.euph28.tson.reporter.report.ReportType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Main access point for reporting action results. This should be used for reporting the result of actions taken.
@@ -37,6 +43,35 @@ public class TSONReporter {
      */
     TSONReporter parent;
 
+    /**
+     * Report type with the highest severity within this reporter and its sub-reports. Updated whenever a sub-report
+     * is added or removed, or a report changes its type, so that it does not have to be derived on every query
+     */
+    ReportType derivedReportType;
+
+    /**
+     * Listener of the events of this reporter and its sub-reports. Sub-reports are created with the listener of
+     * their parent
+     */
+    ReportListener reportListener;
+
+    /**
+     * Store that large attachments of this reporter and its sub-reports are moved to. Sub-reports are created with
+     * the store of their parent
+     */
+    AttachmentStore attachmentStore;
+
+    /**
+     * Specifies if this reporter is completed, see {@link #complete()}
+     */
+    boolean isCompleted = false;
+
+    /**
+     * Derived report type of the sub-reports that were released, see {@link #release()}. {@code null} if this
+     * reporter is not released
+     */
+    ReportType releasedReportType;
+
     /* ----- CONSTRUCTOR ------------------------------ */
 
     /**
@@ -56,6 +91,8 @@ public class TSONReporter {
     public TSONReporter(TSONReporter parent, Report report) {
         this.report = report;
         this.parent = parent;
+        this.derivedReportType = report.getReportType();
+        report.setReportTypeListener(this::onReportTypeChanged);
     }
 
     /* ----- METHODS: REPORTING ------------------------------ */
@@ -68,10 +105,33 @@ public class TSONReporter {
      */
     public TSONReporter createSubReport(Report report) {
         TSONReporter reporter = new TSONReporter(this, report);
+        reporter.reportListener = reportListener;
+        reporter.setAttachmentStore(attachmentStore);
         subReportList.add(reporter);
+        raiseDerivedReportType(reporter.derivedReportType);
+
+        // Notify listener
+        if (reportListener != null) {
+            reportListener.onReportCreated(reporter);
+        }
         return reporter;
     }
 
+    /**
+     * Attach an existing reporter (and its sub-reports) as a sub-report entry. The reporter is removed from its
+     * previous parent if it has one
+     *
+     * @param reporter Reporter to be attached as a sub-report
+     */
+    public void attachSubReport(TSONReporter reporter) {
+        if (reporter.parent != null) {
+            reporter.parent.deleteSubReport(reporter);
+        }
+        reporter.parent = this;
+        subReportList.add(reporter);
+        raiseDerivedReportType(reporter.derivedReportType);
+    }
+
     /**
      * Get the current report for editing the report content
      *
@@ -81,6 +141,58 @@ public class TSONReporter {
         return report;
     }
 
+    /**
+     * Get the sub-reporters of this reporter
+     *
+     * @return Unmodifiable list of sub-reporters, in the order they were created
+     */
+    public List<TSONReporter> getSubReportList() {
+        return Collections.unmodifiableList(subReportList);
+    }
+
+    /**
+     * Mark this reporter as completed, generate its supplied attachments (moving them to the attachment store, if any)
+     * and notify the listener.
+     * This should be called once the reporter and its sub-reports will not be changed anymore. Does nothing if the
+     * reporter is already completed
+     */
+    public void complete() {
+        if (isCompleted) {
+            return;
+        }
+        isCompleted = true;
+
+        // Generate supplied attachments of this reporter and its sub-reports, as they will not change anymore. Completed
+        // sub-reports already generated their attachments
+        Deque<TSONReporter> reporterStack = new ArrayDeque<>();
+        reporterStack.push(this);
+        while (!reporterStack.isEmpty()) {
+            TSONReporter reporter = reporterStack.pop();
+            reporter.report.completeAttachments();
+            for (TSONReporter subReporter : reporter.subReportList) {
+                if (!subReporter.isCompleted) {
+                    reporterStack.push(subReporter);
+                }
+            }
+        }
+
+        // Notify listener
+        if (reportListener != null) {
+            reportListener.onReportCompleted(this);
+        }
+    }
+
+    /**
+     * Release the content of this reporter after it is written out, so that it no longer stays in memory. The
+     * sub-reports, attachments and details are removed, while the title, step and derived report type are kept as a
+     * summary
+     */
+    public void release() {
+        releasedReportType = derivedReportType;
+        subReportList.clear();
+        report.releaseContent();
+    }
+
     /**
      * Delete this report from parent
      */
@@ -93,6 +205,62 @@ public class TSONReporter {
         }
     }
 
+    /**
+     * Set the listener of the events of this reporter and the sub-reports created after it is set. Attached
+     * reporters (see {@link #attachSubReport(TSONReporter)}) keep their own listener
+     *
+     * @param reportListener Listener to be notified. Leave as {@code null} to not notify any listener
+     */
+    public void setReportListener(ReportListener reportListener) {
+        this.reportListener = reportListener;
+    }
+
+    /**
+     * Get the listener of the events of this reporter
+     *
+     * @return Listener of this reporter. Returns {@code null} if there is no listener
+     */
+    public ReportListener getReportListener() {
+        return reportListener;
+    }
+
+    /**
+     * Set the store that large attachments of this reporter and the sub-reports created after it is set are moved to
+     *
+     * @param attachmentStore Store of the attachments. Leave as {@code null} to keep all attachments in memory
+     */
+    public void setAttachmentStore(AttachmentStore attachmentStore) {
+        this.attachmentStore = attachmentStore;
+        report.setAttachmentStore(attachmentStore);
+    }
+
+    /**
+     * Get the parent of this reporter
+     *
+     * @return Parent reporter. Returns {@code null} if this is the root
+     */
+    public TSONReporter getParent() {
+        return parent;
+    }
+
+    /**
+     * Check if this reporter is completed, see {@link #complete()}
+     *
+     * @return Returns {@code true} if the reporter is completed
+     */
+    public boolean isCompleted() {
+        return isCompleted;
+    }
+
+    /**
+     * Check if the content of this reporter was released, see {@link #release()}
+     *
+     * @return Returns {@code true} if the reporter only holds its summary
+     */
+    public boolean isReleased() {
+        return releasedReportType != null;
+    }
+
     /* ----- METHODS: INTERNAL ------------------------------ */
 
     /**
@@ -101,7 +269,59 @@ public class TSONReporter {
      * @param subReporter Sub-report to be deleted
      */
     protected void deleteSubReport(TSONReporter subReporter) {
-        subReportList.remove(subReporter);
+        if (subReportList.remove(subReporter)) {
+            recalculateDerivedReportType();
+        }
+    }
+
+    /**
+     * Update the derived report type after the type of {@link #report} changed
+     */
+    void onReportTypeChanged() {
+        if (report.getReportType().getSeverity() > derivedReportType.getSeverity()) {
+            raiseDerivedReportType(report.getReportType());
+        } else {
+            recalculateDerivedReportType();
+        }
+    }
+
+    /**
+     * Raise the derived report type of this reporter and its parents to a more severe report type. Stops at the
+     * first reporter that is already at least as severe
+     *
+     * @param reportType Report type that was added within this reporter
+     */
+    void raiseDerivedReportType(ReportType reportType) {
+        TSONReporter reporter = this;
+        while (reporter != null && reportType.getSeverity() > reporter.derivedReportType.getSeverity()) {
+            reporter.derivedReportType = reportType;
+            reporter = reporter.parent;
+        }
+    }
+
+    /**
+     * Recalculate the derived report type of this reporter from its report and sub-reports, after a report type
+     * may have become less severe. Parents are recalculated until a derived report type is unchanged
+     */
+    void recalculateDerivedReportType() {
+        TSONReporter reporter = this;
+        while (reporter != null) {
+            ReportType result = reporter.report.getReportType();
+            if (reporter.releasedReportType != null && reporter.releasedReportType.getSeverity() > result.getSeverity()) {
+                result = reporter.releasedReportType;
+            }
+            for (TSONReporter subReporter : reporter.subReportList) {
+                result = subReporter.derivedReportType.getSeverity() > result.getSeverity()
+                        ? subReporter.derivedReportType
+                        : result;
+            }
+
+            if (result == reporter.derivedReportType) {
+                return;
+            }
+            reporter.derivedReportType = result;
+            reporter = reporter.parent;
+        }
     }
 
     /* ----- METHODS: OUTPUT ------------------------------ */
@@ -155,44 +375,58 @@ public class TSONReporter {
     }
 
     /**
-     * Retrieve a report generated by the provided format
+     * Retrieve a report generated by the provided format. The tree is traversed iteratively (depth-first, with each
+     * report generated after its sub-reports), so deep trees do not overflow the stack
      *
      * @param reportRetriever Report retriever that defines how the return result should be shaped
      * @param layer           The current layer of this report (layer starts at 0 with root report)
      * @param index           The current index of this report (index starts at 0 with first sub-report)
      * @param <T>             Return type used by report retriever
-     * @param stopGeneratorAt TSONReporter to stop at
+     * @param stopGeneratorAt TSONReporter to stop at. Sub-reports after it (and after each of its parents) are
+     *                        not generated. Leave as {@code null} to generate all sub-reports
      * @return Generated report
      */
     protected <T> T getGeneratedReport(ReportRetriever<T> reportRetriever, int layer, int index, TSONReporter stopGeneratorAt) {
-        List<T> subReportGeneratedReport = new ArrayList<>();
-
-        // Retrieve sub-reports
-        int subReportIndex = 0;
-        for (TSONReporter subReport : subReportList) {
-
-            // Retrieve report from sub-reports
-            if (reportRetriever.enableReport(subReport.getDerivedReportType(), subReport.report)) {
-                subReportGeneratedReport.add(subReport.getGeneratedReport(
-                        reportRetriever,
-                        layer + 1,
-                        subReportIndex++,
-                        stopGeneratorAt
-                ));
+        // Reporters where the generator should stop after, computed once for the whole traversal
+        Set<TSONReporter> stopChainSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        stopChainSet.addAll(getTreeChainOf(stopGeneratorAt));
+
+        Deque<GeneratorFrame<T>> frameStack = new ArrayDeque<>();
+        frameStack.push(new GeneratorFrame<>(this, layer, index));
+        T result = null;
+        while (!frameStack.isEmpty()) {
+            GeneratorFrame<T> frame = frameStack.peek();
+            List<TSONReporter> frameSubReportList = frame.reporter.subReportList;
+
+            // Move to the next sub-report
+            if (!frame.isStopped && frame.nextSubReport < frameSubReportList.size()) {
+                TSONReporter subReport = frameSubReportList.get(frame.nextSubReport++);
+
+                // Stop after this sub-report if it is in the chain of the stopper
+                frame.isStopped = stopChainSet.contains(subReport);
+
+                // Retrieve report from sub-reports
+                if (reportRetriever.enableReport(subReport.getDerivedReportType(), subReport.report)) {
+                    frameStack.push(new GeneratorFrame<>(subReport, frame.layer + 1, frame.nextIndex++));
+                }
+                continue;
             }
 
-            // Stop if sub-report is in list of stoppers
-            if (getTreeChainOf(stopGeneratorAt).contains(subReport)) {
-                break;
+            // All sub-reports are generated, generate this report and pass it to the parent
+            frameStack.pop();
+            T generatedReport = reportRetriever.getReport(
+                    frame.reporter,
+                    frame.subReportGeneratedReport,
+                    frame.layer,
+                    frame.index
+            );
+            if (frameStack.isEmpty()) {
+                result = generatedReport;
+            } else {
+                frameStack.peek().subReportGeneratedReport.add(generatedReport);
             }
         }
-
-        return reportRetriever.getReport(
-                this,
-                subReportGeneratedReport,
-                layer,
-                index
-        );
+        return result;
     }
 
     /**
@@ -218,14 +452,46 @@ public class TSONReporter {
      * @return Report type with the highest severity
      */
     public ReportType getDerivedReportType() {
-        ReportType result = report.getReportType();
+        return derivedReportType;
+    }
 
-        for (TSONReporter reporter : subReportList) {
-            result = reporter.getDerivedReportType().getSeverity() > result.getSeverity()
-                    ? reporter.getDerivedReportType()
-                    : result;
-        }
+    /* ----- INTERNAL CLASSES ------------------------------ */
 
-        return result;
+    /**
+     * Progress of generating the report of a single reporter, used by
+     * {@link #getGeneratedReport(ReportRetriever, int, int, TSONReporter)}
+     *
+     * @param <T> Return type used by report retriever
+     */
+    static class GeneratorFrame<T> {
+        final TSONReporter reporter;
+        final int layer;
+        final int index;
+
+        /**
+         * Generated reports of the sub-reports so far
+         */
+        final List<T> subReportGeneratedReport = new ArrayList<>();
+
+        /**
+         * Position of the next sub-report in {@link TSONReporter#subReportList}
+         */
+        int nextSubReport = 0;
+
+        /**
+         * Index to give the next generated sub-report
+         */
+        int nextIndex = 0;
+
+        /**
+         * Specifies if the remaining sub-reports should be skipped
+         */
+        boolean isStopped = false;
+
+        GeneratorFrame(TSONReporter reporter, int layer, int index) {
+            this.reporter = reporter;
+            this.layer = layer;
+            this.index = index;
+        }
     }
 }
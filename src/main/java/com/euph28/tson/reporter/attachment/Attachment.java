@@ -0,0 +1,25 @@
+package com.euph28.tson.reporter.attachment;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Handle to the content of a report attachment. The content is only loaded when it is retrieved, so renderers can
+ * skip or stream attachments without holding their content in memory
+ */
+public interface Attachment {
+    /**
+     * Retrieve the full content of the attachment
+     *
+     * @return Content of the attachment. Returns an empty String if the content could not be loaded
+     */
+    String getContent();
+
+    /**
+     * Open a reader of the content of the attachment, allowing large attachments to be streamed
+     *
+     * @return Reader of the content. The caller is responsible for closing it
+     * @throws IOException Failed to open the content
+     */
+    Reader openReader() throws IOException;
+}
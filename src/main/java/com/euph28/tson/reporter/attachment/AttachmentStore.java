@@ -0,0 +1,178 @@
+package com.euph28.tson.reporter.attachment;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Store that keeps small attachments in memory and moves large attachments to files in a directory. Stored files are
+ * named by the SHA-256 hash of their content, so identical content (eg: the same response returned by many SEND
+ * requests) is only written once and shared by all reports. <br/>
+ * This store is thread-safe and can be shared between runners
+ */
+public class AttachmentStore {
+    Logger logger = LoggerFactory.getLogger(AttachmentStore.class);
+
+    /* ----- CONSTANTS ------------------------------ */
+    /**
+     * Default maximum length (in characters) of attachments that are kept in memory
+     */
+    public final static int DEFAULT_INLINE_LIMIT = 4096;
+
+    /**
+     * File extension of compressed files
+     */
+    final static String COMPRESSED_EXTENSION = ".gz";
+
+    /* ----- VARIABLES ------------------------------ */
+    /**
+     * Directory that the files are stored in
+     */
+    final Path directory;
+
+    /**
+     * Maximum length (in characters) of attachments that are kept in memory
+     */
+    final int inlineLimit;
+
+    /**
+     * Specifies if stored files should be compressed with GZIP
+     */
+    final boolean isCompressed;
+
+    /**
+     * Map (Hash-Attachment) of content that was stored, so that identical content shares one handle
+     */
+    final Map<String, StoredAttachment> storedAttachmentMap = new ConcurrentHashMap<>();
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+
+    /**
+     * Create a store for attachments
+     *
+     * @param directory    Directory that the files are stored in. Created if it does not exist
+     * @param inlineLimit  Maximum length (in characters) of attachments that are kept in memory
+     * @param isCompressed Specifies if stored files should be compressed with GZIP
+     * @throws IOException Failed to create the directory
+     */
+    public AttachmentStore(Path directory, int inlineLimit, boolean isCompressed) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.inlineLimit = inlineLimit;
+        this.isCompressed = isCompressed;
+    }
+
+    /**
+     * Create a store for attachments, keeping attachments up to {@link #DEFAULT_INLINE_LIMIT} in memory
+     *
+     * @param directory Directory that the files are stored in. Created if it does not exist
+     * @throws IOException Failed to create the directory
+     */
+    public AttachmentStore(Path directory) throws IOException {
+        this(directory, DEFAULT_INLINE_LIMIT, false);
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Store the content of an attachment
+     *
+     * @param content Content of the attachment
+     * @return Handle to the content. Content longer than the inline limit is moved to a file, unless writing the
+     * file failed
+     */
+    public Attachment store(String content) {
+        if (content == null || content.length() <= inlineLimit) {
+            return new InlineAttachment(() -> content);
+        }
+
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        String hash = getHash(bytes);
+        StoredAttachment storedAttachment = storedAttachmentMap.get(hash);
+        if (storedAttachment != null) {
+            return storedAttachment;
+        }
+
+        // Write outside of the map, so that file I/O does not block other contents. Content that is stored by
+        // multiple threads at once is written to the same file, and the handle that was added first is shared
+        try {
+            storedAttachment = write(hash, bytes);
+        } catch (UncheckedIOException e) {
+            logger.error("Failed to store attachment, keeping it in memory instead", e.getCause());
+            return new InlineAttachment(() -> content);
+        }
+        StoredAttachment existingAttachment = storedAttachmentMap.putIfAbsent(hash, storedAttachment);
+        return existingAttachment != null ? existingAttachment : storedAttachment;
+    }
+
+    /**
+     * Write content to the file of its hash. The file is not rewritten if it already exists. Concurrent writes of the
+     * same content each write a temporary file, and replace the file atomically
+     *
+     * @param hash  Hash of the content
+     * @param bytes Content to be written
+     * @return Handle to the written file
+     * @throws UncheckedIOException Failed to write the file
+     */
+    StoredAttachment write(String hash, byte[] bytes) {
+        Path file = directory.resolve(isCompressed ? hash + COMPRESSED_EXTENSION : hash);
+        if (!Files.exists(file)) {
+            try {
+                // Write to a temporary file first, so that a partially written file is never used
+                Path temporaryFile = Files.createTempFile(directory, hash, ".tmp");
+                try {
+                    try (OutputStream outputStream = isCompressed
+                            ? new GZIPOutputStream(Files.newOutputStream(temporaryFile))
+                            : Files.newOutputStream(temporaryFile)) {
+                        outputStream.write(bytes);
+                    }
+                    Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(temporaryFile);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return new StoredAttachment(file, isCompressed);
+    }
+
+    /**
+     * Get the number of distinct contents that were moved to files
+     *
+     * @return Number of stored files
+     */
+    public int getStoredCount() {
+        return storedAttachmentMap.size();
+    }
+
+    /* ----- UTILITY ------------------------------ */
+
+    /**
+     * Get the SHA-256 hash of content
+     *
+     * @param bytes Content to be hashed
+     * @return Hash as a hexadecimal String
+     */
+    static String getHash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return String.format("%064x", new BigInteger(1, digest));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is required to be supported by every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.euph28.tson.reporter.attachment;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.function.Supplier;
+
+/**
+ * Attachment with content kept in memory. Content is supplied on retrieval so that expensive content is only
+ * generated if the attachment is used
+ */
+public class InlineAttachment implements Attachment {
+
+    /* ----- VARIABLES ------------------------------ */
+    /**
+     * Supplier of the content
+     */
+    final Supplier<String> contentSupplier;
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+
+    /**
+     * Create an attachment with content kept in memory
+     *
+     * @param contentSupplier Supplier of the content. The supplier should cache its result if generating the
+     *                        content is expensive
+     */
+    public InlineAttachment(Supplier<String> contentSupplier) {
+        this.contentSupplier = contentSupplier;
+    }
+
+    /* ----- OVERRIDE: ATTACHMENT ------------------------------ */
+
+    @Override
+    public String getContent() {
+        String content = contentSupplier.get();
+        return content != null ? content : "";
+    }
+
+    @Override
+    public Reader openReader() {
+        return new StringReader(getContent());
+    }
+}
@@ -0,0 +1,85 @@
+package com.euph28.tson.reporter.attachment;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Attachment with content stored in a file of an {@link AttachmentStore}. The content is read from the file every
+ * time it is retrieved
+ */
+public class StoredAttachment implements Attachment {
+    Logger logger = LoggerFactory.getLogger(StoredAttachment.class);
+
+    /* ----- VARIABLES ------------------------------ */
+    /**
+     * File containing the content (UTF-8)
+     */
+    final Path file;
+
+    /**
+     * Specifies if the file is compressed with GZIP
+     */
+    final boolean isCompressed;
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+
+    /**
+     * Create a handle to content stored in a file
+     *
+     * @param file         File containing the content (UTF-8)
+     * @param isCompressed Specifies if the file is compressed with GZIP
+     */
+    StoredAttachment(Path file, boolean isCompressed) {
+        this.file = file;
+        this.isCompressed = isCompressed;
+    }
+
+    /* ----- OVERRIDE: ATTACHMENT ------------------------------ */
+
+    @Override
+    public String getContent() {
+        StringBuilder result = new StringBuilder();
+        char[] buffer = new char[8192];
+        try (Reader reader = openReader()) {
+            int length;
+            while ((length = reader.read(buffer)) != -1) {
+                result.append(buffer, 0, length);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to read stored attachment: " + file, e);
+            return "";
+        }
+        return result.toString();
+    }
+
+    @Override
+    public Reader openReader() throws IOException {
+        InputStream inputStream = Files.newInputStream(file);
+        try {
+            return new InputStreamReader(isCompressed ? new GZIPInputStream(inputStream) : inputStream, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            inputStream.close();
+            throw e;
+        }
+    }
+
+    /* ----- GETTERS ------------------------------ */
+
+    /**
+     * Get the file containing the content
+     *
+     * @return File of the content, named by the hash of the content
+     */
+    public Path getFile() {
+        return file;
+    }
+}
@@ -1,8 +1,14 @@
 package com.euph28.tson.reporter.report;
 
+import com.euph28.tson.reporter.attachment.Attachment;
+import com.euph28.tson.reporter.attachment.AttachmentStore;
+import com.euph28.tson.reporter.attachment.InlineAttachment;
+
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * An individual report entry
@@ -36,9 +42,21 @@ public class Report {
     String reportStep;
 
     /**
-     * Map (Filename-Content) of attachments. Attachments are additional files that should be attached with the report
+     * Map (Filename-Content) of attachments. Attachments are additional files that should be attached with the report.
+     * Content is loaded on retrieval so that expensive (or stored) content is only loaded if the attachment is used
+     */
+    Map<String, Attachment> reportAttachments = new HashMap<>();
+
+    /**
+     * Names of the attachments with supplied content, which are generated by {@link #completeAttachments()}. Other
+     * attachments were already given to the {@link #attachmentStore} when added
+     */
+    Set<String> suppliedAttachmentNames = new HashSet<>();
+
+    /**
+     * Store that large attachments are moved to. Leave as {@code null} to keep all attachments in memory
      */
-    Map<String, String> reportAttachments = new HashMap<>();
+    AttachmentStore attachmentStore;
 
     /**
      * Severity/importance of the report
@@ -50,6 +68,11 @@ public class Report {
      */
     ReportSource source;
 
+    /**
+     * Listener that is called when {@link #reportType} changes
+     */
+    Runnable reportTypeListener;
+
     /* ----- CONSTRUCTOR ------------------------------ */
 
     /**
@@ -117,12 +140,46 @@ public class Report {
 
     public void setReportType(ReportType reportType) {
         this.reportType = reportType;
+        if (reportTypeListener != null) {
+            reportTypeListener.run();
+        }
+    }
+
+    /**
+     * Set the listener that is called when the report type changes. Used by
+     * {@link com.euph28.tson.reporter.TSONReporter} to keep its derived report type up to date. Only one listener is
+     * kept, setting a listener replaces the previous listener
+     *
+     * @param reportTypeListener Listener to be called after the report type changes
+     */
+    public void setReportTypeListener(Runnable reportTypeListener) {
+        this.reportTypeListener = reportTypeListener;
     }
 
     public ReportSource getSource() {
         return source;
     }
 
+    /**
+     * Set the store that large attachments are moved to. Used by {@link com.euph28.tson.reporter.TSONReporter} to
+     * pass the store of the reporter to the report
+     *
+     * @param attachmentStore Store of the attachments. Leave as {@code null} to keep all attachments in memory
+     */
+    public void setAttachmentStore(AttachmentStore attachmentStore) {
+        this.attachmentStore = attachmentStore;
+    }
+
+    /**
+     * Remove the details and attachments of the report, keeping the title, step and type. Used when the report is
+     * released after being written out
+     */
+    public void releaseContent() {
+        reportDetail = "";
+        reportAttachments.clear();
+        suppliedAttachmentNames.clear();
+    }
+
     /* ----- ATTACHMENTS ------------------------------ */
 
     /**
@@ -132,7 +189,42 @@ public class Report {
      * @param content        Content of attachment
      */
     public void addAttachment(String attachmentName, String content) {
-        reportAttachments.put(attachmentName, content);
+        reportAttachments.put(
+                attachmentName,
+                attachmentStore != null ? attachmentStore.store(content) : new InlineAttachment(() -> content)
+        );
+        suppliedAttachmentNames.remove(attachmentName);
+    }
+
+    /**
+     * Add an attachment to the report with content that is generated when the attachment is retrieved.
+     * The supplier should cache its result if generating the content is expensive. The content is generated and the
+     * supplier dropped when {@link #completeAttachments()} is called
+     *
+     * @param attachmentName  Name of attachment (file name)
+     * @param contentSupplier Supplier of the content of attachment
+     */
+    public void addAttachment(String attachmentName, Supplier<String> contentSupplier) {
+        reportAttachments.put(attachmentName, new InlineAttachment(contentSupplier));
+        suppliedAttachmentNames.add(attachmentName);
+    }
+
+    /**
+     * Generate the attachments with supplied content and move them to the attachment store, or keep them in memory if
+     * there is no store. The suppliers are dropped, so that the objects they refer to (eg: the response of a SEND
+     * request) are no longer kept by the report. This should be called once the report will not be changed anymore.
+     * Attachments that were added with their content are not stored again, as the store already decided to keep them
+     * in memory or in a file
+     */
+    public void completeAttachments() {
+        for (String attachmentName : suppliedAttachmentNames) {
+            String content = reportAttachments.get(attachmentName).getContent();
+            reportAttachments.put(
+                    attachmentName,
+                    attachmentStore != null ? attachmentStore.store(content) : new InlineAttachment(() -> content)
+            );
+        }
+        suppliedAttachmentNames.clear();
     }
 
     /**
@@ -142,7 +234,18 @@ public class Report {
      * @return Attachment content. Returns an empty String if there is no valid attachment
      */
     public String getAttachment(String attachmentName) {
-        return reportAttachments.getOrDefault(attachmentName, "");
+        Attachment attachment = reportAttachments.get(attachmentName);
+        return attachment != null ? attachment.getContent() : "";
+    }
+
+    /**
+     * Retrieve the handle of an attachment, allowing the content to be loaded (or streamed) only when it is used
+     *
+     * @param attachmentName Name of attachment to retrieve
+     * @return Handle of the attachment. Returns {@code null} if there is no such attachment
+     */
+    public Attachment getAttachmentHandle(String attachmentName) {
+        return reportAttachments.get(attachmentName);
     }
 
     /**
@@ -0,0 +1,376 @@
+package com.euph28.tson.reporter.writer;
+
+import com.euph28.tson.reporter.ReportListener;
+import com.euph28.tson.reporter.TSONReporter;
+import com.euph28.tson.reporter.report.Report;
+import com.euph28.tson.reporter.report.ReportType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Report writer that writes reports to an {@link OutputStream} as JUnit XML, for CI systems. The report is written
+ * while the tree is traversed (without building the output in memory), and the output is flushed after each test
+ * suite. <br/>
+ * Each file is written as a {@code testsuite}, and each statement directly under the file (eg: SEND) as a
+ * {@code testcase} with the timing of the request as {@code properties}. Failed assertions are written as
+ * {@code failure} and execution errors as {@code error}, listing the reports that failed. <br/>
+ * As a {@link ReportListener}, each file is written as soon as its report is completed. The test cases of statements
+ * that are completed before their file are kept as a summary, so that the file can still be written after the
+ * statements are released (eg: by a {@link JsonLinesReportWriter} that is notified after this writer). The
+ * {@code testsuites} document is ended when this writer is closed
+ */
+public class JUnitXmlReportWriter implements ReportListener, Closeable {
+    Logger logger = LoggerFactory.getLogger(JUnitXmlReportWriter.class);
+
+    /* ----- CONSTANTS ------------------------------ */
+    /**
+     * Timing attachment of when the request started, used for the duration of a test case
+     */
+    final static String TIME_START = "time_start";
+
+    /**
+     * Timing attachment of when the request ended, used for the duration of a test case
+     */
+    final static String TIME_END = "time_end";
+
+    /* ----- VARIABLES ------------------------------ */
+    /**
+     * Output stream that is written to
+     */
+    final OutputStream outputStream;
+
+    /**
+     * Writer of the XML to the output stream
+     */
+    final XMLStreamWriter xmlWriter;
+
+    /**
+     * Test cases of the statements that were completed, until the file of the statement is written
+     */
+    final Map<TSONReporter, TestCase> completedTestCaseMap = new IdentityHashMap<>();
+
+    /**
+     * Specifies if the start of the {@code testsuites} document was written
+     */
+    boolean isDocumentStarted = false;
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+
+    /**
+     * Create a writer that writes reports to an output stream
+     *
+     * @param outputStream Output stream to write to. The stream is closed when this writer is closed
+     * @throws IOException Failed to create the writer for the output stream
+     */
+    public JUnitXmlReportWriter(OutputStream outputStream) throws IOException {
+        this.outputStream = outputStream;
+        try {
+            xmlWriter = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, "UTF-8");
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to create XML writer", e);
+        }
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Write the report of a suite (see {@link com.euph28.tson.runner.TSONSuiteRunner}) or a single file as test
+     * suites. The {@code testsuites} document is ended when this writer is closed
+     *
+     * @param reporter Reporter of the suite or file to be written
+     * @throws IOException Failed to write to the output stream
+     */
+    public synchronized void write(TSONReporter reporter) throws IOException {
+        try {
+            if (ReportWriterUtility.isSuite(reporter)) {
+                for (TSONReporter fileReporter : reporter.getSubReportList()) {
+                    writeTestSuite(fileReporter);
+                }
+            } else {
+                writeTestSuite(reporter);
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to write JUnit XML", e);
+        }
+    }
+
+    /**
+     * Write the start of the {@code testsuites} document, if it was not written yet
+     *
+     * @throws XMLStreamException Failed to write to the output stream
+     */
+    void startDocument() throws XMLStreamException {
+        if (!isDocumentStarted) {
+            xmlWriter.writeStartDocument("UTF-8", "1.0");
+            xmlWriter.writeStartElement("testsuites");
+            isDocumentStarted = true;
+        }
+    }
+
+    /**
+     * Write the report of a file as a test suite. A file without statement reports (eg: file that failed to run) is
+     * written as a single test case
+     *
+     * @param fileReporter Reporter of the file
+     * @throws XMLStreamException Failed to write to the output stream
+     */
+    void writeTestSuite(TSONReporter fileReporter) throws XMLStreamException {
+        // Collect test cases (using the summary of completed statements) and count the results
+        List<TestCase> testCaseList = new ArrayList<>();
+        for (TSONReporter subReporter : fileReporter.getSubReportList()) {
+            if (ReportWriterUtility.isTestCase(subReporter)) {
+                TestCase testCase = completedTestCaseMap.remove(subReporter);
+                testCaseList.add(testCase != null ? testCase : createTestCase(subReporter));
+            }
+        }
+        if (testCaseList.isEmpty()) {
+            testCaseList.add(createTestCase(fileReporter));
+        }
+        int failureCount = 0;
+        int errorCount = 0;
+        long durationNanos = 0;
+        for (TestCase testCase : testCaseList) {
+            failureCount += ReportWriterUtility.isFailure(testCase.resultType) ? 1 : 0;
+            errorCount += ReportWriterUtility.isError(testCase.resultType) ? 1 : 0;
+            durationNanos += testCase.durationNanos;
+        }
+
+        // Write test suite
+        startDocument();
+        String fileName = getTitle(fileReporter);
+        xmlWriter.writeStartElement("testsuite");
+        xmlWriter.writeAttribute("name", fileName);
+        xmlWriter.writeAttribute("tests", String.valueOf(testCaseList.size()));
+        xmlWriter.writeAttribute("failures", String.valueOf(failureCount));
+        xmlWriter.writeAttribute("errors", String.valueOf(errorCount));
+        xmlWriter.writeAttribute("time", formatSeconds(durationNanos));
+        for (TestCase testCase : testCaseList) {
+            writeTestCase(testCase, fileName);
+        }
+        xmlWriter.writeEndElement();
+        xmlWriter.flush();
+    }
+
+    /**
+     * Write a test case
+     *
+     * @param testCase  Test case of a statement
+     * @param className Name of the file of the statement
+     * @throws XMLStreamException Failed to write to the output stream
+     */
+    void writeTestCase(TestCase testCase, String className) throws XMLStreamException {
+        xmlWriter.writeStartElement("testcase");
+        xmlWriter.writeAttribute("name", testCase.name);
+        xmlWriter.writeAttribute("classname", className);
+        xmlWriter.writeAttribute("time", formatSeconds(testCase.durationNanos));
+
+        // Timing of the request
+        if (!testCase.propertyMap.isEmpty()) {
+            xmlWriter.writeStartElement("properties");
+            for (Map.Entry<String, String> property : testCase.propertyMap.entrySet()) {
+                xmlWriter.writeEmptyElement("property");
+                xmlWriter.writeAttribute("name", property.getKey());
+                xmlWriter.writeAttribute("value", property.getValue());
+            }
+            xmlWriter.writeEndElement();
+        }
+
+        // Result, listing the reports that failed within the statement
+        if (ReportWriterUtility.isFailure(testCase.resultType) || ReportWriterUtility.isError(testCase.resultType)) {
+            xmlWriter.writeStartElement(ReportWriterUtility.isFailure(testCase.resultType) ? "failure" : "error");
+            xmlWriter.writeAttribute("type", testCase.resultType.name());
+            xmlWriter.writeAttribute("message", testCase.resultMessage);
+            xmlWriter.writeCharacters(testCase.resultDetail);
+            xmlWriter.writeEndElement();
+        }
+
+        xmlWriter.writeEndElement();
+    }
+
+    /**
+     * Create the test case of a statement, with the content that is written for it
+     *
+     * @param reporter Reporter of the statement
+     * @return Test case of the statement
+     */
+    TestCase createTestCase(TSONReporter reporter) {
+        Report report = reporter.getReport();
+        TestCase testCase = new TestCase();
+        testCase.name = getTitle(reporter);
+        testCase.durationNanos = getDurationNanos(report);
+        for (String attachmentName : report.getAttachmentNames()) {
+            if (ReportWriterUtility.isProperty(attachmentName)) {
+                testCase.propertyMap.put(attachmentName, report.getAttachment(attachmentName));
+            }
+        }
+
+        testCase.resultType = reporter.getDerivedReportType();
+        if (ReportWriterUtility.isFailure(testCase.resultType) || ReportWriterUtility.isError(testCase.resultType)) {
+            List<TSONReporter> failedReporterList = getFailedReporters(reporter);
+            testCase.resultMessage = failedReporterList.isEmpty()
+                    ? getTitle(reporter)
+                    : getTitle(failedReporterList.get(0));
+            StringBuilder resultDetail = new StringBuilder();
+            for (TSONReporter failedReporter : failedReporterList) {
+                Report failedReport = failedReporter.getReport();
+                resultDetail.append(String.format(
+                        "[%s] %s%n%s%n",
+                        failedReport.getReportType(),
+                        getTitle(failedReporter),
+                        failedReport.getReportDetail() != null ? failedReport.getReportDetail() : ""
+                ));
+            }
+            testCase.resultDetail = resultDetail.toString();
+        }
+        return testCase;
+    }
+
+    /* ----- UTILITY ------------------------------ */
+
+    /**
+     * Get the reporters within a reporter (including itself) whose own report failed or errored
+     *
+     * @param reporter Reporter to search in
+     * @return Failed reporters, in the order they were created
+     */
+    List<TSONReporter> getFailedReporters(TSONReporter reporter) {
+        List<TSONReporter> result = new ArrayList<>();
+        Deque<TSONReporter> reporterStack = new ArrayDeque<>();
+        reporterStack.push(reporter);
+        while (!reporterStack.isEmpty()) {
+            TSONReporter currentReporter = reporterStack.pop();
+            ReportType reportType = currentReporter.getReport().getReportType();
+            if (ReportWriterUtility.isFailure(reportType) || ReportWriterUtility.isError(reportType)) {
+                result.add(currentReporter);
+            }
+
+            // Push in reverse so that sub-reports are visited in order
+            List<TSONReporter> subReportList = currentReporter.getSubReportList();
+            for (int i = subReportList.size() - 1; i >= 0; i--) {
+                reporterStack.push(subReportList.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the duration of a request from its timing attachments
+     *
+     * @param report Report of the request
+     * @return Duration in nanoseconds. Returns 0 if the report does not have valid timing
+     */
+    long getDurationNanos(Report report) {
+        try {
+            return Math.max(0, Long.parseLong(report.getAttachment(TIME_END)) - Long.parseLong(report.getAttachment(TIME_START)));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Format a duration as seconds, as used by the {@code time} attribute
+     *
+     * @param durationNanos Duration in nanoseconds
+     * @return Duration in seconds with 3 decimal places
+     */
+    String formatSeconds(long durationNanos) {
+        return String.format(Locale.ROOT, "%.3f", durationNanos / 1_000_000_000.0);
+    }
+
+    /**
+     * Get the title of a reporter, which is never {@code null}
+     *
+     * @param reporter Reporter to get the title of
+     * @return Title of the report. Returns an empty String if the report does not have a title
+     */
+    String getTitle(TSONReporter reporter) {
+        String title = reporter.getReport().getReportTitle();
+        return title != null ? title : "";
+    }
+
+    /* ----- OVERRIDE: REPORT LISTENER ------------------------------ */
+
+    @Override
+    public synchronized void onReportCompleted(TSONReporter reporter) {
+        try {
+            if (ReportWriterUtility.isFile(reporter)) {
+                writeTestSuite(reporter);
+            } else if (ReportWriterUtility.isTestCase(reporter)
+                    && reporter.getParent() != null
+                    && ReportWriterUtility.isFile(reporter.getParent())) {
+                // Keep the summary, as the statement may be released before its file is completed
+                completedTestCaseMap.put(reporter, createTestCase(reporter));
+            }
+        } catch (XMLStreamException e) {
+            logger.error("Failed to write report: " + reporter.getReport().getReportTitle(), e);
+        }
+    }
+
+    /* ----- OVERRIDE: CLOSEABLE ------------------------------ */
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            startDocument();
+            xmlWriter.writeEndElement();
+            xmlWriter.writeEndDocument();
+            xmlWriter.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to close XML writer", e);
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    /* ----- INTERNAL CLASSES ------------------------------ */
+
+    /**
+     * Content of a test case, kept after the report of its statement is released
+     */
+    static class TestCase {
+        /**
+         * Name of the test case, the title of the statement
+         */
+        String name;
+
+        /**
+         * Duration of the request of the statement, in nanoseconds
+         */
+        long durationNanos;
+
+        /**
+         * Timing of the request of the statement
+         */
+        final Map<String, String> propertyMap = new LinkedHashMap<>();
+
+        /**
+         * Derived report type of the statement
+         */
+        ReportType resultType;
+
+        /**
+         * Title of the first report that failed. {@code null} if the statement did not fail
+         */
+        String resultMessage;
+
+        /**
+         * Reports that failed within the statement. {@code null} if the statement did not fail
+         */
+        String resultDetail;
+    }
+}
@@ -0,0 +1,102 @@
+package com.euph28.tson.reporter.writer;
+
+import com.euph28.tson.reporter.ReportListener;
+import com.euph28.tson.reporter.TSONReporter;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Report writer that streams completed reports to an {@link OutputStream} as JSON Lines. Each completed reporter is
+ * written as one line (with its sub-reports nested, in the format of {@link JsonReportWriter}) and then released, so
+ * that long runs only keep the summary of the finished reports in memory. <br/>
+ * Sub-reports that were already written (released) are not repeated in the line of their parent. Each line contains
+ * the {@code file} that the reporter belongs to ({@code null} for the report of a suite) and the {@code path} (titles
+ * from the root) of the reporter. As the reports of a file are written before the file is merged into its suite,
+ * lines should be grouped back into a tree by {@code file} rather than by {@code path}
+ */
+public class JsonLinesReportWriter extends JsonReportWriter implements ReportListener {
+    Logger logger = LoggerFactory.getLogger(JsonLinesReportWriter.class);
+
+    /* ----- VARIABLES ------------------------------ */
+    /**
+     * Specifies if reporters should be released after they are written
+     */
+    boolean isReleaseOnWrite = true;
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+
+    /**
+     * Create a writer that streams completed reports to an output stream
+     *
+     * @param outputStream Output stream to write to. The stream is closed when this writer is closed
+     * @throws IOException Failed to create the writer for the output stream
+     */
+    public JsonLinesReportWriter(OutputStream outputStream) throws IOException {
+        super(outputStream);
+        jsonGenerator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+    }
+
+    /* ----- OVERRIDE: REPORT LISTENER ------------------------------ */
+
+    @Override
+    public synchronized void onReportCompleted(TSONReporter reporter) {
+        try {
+            writeLine(reporter);
+            jsonGenerator.flush();
+        } catch (IOException e) {
+            logger.error("Failed to write report: " + reporter.getReport().getReportTitle(), e);
+            return;
+        }
+
+        if (isReleaseOnWrite) {
+            reporter.release();
+        }
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Write a reporter and its sub-reports as one line
+     *
+     * @param reporter Reporter to be written
+     * @throws IOException Failed to write to the output stream
+     */
+    void writeLine(TSONReporter reporter) throws IOException {
+        // Path of the reporter from the root
+        List<String> pathList = new ArrayList<>();
+        for (TSONReporter parent = reporter.getParent(); parent != null; parent = parent.getParent()) {
+            pathList.add(parent.getReport().getReportTitle());
+        }
+        Collections.reverse(pathList);
+
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeStringField("file", ReportWriterUtility.getFileName(reporter));
+        jsonGenerator.writeArrayFieldStart("path");
+        for (String path : pathList) {
+            jsonGenerator.writeString(path);
+        }
+        jsonGenerator.writeEndArray();
+
+        // Write the report, skipping sub-reports that were already written
+        writeReport(reporter, true);
+    }
+
+    /* ----- SETTERS ------------------------------ */
+
+    /**
+     * Set if reporters should be released after they are written. Disable to keep the full reports in memory while
+     * still streaming them
+     *
+     * @param isReleaseOnWrite Specifies if reporters should be released after they are written
+     */
+    public void setReleaseOnWrite(boolean isReleaseOnWrite) {
+        this.isReleaseOnWrite = isReleaseOnWrite;
+    }
+}
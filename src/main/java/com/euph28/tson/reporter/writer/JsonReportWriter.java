@@ -0,0 +1,179 @@
+package com.euph28.tson.reporter.writer;
+
+import com.euph28.tson.reporter.ReportListener;
+import com.euph28.tson.reporter.TSONReporter;
+import com.euph28.tson.reporter.report.Report;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * Report writer that writes a reporter and its sub-reports to an {@link OutputStream} as one structured JSON
+ * object. The report is written while the tree is traversed (without building the output in memory), and the output
+ * is flushed after each sub-report of the written reporter (eg: each file of a suite). <br/>
+ * Each report is written with its {@code title}, {@code type}, {@code derivedType}, {@code step}, {@code detail},
+ * {@code properties} (timing attachments of SEND requests, see {@link ReportWriterUtility#isProperty(String)}),
+ * {@code attachments} and {@code subReports}. <br/>
+ * As a {@link ReportListener}, the report of each file is written as soon as it is completed, as an element of a JSON
+ * array that is ended when this writer is closed. The statements of a file must not be released before the file is
+ * completed (eg: by a {@link JsonLinesReportWriter}), as their content would be missing
+ */
+public class JsonReportWriter implements ReportListener, Closeable {
+    Logger logger = LoggerFactory.getLogger(JsonReportWriter.class);
+
+    /* ----- VARIABLES ------------------------------ */
+    /**
+     * Generator writing to the output stream
+     */
+    final JsonGenerator jsonGenerator;
+
+    /**
+     * Specifies if the start of the array of completed files was written
+     */
+    boolean isFileArrayStarted = false;
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+
+    /**
+     * Create a writer that writes reports to an output stream
+     *
+     * @param outputStream Output stream to write to. The stream is closed when this writer is closed
+     * @throws IOException Failed to create the writer for the output stream
+     */
+    public JsonReportWriter(OutputStream outputStream) throws IOException {
+        jsonGenerator = new JsonFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Write a reporter and all its sub-reports as one JSON object
+     *
+     * @param reporter Reporter to be written
+     * @throws IOException Failed to write to the output stream
+     */
+    public void write(TSONReporter reporter) throws IOException {
+        jsonGenerator.writeStartObject();
+        writeReport(reporter, false);
+        jsonGenerator.flush();
+    }
+
+    /**
+     * Write the fields of a reporter and its sub-reports, followed by the end of the reporter object. The start of
+     * the object should already be written, allowing callers to add their own fields first
+     *
+     * @param reporter       Reporter to be written
+     * @param isSkipReleased Specifies if sub-reports that were released should be skipped
+     * @throws IOException Failed to write to the output stream
+     */
+    void writeReport(TSONReporter reporter, boolean isSkipReleased) throws IOException {
+        writeReportStart(reporter);
+
+        // Write sub-reports depth-first
+        Deque<Iterator<TSONReporter>> iteratorStack = new ArrayDeque<>();
+        iteratorStack.push(reporter.getSubReportList().iterator());
+        while (!iteratorStack.isEmpty()) {
+            Iterator<TSONReporter> iterator = iteratorStack.peek();
+            if (iterator.hasNext()) {
+                TSONReporter subReporter = iterator.next();
+                if (!isSkipReleased || !subReporter.isReleased()) {
+                    jsonGenerator.writeStartObject();
+                    writeReportStart(subReporter);
+                    iteratorStack.push(subReporter.getSubReportList().iterator());
+                }
+            } else {
+                iteratorStack.pop();
+                jsonGenerator.writeEndArray();
+                jsonGenerator.writeEndObject();
+
+                // Flush after each sub-report of the written reporter
+                if (iteratorStack.size() == 1) {
+                    jsonGenerator.flush();
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the fields of a reporter within its object, up to the start of its {@code subReports} array
+     *
+     * @param reporter Reporter to be written
+     * @throws IOException Failed to write to the output stream
+     */
+    void writeReportStart(TSONReporter reporter) throws IOException {
+        Report report = reporter.getReport();
+        jsonGenerator.writeStringField("title", report.getReportTitle());
+        jsonGenerator.writeStringField("type", report.getReportType().name());
+        jsonGenerator.writeStringField("derivedType", reporter.getDerivedReportType().name());
+        jsonGenerator.writeStringField("step", report.getReportStep());
+        jsonGenerator.writeStringField("detail", report.getReportDetail());
+
+        // Timing of SEND requests as numbers
+        jsonGenerator.writeObjectFieldStart("properties");
+        for (String attachmentName : report.getAttachmentNames()) {
+            if (ReportWriterUtility.isProperty(attachmentName)) {
+                String value = report.getAttachment(attachmentName);
+                try {
+                    jsonGenerator.writeNumberField(attachmentName, Long.parseLong(value));
+                } catch (NumberFormatException e) {
+                    jsonGenerator.writeStringField(attachmentName, value);
+                }
+            }
+        }
+        jsonGenerator.writeEndObject();
+
+        // Stream attachments, so that stored attachments are not loaded into memory as a whole
+        jsonGenerator.writeObjectFieldStart("attachments");
+        for (String attachmentName : report.getAttachmentNames()) {
+            if (!ReportWriterUtility.isProperty(attachmentName)) {
+                jsonGenerator.writeFieldName(attachmentName);
+                try (Reader reader = report.getAttachmentHandle(attachmentName).openReader()) {
+                    jsonGenerator.writeString(reader, -1);
+                }
+            }
+        }
+        jsonGenerator.writeEndObject();
+
+        jsonGenerator.writeArrayFieldStart("subReports");
+    }
+
+    /* ----- OVERRIDE: REPORT LISTENER ------------------------------ */
+
+    @Override
+    public synchronized void onReportCompleted(TSONReporter reporter) {
+        if (!ReportWriterUtility.isFile(reporter)) {
+            return;
+        }
+        try {
+            if (!isFileArrayStarted) {
+                jsonGenerator.writeStartArray();
+                isFileArrayStarted = true;
+            }
+            jsonGenerator.writeStartObject();
+            writeReport(reporter, false);
+            jsonGenerator.flush();
+        } catch (IOException e) {
+            logger.error("Failed to write report: " + reporter.getReport().getReportTitle(), e);
+        }
+    }
+
+    /* ----- OVERRIDE: CLOSEABLE ------------------------------ */
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (isFileArrayStarted) {
+            jsonGenerator.writeEndArray();
+        }
+        jsonGenerator.close();
+    }
+}
@@ -0,0 +1,112 @@
+package com.euph28.tson.reporter.writer;
+
+import com.euph28.tson.core.keyword.KeywordType;
+import com.euph28.tson.reporter.TSONReporter;
+import com.euph28.tson.reporter.report.ReportSource;
+import com.euph28.tson.reporter.report.ReportType;
+
+/**
+ * Shared logic of the report writers for reading the structure of reports
+ */
+final class ReportWriterUtility {
+
+    /* ----- CONSTANTS ------------------------------ */
+    /**
+     * Prefix of the attachments that hold the timing (in nanoseconds) of a SEND request
+     */
+    static final String TIMING_PREFIX = "time_";
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+    private ReportWriterUtility() {
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Check if an attachment is a property (eg: timing of a SEND request) instead of file content
+     *
+     * @param attachmentName Name of the attachment
+     * @return Returns {@code true} if the attachment should be written as a property
+     */
+    static boolean isProperty(String attachmentName) {
+        return attachmentName.startsWith(TIMING_PREFIX);
+    }
+
+    /**
+     * Check if a reporter is the report of a statement that should be shown as a test case. Reports without a
+     * statement (eg: root of a file or suite) and {@link KeywordType#NO_IMPACT} statements (eg: ID) are excluded
+     *
+     * @param reporter Reporter to be checked
+     * @return Returns {@code true} if the reporter is the report of a test case
+     */
+    static boolean isTestCase(TSONReporter reporter) {
+        return reporter.getReport().getSource().getKeyword() != null
+                && reporter.getReport().getSource().getKeyword().getKeywordType() != KeywordType.NO_IMPACT;
+    }
+
+    /**
+     * Check if a reporter is the root report of a file. The root report of a file has no keyword, and the file name
+     * as the value of its source (see {@link com.euph28.tson.runner.TSONRunner})
+     *
+     * @param reporter Reporter to be checked
+     * @return Returns {@code true} if the reporter is the root report of a file
+     */
+    static boolean isFile(TSONReporter reporter) {
+        ReportSource source = reporter.getReport().getSource();
+        return source.getKeyword() == null && source.getValue() != null && !source.getValue().isEmpty();
+    }
+
+    /**
+     * Get the name of the file that a reporter belongs to
+     *
+     * @param reporter Reporter within a file, or the root report of the file
+     * @return Name of the file. Returns {@code null} if the reporter is not within a file (eg: report of a suite)
+     */
+    static String getFileName(TSONReporter reporter) {
+        for (TSONReporter currentReporter = reporter; currentReporter != null; currentReporter = currentReporter.getParent()) {
+            if (isFile(currentReporter)) {
+                return currentReporter.getReport().getSource().getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check if a reporter is the report of a suite, which has the reports of files as sub-reports instead of
+     * the reports of statements
+     *
+     * @param reporter Reporter to be checked
+     * @return Returns {@code true} if the reporter has sub-reports, and none of them are reports of statements
+     */
+    static boolean isSuite(TSONReporter reporter) {
+        if (reporter.getSubReportList().isEmpty()) {
+            return false;
+        }
+        for (TSONReporter subReporter : reporter.getSubReportList()) {
+            if (subReporter.getReport().getSource().getKeyword() != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check if a report type marks a failed assertion
+     *
+     * @param reportType Report type to be checked
+     * @return Returns {@code true} if the report type is {@link ReportType#FAIL}
+     */
+    static boolean isFailure(ReportType reportType) {
+        return reportType == ReportType.FAIL;
+    }
+
+    /**
+     * Check if a report type marks an error when executing (instead of a failed assertion)
+     *
+     * @param reportType Report type to be checked
+     * @return Returns {@code true} if the report type is {@link ReportType#ERROR} or {@link ReportType#CRITICAL}
+     */
+    static boolean isError(ReportType reportType) {
+        return reportType == ReportType.ERROR || reportType == ReportType.CRITICAL;
+    }
+}
@@ -7,18 +7,24 @@ import com.euph28.tson.context.restdata.ResponseData;
 import com.euph28.tson.core.keyword.Keyword;
 import com.euph28.tson.core.keyword.KeywordProvider;
 import com.euph28.tson.core.provider.ContentProvider;
+import com.euph28.tson.interpreter.Statement;
 import com.euph28.tson.restclientinterface.keyword.KeywordSend;
+import com.euph28.tson.restclientinterface.keyword.KeywordSendUntil;
 import com.euph28.tson.restclientinterface.listener.TSONRestClientListener;
+import com.euph28.tson.restclientinterface.metrics.SendMetricsRegistry;
+import com.euph28.tson.restclientinterface.transport.PooledHttpTransport;
+import com.euph28.tson.restclientinterface.transport.RestTransport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.*;
-import java.net.HttpURLConnection;
+import java.io.IOException;
 import java.net.MalformedURLException;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 /**
@@ -31,6 +37,32 @@ public class TSONRestClient implements KeywordProvider {
     public final static String PROPERTY_REQUEST_ROUTE = "restclient.route";
     public final static String PROPERTY_REQUEST_VERB = "restclient.verb";
     public final static String PROPERTY_REQUEST_BODY_PREFIX = "restclient.bodyprefix";
+    public final static String PROPERTY_CONNECT_TIMEOUT = "restclient.connecttimeout";
+    public final static String PROPERTY_READ_TIMEOUT = "restclient.readtimeout";
+    public final static String PROPERTY_MAX_CONNECTIONS = "restclient.maxconnections";
+    public final static String PROPERTY_POLL_TIMEOUT = "restclient.polltimeout";
+    public final static String PROPERTY_POLL_INTERVAL = "restclient.pollinterval";
+    public final static String PROPERTY_POLL_MAX_INTERVAL = "restclient.pollmaxinterval";
+
+    /**
+     * Default connect and read timeout in milliseconds
+     */
+    final static int DEFAULT_TIMEOUT = 60000;
+
+    /**
+     * Default time in milliseconds to keep resending a request until its condition is met
+     */
+    public final static int DEFAULT_POLL_TIMEOUT = 30000;
+
+    /**
+     * Default delay in milliseconds after the first attempt of resending a request. The delay doubles after each attempt
+     */
+    public final static int DEFAULT_POLL_INTERVAL = 100;
+
+    /**
+     * Default maximum delay in milliseconds between attempts of resending a request
+     */
+    public final static int DEFAULT_POLL_MAX_INTERVAL = 5000;
 
     /* ----- VARIABLES ------------------------------ */
     final Logger logger = LoggerFactory.getLogger(TSONRestClient.class);
@@ -45,6 +77,16 @@ public class TSONRestClient implements KeywordProvider {
      */
     TSONContext tsonContext;
 
+    /**
+     * Transport used for sending requests. Created on first use if not provided
+     */
+    RestTransport transport;
+
+    /**
+     * Registry that records the latency of sent requests
+     */
+    SendMetricsRegistry metricsRegistry = new SendMetricsRegistry();
+
     /* ----- VARIABLES: REST REQUEST ------------------------------ */
     /**
      * Request variable: Content body to send in request
@@ -62,12 +104,23 @@ public class TSONRestClient implements KeywordProvider {
      */
     ResponseData responseData = new ResponseData();
 
+    /**
+     * Requests that were started ahead of their statement, see {@link #startPipelinedSend(Statement, String, Executor)}
+     */
+    Map<Statement, PendingSend> pipelinedSendMap = new HashMap<>();
+
     /* ----- VARIABLES: LISTENERS ------------------------------ */
     /**
      * List of event listeners
      */
     List<TSONRestClientListener> listenerList = new ArrayList<>();
 
+    /* ----- VARIABLES: KEYWORDS ------------------------------ */
+    /**
+     * List of provided keywords, created on first request
+     */
+    List<Keyword> keywordList;
+
     /* ----- CONSTRUCTOR ------------------------------ */
 
     /**
@@ -90,14 +143,23 @@ public class TSONRestClient implements KeywordProvider {
         tsonContext.addVariableIfNotExists(VariableType.PROPERTY, PROPERTY_REQUEST_ROUTE, "/");
         tsonContext.addVariableIfNotExists(VariableType.PROPERTY, PROPERTY_REQUEST_VERB, "GET");
         tsonContext.addVariableIfNotExists(VariableType.PROPERTY, PROPERTY_REQUEST_BODY_PREFIX, "");
+        tsonContext.addVariableIfNotExists(VariableType.PROPERTY, PROPERTY_CONNECT_TIMEOUT, String.valueOf(DEFAULT_TIMEOUT));
+        tsonContext.addVariableIfNotExists(VariableType.PROPERTY, PROPERTY_READ_TIMEOUT, String.valueOf(DEFAULT_TIMEOUT));
+        tsonContext.addVariableIfNotExists(VariableType.PROPERTY, PROPERTY_MAX_CONNECTIONS, String.valueOf(PooledHttpTransport.DEFAULT_MAX_CONNECTIONS_PER_HOST));
+        tsonContext.addVariableIfNotExists(VariableType.PROPERTY, PROPERTY_POLL_TIMEOUT, String.valueOf(DEFAULT_POLL_TIMEOUT));
+        tsonContext.addVariableIfNotExists(VariableType.PROPERTY, PROPERTY_POLL_INTERVAL, String.valueOf(DEFAULT_POLL_INTERVAL));
+        tsonContext.addVariableIfNotExists(VariableType.PROPERTY, PROPERTY_POLL_MAX_INTERVAL, String.valueOf(DEFAULT_POLL_MAX_INTERVAL));
     }
 
     /* ----- OVERRIDE: KeywordProvider ------------------------------ */
     @Override
     public List<Keyword> getKeywordList() {
         // TODO: Load all classes in package
-        List<Keyword> keywordList = new ArrayList<>();
-        keywordList.add(new KeywordSend(this));
+        if (keywordList == null) {
+            keywordList = new ArrayList<>();
+            keywordList.add(new KeywordSend(this));
+            keywordList.add(new KeywordSendUntil(this));
+        }
         return keywordList;
     }
 
@@ -107,91 +169,193 @@ public class TSONRestClient implements KeywordProvider {
      * Send the REST request
      */
     public void send() {
+        completeSend(startSend(requestBody, Runnable::run));
+    }
+
+    /**
+     * Start sending a REST request ahead of its statement (see {@link Keyword#startPipelined}). The request uses the
+     * properties at the time this is called. The response is used by {@link #completePipelinedSend(Statement)} when
+     * the statement is handled
+     *
+     * @param statement   Statement of the request
+     * @param requestBody Body content to send in the request
+     * @param executor    Executor to send the request on
+     */
+    public void startPipelinedSend(Statement statement, String requestBody, Executor executor) {
+        pipelinedSendMap.put(statement, startSend(requestBody, executor));
+    }
+
+    /**
+     * Retrieve the response of a request that was started ahead of its statement
+     *
+     * @param statement Statement of the request
+     * @return Future of the response. Returns {@code null} if the request of the statement was not started ahead
+     */
+    public CompletableFuture<ResponseData> getPipelinedSend(Statement statement) {
+        PendingSend pendingSend = pipelinedSendMap.get(statement);
+        return pendingSend != null ? pendingSend.responseFuture : null;
+    }
+
+    /**
+     * Complete a request that was started ahead of its statement, waiting for the response if it has not been
+     * received. The request and response become the last sent request and received response
+     *
+     * @param statement Statement of the request
+     * @return Returns {@code true} if the request was completed, {@code false} if it was not started ahead
+     */
+    public boolean completePipelinedSend(Statement statement) {
+        PendingSend pendingSend = pipelinedSendMap.remove(statement);
+        if (pendingSend == null) {
+            return false;
+        }
+        completeSend(pendingSend);
+        return true;
+    }
+
+    /**
+     * Retrieve the number of requests that were started ahead of their statement and not yet completed
+     *
+     * @return Number of requests started ahead
+     */
+    public int getPipelinedSendCount() {
+        return pipelinedSendMap.size();
+    }
+
+    /**
+     * Discard all requests that were started ahead of their statement. Requests that are still being sent are not
+     * interrupted, but their response is ignored
+     */
+    public void clearPipelinedSend() {
+        pipelinedSendMap.clear();
+    }
+
+    /**
+     * Start sending a REST request using the current properties
+     *
+     * @param requestBody Body content to send in the request
+     * @param executor    Executor to send the request on
+     * @return Request that is being sent
+     */
+    PendingSend startSend(String requestBody, Executor executor) {
         // Retrieve values from property
         String requestUrl = tsonContext.getContent(VariableType.PROPERTY.getPrefix() + "." + PROPERTY_REQUEST_URL, false);
         String requestPort = tsonContext.getContent(VariableType.PROPERTY.getPrefix() + "." + PROPERTY_REQUEST_PORT, false);
         String requestRoute = tsonContext.getContent(VariableType.PROPERTY.getPrefix() + "." + PROPERTY_REQUEST_ROUTE, false);
         String requestVerb = tsonContext.getContent(VariableType.PROPERTY.getPrefix() + "." + PROPERTY_REQUEST_VERB, false);
+        int connectTimeout = getIntegerProperty(PROPERTY_CONNECT_TIMEOUT, DEFAULT_TIMEOUT);
+        int readTimeout = getIntegerProperty(PROPERTY_READ_TIMEOUT, DEFAULT_TIMEOUT);
+        RestTransport requestTransport = getTransport();
 
         // Connection
-        HttpURLConnection connection;
         String urlString = "http://"
                 + requestUrl
                 + ":"
                 + requestPort
                 + (requestRoute.startsWith("/") ? "" : "/")
                 + requestRoute;
+        RequestData pendingRequestData = new RequestData(urlString, requestBody);
+
+        // Send request through transport, completing with null in case of error
+        CompletableFuture<ResponseData> responseFuture = CompletableFuture.supplyAsync(() -> {
+            try {
+                return requestTransport.send(requestVerb, pendingRequestData, connectTimeout, readTimeout);
+            } catch (MalformedURLException e) {
+                logger.error("Failed to send request. URL is invalid: " + urlString, e);
+            } catch (IOException e) {
+                logger.error("Failed to send request.", e);
+            }
+            return null;
+        }, executor);
+
+        return new PendingSend(
+                pendingRequestData,
+                requestVerb,
+                requestRoute.startsWith("/") ? requestRoute : "/" + requestRoute,
+                responseFuture
+        );
+    }
 
+    /**
+     * Wait for a request to be sent and store it as the last sent request and received response
+     *
+     * @param pendingSend Request that is being sent
+     */
+    void completeSend(PendingSend pendingSend) {
         // Default request/response (in case of error)
-        requestData = new RequestData(urlString, requestBody);
+        requestData = pendingSend.requestData;
         responseData = new ResponseData();
 
-        // Track request times
-        long timeStart, timeConnected, timeResponse, timeEnd;
+        // Wait for response
+        ResponseData receivedResponseData = pendingSend.responseFuture.join();
+        if (receivedResponseData != null) {
+            responseData = receivedResponseData;
+            metricsRegistry.recordRoute(pendingSend.requestVerb, pendingSend.requestRoute, responseData);
+        }
+    }
 
-        // Setup request
+    /**
+     * Retrieve a property as an integer
+     *
+     * @param key          Key of the property
+     * @param defaultValue Value to use if the property is missing or not an integer
+     * @return Integer value of the property
+     */
+    public int getIntegerProperty(String key, int defaultValue) {
+        String value = tsonContext.getContent(VariableType.PROPERTY.getPrefix() + "." + key, false);
         try {
-            // Create connection objects
-            URL url = new URL(urlString);
-            connection = (HttpURLConnection) url.openConnection();
-
-            // Customize connection
-            connection.setRequestMethod(requestVerb);
-            connection.addRequestProperty("Content-Type", "application/json");
-            connection.setConnectTimeout(60000);
-            connection.setReadTimeout(60000);
-            connection.setDoOutput(true);
-
-            // Open connection
-            timeStart = System.nanoTime();
-            connection.connect();
-            timeConnected = System.nanoTime();
-
-            // Connection body
-            OutputStream outputStream = connection.getOutputStream();
-            OutputStreamWriter outputStreamWriter = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-            outputStreamWriter.write(requestBody);
-            outputStreamWriter.flush();
-            outputStreamWriter.close();
-            outputStream.close();
-
-        } catch (MalformedURLException e) {
-            logger.error("Failed to send request. URL is invalid: " + urlString, e);
-            return;
-        } catch (IOException e) {
-            logger.error("Failed to send request.", e);
-            return;
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn(String.format("Invalid value \"%s\" for property \"%s\". Defaulting to %d instead", value, key, defaultValue));
+            return defaultValue;
         }
+    }
 
-        // Read results
-        try {
-            // Read response body
-            BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-            timeResponse = System.nanoTime();
-            String inputLine;
-            StringBuilder inputBuffer = new StringBuilder();
-            while ((inputLine = in.readLine()) != null) {
-                inputBuffer.append(inputLine);
-            }
-            in.close();
-
-            timeEnd = System.nanoTime();
-
-            // Generate result objects
-            requestData = new RequestData(urlString, requestBody);
-            responseData = new ResponseData(
-                    connection.getResponseCode(),
-                    inputBuffer.toString(),
-                    timeStart,
-                    timeConnected,
-                    timeResponse,
-                    timeEnd
-            );
-
-        } catch (IOException e) {
-            logger.error("Failed to read response results", e);
+    /* ----- SETTERS & GETTERS: TRANSPORT ------------------------------ */
+
+    /**
+     * Retrieve the transport used for sending requests. A {@link PooledHttpTransport} is created on first use
+     * if no transport was set, using the {@link #PROPERTY_MAX_CONNECTIONS} property as its limit
+     *
+     * @return Transport used for sending requests
+     */
+    public RestTransport getTransport() {
+        if (transport == null) {
+            transport = new PooledHttpTransport(getIntegerProperty(PROPERTY_MAX_CONNECTIONS, PooledHttpTransport.DEFAULT_MAX_CONNECTIONS_PER_HOST));
         }
+        return transport;
     }
+
+    /**
+     * Set the transport used for sending requests. A transport can be shared between multiple rest clients to
+     * share their connections
+     *
+     * @param transport Transport to be used for sending requests
+     */
+    public void setTransport(RestTransport transport) {
+        this.transport = transport;
+    }
+
+    /* ----- SETTERS & GETTERS: METRICS ------------------------------ */
+
+    /**
+     * Retrieve the registry that records the latency of sent requests
+     *
+     * @return Registry of request latency
+     */
+    public SendMetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
+    /**
+     * Set the registry that records the latency of sent requests. A registry can be shared between multiple rest
+     * clients to aggregate their requests
+     *
+     * @param metricsRegistry Registry of request latency
+     */
+    public void setMetricsRegistry(SendMetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
     /* ----- SETTERS & GETTERS: LISTENERS ------------------------------ */
 
     /**
@@ -278,15 +442,24 @@ public class TSONRestClient implements KeywordProvider {
      * @param useContentProvider Specifies if the {@code requestBody} should be sent to the {@link ContentProvider} to be resolved
      */
     public void setRequestBody(String requestBody, boolean useContentProvider) {
-        String requestBodyPrefix = tsonContext.getContent(VariableType.PROPERTY.getPrefix() + "." + PROPERTY_REQUEST_BODY_PREFIX, false);
-
         if (useContentProvider) {
-            setRequestBody(contentProvider.getContent(requestBodyPrefix + requestBody));
+            setRequestBody(loadRequestBody(requestBody));
         } else {
             setRequestBody(requestBody);
         }
     }
 
+    /**
+     * Load body content from the {@link ContentProvider}, without setting it as the body content to send
+     *
+     * @param sourceName Source name to be resolved for body content
+     * @return Body content of the source
+     */
+    public String loadRequestBody(String sourceName) {
+        String requestBodyPrefix = tsonContext.getContent(VariableType.PROPERTY.getPrefix() + "." + PROPERTY_REQUEST_BODY_PREFIX, false);
+        return contentProvider.getContent(requestBodyPrefix + sourceName);
+    }
+
     /**
      * Transform the body content that will be sent in the request
      *
@@ -295,4 +468,27 @@ public class TSONRestClient implements KeywordProvider {
     public void transformRequestBody(Function<String, String> fn) {
         setRequestBody(fn.apply(requestBody));
     }
+
+    /* ----- INTERNAL CLASSES ------------------------------ */
+
+    /**
+     * Request that has been started and may still be waiting for its response
+     */
+    static class PendingSend {
+        final RequestData requestData;
+        final String requestVerb;
+        final String requestRoute;
+
+        /**
+         * Future of the response. Completes with {@code null} if the request failed to be sent
+         */
+        final CompletableFuture<ResponseData> responseFuture;
+
+        PendingSend(RequestData requestData, String requestVerb, String requestRoute, CompletableFuture<ResponseData> responseFuture) {
+            this.requestData = requestData;
+            this.requestVerb = requestVerb;
+            this.requestRoute = requestRoute;
+            this.responseFuture = responseFuture;
+        }
+    }
 }
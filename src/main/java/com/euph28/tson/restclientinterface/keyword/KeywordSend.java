@@ -1,6 +1,8 @@
 package com.euph28.tson.restclientinterface.keyword;
 
 import com.euph28.tson.context.TSONContext;
+import com.euph28.tson.context.VariableType;
+import com.euph28.tson.context.restdata.ResponseData;
 import com.euph28.tson.core.keyword.KeywordType;
 import com.euph28.tson.interpreter.Statement;
 import com.euph28.tson.reporter.TSONReporter;
@@ -8,6 +10,12 @@ import com.euph28.tson.reporter.report.Report;
 import com.euph28.tson.reporter.report.ReportType;
 import com.euph28.tson.restclientinterface.TSONRestClient;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+
 /**
  * Rest Client Keyword: Send request with specified body
  * <p>
@@ -15,6 +23,22 @@ import com.euph28.tson.restclientinterface.TSONRestClient;
  */
 public class KeywordSend extends KeywordBase {
 
+    /* ----- CONSTANTS ------------------------------ */
+    /**
+     * Start of a content tag, see {@link TSONContext#resolveContent(String)}
+     */
+    final static String CONTENT_TAG_START = "${";
+
+    /**
+     * End of a content tag, see {@link TSONContext#resolveContent(String)}
+     */
+    final static String CONTENT_TAG_END = "}";
+
+    /**
+     * Prefix of the content tags that can be resolved ahead of earlier statements
+     */
+    final static String PIPELINE_SAFE_PREFIX = VariableType.PROPERTY.getPrefix() + ".";
+
     /* ----- CONSTRUCTOR ------------------------------ */
     public KeywordSend(TSONRestClient tsonRestClient) {
         super(tsonRestClient);
@@ -43,22 +67,85 @@ public class KeywordSend extends KeywordBase {
 
     @Override
     public boolean handle(TSONContext tsonContext, TSONReporter tsonReporter, Statement statement) {
-        // Send request
-        tsonRestClient.setRequestBody(statement.getValue(), true);
-        tsonRestClient.transformRequestBody(tsonContext::resolveContent);
-        tsonRestClient.send();
+        // Send request, or use the request that was sent ahead if this statement was pipelined
+        if (!tsonRestClient.completePipelinedSend(statement)) {
+            tsonRestClient.setRequestBody(statement.getValue(), true);
+            tsonRestClient.transformRequestBody(tsonContext::resolveContent);
+            tsonRestClient.send();
+        }
 
         // Report
         Report report = tsonReporter.getReport();
         report.setReportType(ReportType.INFO);
         report.setReportFallbackTitle("Send " + statement.getValue());
+        tsonRestClient.getMetricsRegistry().recordStatement(report.getReportTitle(), tsonRestClient.getResponseData());
         report.setReportStep(String.format("Send %s to %s", statement.getValue(), tsonRestClient.getRequestData().getRequestUrl()));
         report.addAttachment("request.json", tsonRestClient.getRequestData().getRequestBody());
-        report.addAttachment("response.json", tsonRestClient.getResponseData().getResponseBody());
+        report.addAttachment("response.json", tsonRestClient.getResponseData()::getResponseBody);
         report.addAttachment("time_start", String.valueOf(tsonRestClient.getResponseData().getTimeStart()));
         report.addAttachment("time_connect", String.valueOf(tsonRestClient.getResponseData().getTimeConnect()));
         report.addAttachment("time_response", String.valueOf(tsonRestClient.getResponseData().getTimeResponse()));
         report.addAttachment("time_end", String.valueOf(tsonRestClient.getResponseData().getTimeEnd()));
         return true;
     }
+
+    @Override
+    public CompletionStage<Boolean> handleAsync(TSONContext tsonContext, TSONReporter tsonReporter, Statement statement, ScheduledExecutorService scheduler, Executor executor) {
+        // Wait for the response of a pipelined request without blocking
+        CompletableFuture<ResponseData> responseFuture = tsonRestClient.getPipelinedSend(statement);
+        if (responseFuture != null && !responseFuture.isDone()) {
+            return responseFuture.handle((responseData, throwable) -> handle(tsonContext, tsonReporter, statement));
+        }
+        return super.handleAsync(tsonContext, tsonReporter, statement, scheduler, executor);
+    }
+
+    @Override
+    public boolean startPipelined(TSONContext tsonContext, Statement statement, Executor executor) {
+        // Only send ahead if the body does not depend on earlier statements
+        String requestBody = tsonRestClient.loadRequestBody(statement.getValue());
+        if (!isPipelineSafe(requestBody, tagContent -> tsonContext.getContent(tagContent, true))) {
+            return false;
+        }
+
+        tsonRestClient.startPipelinedSend(statement, tsonContext.resolveContent(requestBody), executor);
+        return true;
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Check if a request body can be resolved before the statements in front of it are handled. Bodies may only
+     * refer to properties, as JSON values (eg: {@code ${json.body.id}}) and variables (eg: {@code ${var.id}}) may be
+     * changed by the response of earlier requests. Content tags without a prefix may resolve to either and are
+     * treated the same. <br/>
+     * As resolved values are resolved again (see {@link TSONContext#resolveContent(String)}), properties whose value
+     * contains a content tag are not safe either. Properties with nested content tags (eg: {@code ${prop.${prop.a}}})
+     * are treated as not safe, as their value is only known once resolved
+     *
+     * @param requestBody      Body content of the request, before content tags are resolved
+     * @param propertyResolver Resolver of the value of a property, given the content of its tag (eg: {@code prop.a})
+     * @return Returns {@code true} if all content tags in the body refer to properties whose value has no content tag
+     */
+    static boolean isPipelineSafe(String requestBody, Function<String, String> propertyResolver) {
+        int tagIndex = requestBody.indexOf(CONTENT_TAG_START);
+        while (tagIndex > -1) {
+            int contentIndex = tagIndex + CONTENT_TAG_START.length();
+            if (!requestBody.startsWith(PIPELINE_SAFE_PREFIX, contentIndex)) {
+                return false;
+            }
+
+            // Check the value of the property, unless the tag is nested or not closed
+            int tagEndIndex = requestBody.indexOf(CONTENT_TAG_END, contentIndex);
+            int nextTagIndex = requestBody.indexOf(CONTENT_TAG_START, contentIndex);
+            if (tagEndIndex < 0 || (nextTagIndex > -1 && nextTagIndex < tagEndIndex)) {
+                return false;
+            }
+            String value = propertyResolver.apply(requestBody.substring(contentIndex, tagEndIndex));
+            if (value != null && value.contains(CONTENT_TAG_START)) {
+                return false;
+            }
+            tagIndex = nextTagIndex;
+        }
+        return true;
+    }
 }
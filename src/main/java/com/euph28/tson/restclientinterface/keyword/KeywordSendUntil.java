@@ -0,0 +1,346 @@
+package com.euph28.tson.restclientinterface.keyword;
+
+import com.euph28.tson.context.TSONContext;
+import com.euph28.tson.context.restdata.ResponseData;
+import com.euph28.tson.core.keyword.Keyword;
+import com.euph28.tson.core.keyword.KeywordType;
+import com.euph28.tson.interpreter.Statement;
+import com.euph28.tson.reporter.TSONReporter;
+import com.euph28.tson.reporter.report.Report;
+import com.euph28.tson.reporter.report.ReportType;
+import com.euph28.tson.restclientinterface.TSONRestClient;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rest Client Keyword: Send request until a condition is met
+ * <p>
+ * Sends a request using the Rest Client with the provided body, and sends it again until the response passes an
+ * assertion expression or the timeout expires. The time between attempts grows exponentially with jitter
+ */
+public class KeywordSendUntil extends KeywordBase {
+
+    /* ----- CONSTANTS ------------------------------ */
+    /**
+     * Assertion used for the condition if the value does not specify one
+     */
+    final static String DEFAULT_CONDITION_CODE = "EQUAL";
+
+    /**
+     * Statement property to override {@link TSONRestClient#PROPERTY_POLL_TIMEOUT} for a single statement
+     */
+    final static String STATEMENT_PROPERTY_TIMEOUT = "timeout";
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+    public KeywordSendUntil(TSONRestClient tsonRestClient) {
+        super(tsonRestClient);
+    }
+
+    /* ----- OVERRIDE: KeywordBase ------------------------------ */
+    @Override
+    public String getCode() {
+        return "SEND_UNTIL";
+    }
+
+    @Override
+    public String getLspDescriptionShort() {
+        return "JSON request, repeated until condition is met";
+    }
+
+    @Override
+    public String getLspDescriptionLong() {
+        return "Path to JSON body to be sent, followed by an assertion that the response should pass.\n"
+                + "The request is sent again with increasing delay until the assertion passes or the timeout expires.\n"
+                + "Usage\t: <jsonBody> [assertionKeyword] <assertionExpression>\n"
+                + "Example\t: order.json EQUAL body.state=DONE\n"
+                + "Note\t: Assertion defaults to " + DEFAULT_CONDITION_CODE + ". Timeout can be set with [timeout=<milliseconds>]";
+    }
+
+    @Override
+    public KeywordType getKeywordType() {
+        return KeywordType.ACTION;
+    }
+
+    @Override
+    public List<String> getLspTags() {
+        List<String> tagList = super.getLspTags();
+        tagList.add("Retry");
+        tagList.add("Poll");
+        tagList.add("Wait");
+        return tagList;
+    }
+
+    @Override
+    public boolean handle(TSONContext tsonContext, TSONReporter tsonReporter, Statement statement) {
+        Poll poll = startPoll(tsonContext, tsonReporter, statement);
+        if (poll == null) {
+            return false;
+        }
+
+        // Send until condition is met, waiting between attempts
+        while (!poll.attempt()) {
+            long delay = poll.getNextDelayMillis();
+            if (delay < 0) {
+                return true;
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                tsonReporter.getReport().setReportType(ReportType.ERROR);
+                tsonReporter.getReport().setReportDetail("Waiting for condition interrupted. Exception: " + e.getMessage());
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public CompletionStage<Boolean> handleAsync(TSONContext tsonContext, TSONReporter tsonReporter, Statement statement, ScheduledExecutorService scheduler, Executor executor) {
+        Poll poll = startPoll(tsonContext, tsonReporter, statement);
+        if (poll == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        // Send until condition is met, scheduling the next attempt instead of waiting
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        attemptAsync(poll, scheduler, executor, result);
+        return result;
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Make an attempt, and schedule the next attempt if the condition was not met. The scheduler is only used for the
+     * delay, the attempt itself (a blocking request) is run on the executor
+     *
+     * @param poll      Poll of the statement
+     * @param scheduler Scheduler to wait for the delay before the next attempt with
+     * @param executor  Executor to make the next attempt on
+     * @param result    Future to complete once the condition is met or the timeout expires
+     */
+    void attemptAsync(Poll poll, ScheduledExecutorService scheduler, Executor executor, CompletableFuture<Boolean> result) {
+        try {
+            long delay = poll.attempt() ? -1 : poll.getNextDelayMillis();
+            if (delay < 0) {
+                result.complete(true);
+            } else {
+                scheduler.schedule(() -> {
+                    try {
+                        executor.execute(() -> attemptAsync(poll, scheduler, executor, result));
+                    } catch (RejectedExecutionException e) {
+                        result.completeExceptionally(e);
+                    }
+                }, delay, TimeUnit.MILLISECONDS);
+            }
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Parse the statement and prepare the poll
+     *
+     * @param tsonContext  Context class that stores the variables related to the current running state
+     * @param tsonReporter Reporter of the statement
+     * @param statement    Statement to be handled
+     * @return Poll of the statement. Returns {@code null} (and reports an error) if the statement is invalid
+     */
+    Poll startPoll(TSONContext tsonContext, TSONReporter tsonReporter, Statement statement) {
+        // Report
+        Report report = tsonReporter.getReport();
+        report.setReportType(ReportType.INFO);
+        report.setReportFallbackTitle("Send " + statement.getValue() + " until condition is met");
+
+        // Split into body and condition, eg: "order.json EQUAL body.state=DONE"
+        String value = statement.getValue().trim();
+        int bodyEnd = value.indexOf(' ');
+        String condition = bodyEnd > -1 ? value.substring(bodyEnd + 1).trim() : "";
+        if (condition.isEmpty()) {
+            report.setReportType(ReportType.ERROR);
+            report.setReportDetail("No condition provided for request: " + statement.getValue());
+            return null;
+        }
+        String body = value.substring(0, bodyEnd);
+
+        // Select assertion of the condition, defaulting if the condition does not start with an assertion keyword
+        int conditionCodeEnd = condition.indexOf(' ');
+        Keyword conditionKeyword = tsonContext.getTsonInterpreter().getKeywordRegistry().get(
+                conditionCodeEnd > -1 ? condition.substring(0, conditionCodeEnd) : condition
+        );
+        if (conditionKeyword != null && conditionKeyword.getKeywordType() == KeywordType.ASSERTION) {
+            condition = conditionCodeEnd > -1 ? condition.substring(conditionCodeEnd + 1).trim() : "";
+        } else {
+            conditionKeyword = tsonContext.getTsonInterpreter().getKeywordRegistry().get(DEFAULT_CONDITION_CODE);
+        }
+        if (conditionKeyword == null || condition.isEmpty()) {
+            report.setReportType(ReportType.ERROR);
+            report.setReportDetail("Invalid condition provided for request: " + statement.getValue());
+            return null;
+        }
+
+        // Timing
+        long timeoutMillis;
+        try {
+            timeoutMillis = Long.parseLong(statement.getProperty(
+                    STATEMENT_PROPERTY_TIMEOUT,
+                    String.valueOf(tsonRestClient.getIntegerProperty(TSONRestClient.PROPERTY_POLL_TIMEOUT, TSONRestClient.DEFAULT_POLL_TIMEOUT))
+            ).trim());
+        } catch (NumberFormatException e) {
+            report.setReportType(ReportType.ERROR);
+            report.setReportDetail("Failed to convert timeout to duration: " + statement.getProperty(STATEMENT_PROPERTY_TIMEOUT, ""));
+            return null;
+        }
+
+        // Prepare request
+        tsonRestClient.setRequestBody(body, true);
+        tsonRestClient.transformRequestBody(tsonContext::resolveContent);
+        report.setReportStep(String.format("Send %s until \"%s\" passes", body, condition));
+
+        return new Poll(
+                tsonContext,
+                tsonReporter,
+                body,
+                conditionKeyword,
+                new Statement(conditionKeyword, null, condition),
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis),
+                tsonRestClient.getIntegerProperty(TSONRestClient.PROPERTY_POLL_INTERVAL, TSONRestClient.DEFAULT_POLL_INTERVAL),
+                tsonRestClient.getIntegerProperty(TSONRestClient.PROPERTY_POLL_MAX_INTERVAL, TSONRestClient.DEFAULT_POLL_MAX_INTERVAL)
+        );
+    }
+
+    /**
+     * Calculate the delay before the next attempt, using exponential backoff with jitter. The delay is a random
+     * value between half and all of {@code interval * 2^attempt}, capped at {@code maxInterval}
+     *
+     * @param attempt     Number of attempts made so far, starting at 1
+     * @param interval    Delay in milliseconds after the first attempt, before jitter
+     * @param maxInterval Maximum delay in milliseconds, before jitter
+     * @param random      Source of the jitter
+     * @return Delay in milliseconds before the next attempt
+     */
+    static long getBackoffMillis(int attempt, long interval, long maxInterval, Random random) {
+        long backoff = Math.max(0, Math.min(maxInterval, interval << Math.min(attempt - 1, 30)));
+        long halfBackoff = backoff / 2;
+        return backoff - halfBackoff + (halfBackoff > 0 ? (long) (random.nextDouble() * (halfBackoff + 1)) : 0);
+    }
+
+    /* ----- INTERNAL CLASSES ------------------------------ */
+
+    /**
+     * State of sending a single statement until its condition is met
+     */
+    class Poll {
+        final TSONContext tsonContext;
+        final TSONReporter tsonReporter;
+        final String body;
+        final Keyword conditionKeyword;
+        final Statement conditionStatement;
+
+        /**
+         * Time (from {@link System#nanoTime()}) after which no more attempts are made
+         */
+        final long deadlineNanos;
+        final long interval;
+        final long maxInterval;
+
+        /**
+         * Number of attempts made so far
+         */
+        int attemptCount = 0;
+
+        /**
+         * Specifies if the last attempt met the condition or was made after the timeout expired
+         */
+        boolean isFinished = false;
+
+        Poll(TSONContext tsonContext, TSONReporter tsonReporter, String body, Keyword conditionKeyword, Statement conditionStatement,
+             long deadlineNanos, long interval, long maxInterval) {
+            this.tsonContext = tsonContext;
+            this.tsonReporter = tsonReporter;
+            this.body = body;
+            this.conditionKeyword = conditionKeyword;
+            this.conditionStatement = conditionStatement;
+            this.deadlineNanos = deadlineNanos;
+            this.interval = interval;
+            this.maxInterval = maxInterval;
+        }
+
+        /**
+         * Send the request once and check the condition against its response. Each attempt is reported as a
+         * sub-report with its timing
+         *
+         * @return Returns {@code true} if the condition was met
+         */
+        boolean attempt() {
+            attemptCount++;
+
+            // Send request
+            long attemptStartNanos = System.nanoTime();
+            tsonRestClient.send();
+            ResponseData responseData = tsonRestClient.getResponseData();
+            long attemptMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - attemptStartNanos);
+            tsonRestClient.getMetricsRegistry().recordStatement(tsonReporter.getReport().getReportTitle(), responseData);
+
+            // Check condition in a separate reporter, results are only kept for the final attempt
+            TSONReporter conditionReporter = new TSONReporter();
+            conditionKeyword.handle(tsonContext, conditionReporter, conditionStatement);
+            boolean isConditionMet = conditionReporter.getDerivedReportType() == ReportType.PASS;
+            isFinished = isConditionMet || System.nanoTime() >= deadlineNanos;
+
+            // Report attempt
+            TSONReporter attemptReporter = tsonReporter.createSubReport(new Report(
+                    ReportType.INFO,
+                    "Attempt " + attemptCount,
+                    String.format(
+                            "Received status %d after %d ms. Condition %s",
+                            responseData.getResponseStatus(),
+                            attemptMillis,
+                            isConditionMet ? "met" : "not met"
+                    ),
+                    String.format("Send %s to %s", body, tsonRestClient.getRequestData().getRequestUrl()),
+                    tsonReporter.getReport().getSource()
+            ));
+            attemptReporter.getReport().addAttachment("time_start", String.valueOf(responseData.getTimeStart()));
+            attemptReporter.getReport().addAttachment("time_connect", String.valueOf(responseData.getTimeConnect()));
+            attemptReporter.getReport().addAttachment("time_response", String.valueOf(responseData.getTimeResponse()));
+            attemptReporter.getReport().addAttachment("time_end", String.valueOf(responseData.getTimeEnd()));
+
+            // Report final result, with the condition results of the final attempt
+            if (isFinished) {
+                attemptReporter.attachSubReport(conditionReporter);
+                Report report = tsonReporter.getReport();
+                report.addAttachment("request.json", tsonRestClient.getRequestData().getRequestBody());
+                report.addAttachment("response.json", responseData::getResponseBody);
+                report.setReportDetail(String.format(
+                        "Condition %s after %d attempt(s)",
+                        isConditionMet ? "met" : "not met before timeout",
+                        attemptCount
+                ));
+            }
+            return isConditionMet;
+        }
+
+        /**
+         * Retrieve the delay before the next attempt
+         *
+         * @return Delay in milliseconds, shortened so that the next attempt is made at the latest when the timeout
+         * expires. Returns {@code -1} if the last attempt was the final attempt
+         */
+        long getNextDelayMillis() {
+            if (isFinished) {
+                return -1;
+            }
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+            return Math.max(0, Math.min(remainingMillis, getBackoffMillis(attemptCount, interval, maxInterval, ThreadLocalRandom.current())));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.euph28.tson.restclientinterface.metrics;
+
+import com.euph28.tson.context.restdata.ResponseData;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histograms of a group of requests, in microseconds. Recording is wait-free and can be done by multiple
+ * threads at the same time
+ */
+public final class SendMetrics {
+
+    /* ----- CONSTANTS ------------------------------ */
+    /**
+     * Number of significant digits kept by the histograms
+     */
+    final static int HISTOGRAM_PRECISION = 3;
+
+    /* ----- VARIABLES ------------------------------ */
+    /**
+     * Name of the group, used when reporting
+     */
+    final String name;
+
+    /**
+     * Time from start of the request until the connection was established
+     */
+    final Histogram connect = new ConcurrentHistogram(HISTOGRAM_PRECISION);
+
+    /**
+     * Time from start of the request until the first byte of the response
+     */
+    final Histogram firstByte = new ConcurrentHistogram(HISTOGRAM_PRECISION);
+
+    /**
+     * Time from start of the request until the response was fully read
+     */
+    final Histogram total = new ConcurrentHistogram(HISTOGRAM_PRECISION);
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+    SendMetrics(String name) {
+        this.name = name;
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Record the timings of a response. Responses without timings (eg: requests that failed to send) are ignored
+     *
+     * @param responseData Response to be recorded
+     */
+    public void record(ResponseData responseData) {
+        long timeStart = responseData.getTimeStart();
+        if (responseData.getTimeEnd() == 0) {
+            return;
+        }
+        connect.recordValue(Math.max(0, responseData.getTimeConnect() - timeStart) / 1000);
+        firstByte.recordValue(Math.max(0, responseData.getTimeResponse() - timeStart) / 1000);
+        total.recordValue(Math.max(0, responseData.getTimeEnd() - timeStart) / 1000);
+    }
+
+    /**
+     * Get a one-line summary of the total latency
+     *
+     * @param elapsedSeconds Time in seconds over which the requests were recorded, used for throughput
+     * @return Summary of the total latency (count, throughput, p50/p90/p99/max)
+     */
+    public String getSummary(double elapsedSeconds) {
+        return String.format(
+                "%s: count=%d (%.1f/s) p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms",
+                name,
+                total.getTotalCount(),
+                elapsedSeconds > 0 ? total.getTotalCount() / elapsedSeconds : 0,
+                total.getValueAtPercentile(50) / 1000.0,
+                total.getValueAtPercentile(90) / 1000.0,
+                total.getValueAtPercentile(99) / 1000.0,
+                total.getMaxValue() / 1000.0
+        );
+    }
+
+    /* ----- GETTERS ------------------------------ */
+    public String getName() {
+        return name;
+    }
+
+    public Histogram getConnect() {
+        return connect;
+    }
+
+    public Histogram getFirstByte() {
+        return firstByte;
+    }
+
+    public Histogram getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,128 @@
+package com.euph28.tson.restclientinterface.metrics;
+
+import com.euph28.tson.context.restdata.ResponseData;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Registry of {@link SendMetrics}, grouped by route and verb, and by the title of the SEND statement. A registry can
+ * be shared between multiple rest clients (eg: by a suite or load run) to aggregate their requests
+ */
+public class SendMetricsRegistry {
+
+    /* ----- VARIABLES ------------------------------ */
+    /**
+     * Map of {@code <verb> <route>} to its metrics
+     */
+    final Map<String, SendMetrics> routeMetricsMap = new ConcurrentHashMap<>();
+
+    /**
+     * Map of SEND statement title to its metrics
+     */
+    final Map<String, SendMetrics> statementMetricsMap = new ConcurrentHashMap<>();
+
+    /**
+     * Metrics of the routes, in the order they were first recorded
+     */
+    final Collection<SendMetrics> routeMetricsList = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Metrics of the statements, in the order they were first recorded
+     */
+    final Collection<SendMetrics> statementMetricsList = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Time in nanoseconds when the registry was created, used for throughput
+     */
+    final long timeCreated = System.nanoTime();
+
+    /* ----- METHODS: RECORDING ------------------------------ */
+
+    /**
+     * Record a response by its route and verb
+     *
+     * @param requestVerb  Verb of the request
+     * @param requestRoute Route of the request
+     * @param responseData Response to be recorded
+     */
+    public void recordRoute(String requestVerb, String requestRoute, ResponseData responseData) {
+        getMetrics(routeMetricsMap, routeMetricsList, requestVerb + " " + requestRoute).record(responseData);
+    }
+
+    /**
+     * Record a response by the title of the SEND statement that sent it
+     *
+     * @param title        Title of the SEND statement
+     * @param responseData Response to be recorded
+     */
+    public void recordStatement(String title, ResponseData responseData) {
+        getMetrics(statementMetricsMap, statementMetricsList, title).record(responseData);
+    }
+
+    /**
+     * Retrieve the metrics of a group, creating it if it has not been recorded before
+     *
+     * @param metricsMap  Map of group name to metrics
+     * @param metricsList List to add newly created metrics to
+     * @param name        Name of the group
+     * @return Metrics of the group
+     */
+    static SendMetrics getMetrics(Map<String, SendMetrics> metricsMap, Collection<SendMetrics> metricsList, String name) {
+        SendMetrics sendMetrics = metricsMap.get(name);
+        if (sendMetrics == null) {
+            sendMetrics = metricsMap.computeIfAbsent(name, key -> {
+                SendMetrics created = new SendMetrics(key);
+                metricsList.add(created);
+                return created;
+            });
+        }
+        return sendMetrics;
+    }
+
+    /* ----- METHODS: OUTPUT ------------------------------ */
+
+    /**
+     * Get a summary of the recorded metrics, with a line per route and per SEND statement. Throughput is
+     * calculated over the time since the registry was created
+     *
+     * @return Summary split by line. Returns an empty list if nothing was recorded
+     */
+    public List<String> getSummary() {
+        List<String> result = new ArrayList<>();
+        double elapsedSeconds = (System.nanoTime() - timeCreated) / 1e9;
+
+        for (SendMetrics sendMetrics : routeMetricsList) {
+            result.add("[ROUTE] " + sendMetrics.getSummary(elapsedSeconds));
+        }
+        for (SendMetrics sendMetrics : statementMetricsList) {
+            result.add("[SEND] " + sendMetrics.getSummary(elapsedSeconds));
+        }
+        return result;
+    }
+
+    /* ----- GETTERS ------------------------------ */
+
+    /**
+     * Retrieve the metrics grouped by route and verb
+     *
+     * @return Unmodifiable map of {@code <verb> <route>} to its metrics
+     */
+    public Map<String, SendMetrics> getRouteMetrics() {
+        return Collections.unmodifiableMap(routeMetricsMap);
+    }
+
+    /**
+     * Retrieve the metrics grouped by SEND statement title
+     *
+     * @return Unmodifiable map of SEND statement title to its metrics
+     */
+    public Map<String, SendMetrics> getStatementMetrics() {
+        return Collections.unmodifiableMap(statementMetricsMap);
+    }
+}
@@ -0,0 +1,248 @@
+package com.euph28.tson.restclientinterface.transport;
+
+import com.euph28.tson.context.restdata.RequestData;
+import com.euph28.tson.context.restdata.ResponseData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Default {@link RestTransport} using keep-alive {@link HttpURLConnection}. Responses (including error responses)
+ * are always fully read and closed so that the JDK keep-alive cache can reuse the underlying socket. The number of
+ * requests in flight to the same host is limited to {@link #maxConnectionsPerHost}. <br/>
+ * The JDK keep-alive cache only keeps {@value #KEEP_ALIVE_PROPERTY} (default 5) idle sockets per host, and closes
+ * any socket beyond that after its response. The limit is therefore clamped to that capacity, which can be raised
+ * by starting the JVM with {@code -Dhttp.maxConnections=<limit>}
+ */
+public class PooledHttpTransport implements RestTransport {
+
+    /* ----- CONSTANTS ------------------------------ */
+    /**
+     * Default limit of concurrent connections to the same host. Matches the default of the JDK keep-alive cache
+     */
+    public final static int DEFAULT_MAX_CONNECTIONS_PER_HOST = 5;
+
+    /**
+     * System property of the JDK keep-alive cache that limits the idle sockets kept per host
+     */
+    public final static String KEEP_ALIVE_PROPERTY = "http.maxConnections";
+
+    /**
+     * Initial size of the reusable response buffer
+     */
+    final static int BUFFER_INITIAL_SIZE = 16 * 1024;
+
+    /**
+     * Largest response buffer that is kept for reuse. Buffers grown beyond this are dropped after the response
+     * so that a single large response does not stay on the heap
+     */
+    final static int BUFFER_MAX_RETAINED_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * Charset used if the response does not specify one. JSON defaults to UTF-8
+     */
+    final static Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
+
+    /* ----- VARIABLES ------------------------------ */
+    final Logger logger = LoggerFactory.getLogger(PooledHttpTransport.class);
+
+    /**
+     * Maximum number of concurrent connections to the same host
+     */
+    final int maxConnectionsPerHost;
+
+    /**
+     * Map of host to the permits of connections available for that host
+     */
+    final Map<String, Semaphore> hostPermitMap = new ConcurrentHashMap<>();
+
+    /**
+     * Reusable buffers for reading response bodies. Buffers are pooled instead of kept per thread, so that they are
+     * still reused when each request runs on a new (eg: virtual) thread. The pool holds at most one buffer per
+     * request in flight
+     */
+    final Queue<ResponseBuffer> responseBufferPool = new ConcurrentLinkedQueue<>();
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+
+    /**
+     * Create a transport with the default limit of connections per host
+     */
+    public PooledHttpTransport() {
+        this(DEFAULT_MAX_CONNECTIONS_PER_HOST);
+    }
+
+    /**
+     * Create a transport
+     *
+     * @param maxConnectionsPerHost Maximum number of concurrent connections to the same host. Clamped to the
+     *                              capacity of the JDK keep-alive cache (see {@link #getKeepAliveCapacity()})
+     */
+    public PooledHttpTransport(int maxConnectionsPerHost) {
+        int keepAliveCapacity = getKeepAliveCapacity();
+        if (maxConnectionsPerHost > keepAliveCapacity) {
+            logger.warn(String.format(
+                    "Limit of %d connections per host exceeds the %d sockets kept alive by the JDK (%s). Limiting to %d instead. Start with -D%s=%d to raise it",
+                    maxConnectionsPerHost,
+                    keepAliveCapacity,
+                    KEEP_ALIVE_PROPERTY,
+                    keepAliveCapacity,
+                    KEEP_ALIVE_PROPERTY,
+                    maxConnectionsPerHost
+            ));
+        }
+        this.maxConnectionsPerHost = Math.max(1, Math.min(maxConnectionsPerHost, keepAliveCapacity));
+    }
+
+    /* ----- OVERRIDE: RestTransport ------------------------------ */
+    @Override
+    public ResponseData send(String requestVerb, RequestData requestData, int connectTimeout, int readTimeout) throws IOException {
+        URL url = new URL(requestData.getRequestUrl());
+
+        // Wait for a connection to the host to be available
+        String host = url.getHost() + ":" + url.getPort();
+        Semaphore permit = hostPermitMap.computeIfAbsent(host, key -> new Semaphore(maxConnectionsPerHost, true));
+        try {
+            permit.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection to " + host);
+        }
+
+        try {
+            return send(url, requestVerb, requestData, connectTimeout, readTimeout);
+        } finally {
+            permit.release();
+        }
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Retrieve the number of idle sockets per host that the JDK keep-alive cache keeps, from the
+     * {@link #KEEP_ALIVE_PROPERTY} system property. The JDK uses its default for missing or non-positive values
+     *
+     * @return Number of sockets per host that can be reused
+     */
+    static int getKeepAliveCapacity() {
+        int keepAliveCapacity = Integer.getInteger(KEEP_ALIVE_PROPERTY, DEFAULT_MAX_CONNECTIONS_PER_HOST);
+        return keepAliveCapacity > 0 ? keepAliveCapacity : DEFAULT_MAX_CONNECTIONS_PER_HOST;
+    }
+
+    /**
+     * Send the request over a (possibly reused) connection
+     *
+     * @param url            URL to send the request to
+     * @param requestVerb    Verb to be used when sending request
+     * @param requestData    Request to be sent
+     * @param connectTimeout Timeout in milliseconds for establishing the connection
+     * @param readTimeout    Timeout in milliseconds for reading the response
+     * @return Response received from the server
+     * @throws IOException Thrown if the request could not be sent or the response could not be read
+     */
+    ResponseData send(URL url, String requestVerb, RequestData requestData, int connectTimeout, int readTimeout) throws IOException {
+        // Create connection objects
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+
+        try {
+            // Customize connection
+            connection.setRequestMethod(requestVerb);
+            connection.addRequestProperty("Content-Type", "application/json");
+            connection.setConnectTimeout(connectTimeout);
+            connection.setReadTimeout(readTimeout);
+            connection.setDoOutput(true);
+
+            // Open connection
+            long timeStart = System.nanoTime();
+            connection.connect();
+            long timeConnected = System.nanoTime();
+
+            // Connection body
+            try (OutputStream outputStream = connection.getOutputStream()) {
+                outputStream.write(requestData.getRequestBody().getBytes(StandardCharsets.UTF_8));
+            }
+
+            // Read response, using the error stream for error status so the connection can still be reused
+            int responseStatus = connection.getResponseCode();
+            long timeResponse = System.nanoTime();
+            InputStream inputStream = responseStatus >= HttpURLConnection.HTTP_BAD_REQUEST
+                    ? connection.getErrorStream()
+                    : connection.getInputStream();
+            byte[] responseBody = inputStream != null
+                    ? readBody(inputStream, connection.getContentLengthLong())
+                    : new byte[0];
+            long timeEnd = System.nanoTime();
+
+            return new ResponseData(
+                    responseStatus,
+                    responseBody,
+                    getCharset(connection.getContentType()),
+                    timeStart,
+                    timeConnected,
+                    timeResponse,
+                    timeEnd
+            );
+        } catch (IOException e) {
+            // Drop the connection as it may be left in an unknown state
+            connection.disconnect();
+            throw e;
+        }
+    }
+
+    /**
+     * Read the full response body through the reusable buffer and close the stream
+     *
+     * @param inputStream   Stream of the response body
+     * @param contentLength Length of the body, or a negative value if unknown
+     * @return Response body as raw bytes
+     * @throws IOException Thrown if the body could not be read
+     */
+    byte[] readBody(InputStream inputStream, long contentLength) throws IOException {
+        ResponseBuffer pooledBuffer = responseBufferPool.poll();
+        ResponseBuffer buffer = pooledBuffer != null ? pooledBuffer : new ResponseBuffer(BUFFER_INITIAL_SIZE);
+        try (InputStream in = inputStream) {
+            buffer.readFully(in, contentLength);
+            return buffer.toByteArray();
+        } finally {
+            if (buffer.capacity() <= BUFFER_MAX_RETAINED_SIZE) {
+                responseBufferPool.offer(buffer);
+            }
+        }
+    }
+
+    /**
+     * Retrieve the charset from a {@code Content-Type} header value
+     *
+     * @param contentType Value of the {@code Content-Type} header, can be {@code null}
+     * @return Charset specified in the header. Returns {@link #DEFAULT_CHARSET} if none or an invalid one was specified
+     */
+    Charset getCharset(String contentType) {
+        if (contentType == null) {
+            return DEFAULT_CHARSET;
+        }
+
+        for (String parameter : contentType.split(";")) {
+            parameter = parameter.trim();
+            if (parameter.regionMatches(true, 0, "charset=", 0, "charset=".length())) {
+                String charsetName = parameter.substring("charset=".length()).replace("\"", "").trim();
+                try {
+                    return Charset.forName(charsetName);
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Unsupported charset in response, defaulting to " + DEFAULT_CHARSET + ": " + charsetName);
+                    return DEFAULT_CHARSET;
+                }
+            }
+        }
+        return DEFAULT_CHARSET;
+    }
+}
@@ -0,0 +1,66 @@
+package com.euph28.tson.restclientinterface.transport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Growable byte buffer for reading response bodies. The buffer is meant to be reused between responses so that
+ * the body is read straight into one array without intermediate line/char copies, and only copied once into an
+ * exactly sized array
+ */
+class ResponseBuffer extends ByteArrayOutputStream {
+
+    /* ----- CONSTANTS ------------------------------ */
+    /**
+     * Minimum growth of the buffer when it is full
+     */
+    final static int READ_SIZE = 8192;
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+    ResponseBuffer(int initialSize) {
+        super(initialSize);
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Clear the buffer and fill it with the full content of an input stream. The stream is not closed
+     *
+     * @param inputStream  Stream to be read
+     * @param expectedSize Expected number of bytes (eg: from {@code Content-Length}), or a negative value if unknown
+     * @throws IOException Thrown if the stream could not be read
+     */
+    void readFully(InputStream inputStream, long expectedSize) throws IOException {
+        reset();
+
+        // Grow once up front if the size is known (one extra byte so reaching the end does not need a resize)
+        if (expectedSize >= buf.length && expectedSize < Integer.MAX_VALUE - 1) {
+            buf = new byte[(int) expectedSize + 1];
+        }
+
+        // Read directly into the backing array, growing only when full
+        int read;
+        while (true) {
+            if (count == buf.length) {
+                byte[] grownBuffer = new byte[Math.max(buf.length * 2, count + READ_SIZE)];
+                System.arraycopy(buf, 0, grownBuffer, 0, count);
+                buf = grownBuffer;
+            }
+            read = inputStream.read(buf, count, buf.length - count);
+            if (read < 0) {
+                break;
+            }
+            count += read;
+        }
+    }
+
+    /**
+     * Retrieve the current capacity of the buffer
+     *
+     * @return Length of the backing array
+     */
+    int capacity() {
+        return buf.length;
+    }
+}
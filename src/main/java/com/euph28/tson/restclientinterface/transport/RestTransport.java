@@ -0,0 +1,24 @@
+package com.euph28.tson.restclientinterface.transport;
+
+import com.euph28.tson.context.restdata.RequestData;
+import com.euph28.tson.context.restdata.ResponseData;
+
+import java.io.IOException;
+
+/**
+ * Transport used by {@link com.euph28.tson.restclientinterface.TSONRestClient} to send requests over the network.
+ * Implementations may be shared between multiple rest clients and should be thread-safe
+ */
+public interface RestTransport {
+    /**
+     * Send a request and wait for the full response
+     *
+     * @param requestVerb    Verb to be used when sending request
+     * @param requestData    Request to be sent
+     * @param connectTimeout Timeout in milliseconds for establishing the connection
+     * @param readTimeout    Timeout in milliseconds for reading the response
+     * @return Response received from the server
+     * @throws IOException Thrown if the request could not be sent or the response could not be read
+     */
+    ResponseData send(String requestVerb, RequestData requestData, int connectTimeout, int readTimeout) throws IOException;
+}
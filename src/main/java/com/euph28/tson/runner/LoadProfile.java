@@ -0,0 +1,126 @@
+package com.euph28.tson.runner;
+
+/**
+ * Profile of the load generated by {@link TSONLoadRunner}. A profile either keeps a fixed number of virtual users
+ * running the file back-to-back (closed model), or starts runs of the file at a fixed rate (open model)
+ */
+public final class LoadProfile {
+
+    /* ----- VARIABLES ------------------------------ */
+    /**
+     * Maximum number of virtual users. For fixed concurrency, this is the number of users that run the file
+     * back-to-back. For fixed rate, this is the number of runs that can be in progress at the same time
+     */
+    final int userCount;
+
+    /**
+     * Number of runs to start per second at full rate. This is {@code 0} for fixed concurrency
+     */
+    final double arrivalRate;
+
+    /**
+     * Time in milliseconds taken to reach full load. Users are started (or the rate is increased) linearly during this time
+     */
+    final long rampUpMillis;
+
+    /**
+     * Time in milliseconds, including ramp-up, after which no new runs are started
+     */
+    final long durationMillis;
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+    LoadProfile(int userCount, double arrivalRate, long rampUpMillis, long durationMillis) {
+        this.userCount = Math.max(1, userCount);
+        this.arrivalRate = Math.max(0, arrivalRate);
+        this.rampUpMillis = Math.max(0, Math.min(rampUpMillis, durationMillis));
+        this.durationMillis = Math.max(0, durationMillis);
+    }
+
+    /**
+     * Create a profile with a fixed number of virtual users, each running the file back-to-back
+     *
+     * @param userCount      Number of virtual users
+     * @param rampUpMillis   Time in milliseconds over which the users are started
+     * @param durationMillis Time in milliseconds after which no new runs are started
+     * @return Profile with fixed concurrency
+     */
+    public static LoadProfile fixedConcurrency(int userCount, long rampUpMillis, long durationMillis) {
+        return new LoadProfile(userCount, 0, rampUpMillis, durationMillis);
+    }
+
+    /**
+     * Create a profile that starts runs of the file at a fixed rate, regardless of how long each run takes.
+     * Runs that are due while all users are busy are skipped and counted as dropped
+     *
+     * @param arrivalRate    Number of runs to start per second at full rate
+     * @param userCount      Maximum number of runs in progress at the same time
+     * @param rampUpMillis   Time in milliseconds over which the rate increases from 0 to {@code arrivalRate}
+     * @param durationMillis Time in milliseconds after which no new runs are started
+     * @return Profile with fixed arrival rate
+     */
+    public static LoadProfile fixedRate(double arrivalRate, int userCount, long rampUpMillis, long durationMillis) {
+        return new LoadProfile(userCount, arrivalRate, rampUpMillis, durationMillis);
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Check if the profile starts runs at a fixed rate
+     *
+     * @return Returns {@code true} for fixed rate and {@code false} for fixed concurrency
+     */
+    public boolean isFixedRate() {
+        return arrivalRate > 0;
+    }
+
+    /**
+     * Retrieve the time at which a run should start when using a fixed rate. The rate increases linearly during
+     * ramp-up, so the number of runs started by time {@code t} is {@code rate*t^2/(2*rampUp)} during ramp-up and
+     * {@code rate*(t-rampUp/2)} after
+     *
+     * @param arrivalIndex Index of the run, starting at 0
+     * @return Time in nanoseconds from the start of the load at which the run should start
+     */
+    long getArrivalOffsetNanos(long arrivalIndex) {
+        double rampUpSeconds = rampUpMillis / 1000.0;
+        double rampUpArrivals = arrivalRate * rampUpSeconds / 2;
+        double offsetSeconds = arrivalIndex < rampUpArrivals
+                ? Math.sqrt(2 * rampUpSeconds * arrivalIndex / arrivalRate)
+                : arrivalIndex / arrivalRate + rampUpSeconds / 2;
+        return (long) (offsetSeconds * 1e9);
+    }
+
+    /**
+     * Retrieve the time at which a virtual user should start when using fixed concurrency
+     *
+     * @param userIndex Index of the user, starting at 0
+     * @return Time in nanoseconds from the start of the load at which the user should start
+     */
+    long getUserStartOffsetNanos(int userIndex) {
+        return rampUpMillis * 1_000_000L * userIndex / userCount;
+    }
+
+    /* ----- GETTERS ------------------------------ */
+    public int getUserCount() {
+        return userCount;
+    }
+
+    public double getArrivalRate() {
+        return arrivalRate;
+    }
+
+    public long getRampUpMillis() {
+        return rampUpMillis;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return isFixedRate()
+                ? String.format("fixed rate of %.1f/s (max %d users), ramp-up %dms, duration %dms", arrivalRate, userCount, rampUpMillis, durationMillis)
+                : String.format("fixed concurrency of %d users, ramp-up %dms, duration %dms", userCount, rampUpMillis, durationMillis);
+    }
+}
@@ -0,0 +1,103 @@
+package com.euph28.tson.runner;
+
+import com.euph28.tson.reporter.TSONReporter;
+import com.euph28.tson.reporter.report.ReportType;
+import com.euph28.tson.restclientinterface.metrics.SendMetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Result of a load run by {@link TSONLoadRunner}. Runs are recorded concurrently by the virtual users, with the
+ * latency of each SEND recorded by the shared {@link SendMetricsRegistry}
+ */
+public class LoadResult {
+
+    /* ----- VARIABLES ------------------------------ */
+    /**
+     * Number of completed runs
+     */
+    final LongAdder runCount = new LongAdder();
+
+    /**
+     * Number of completed runs that had a failure or error
+     */
+    final LongAdder failedRunCount = new LongAdder();
+
+    /**
+     * Number of runs that were due (fixed rate only) but not started because all users were busy
+     */
+    final LongAdder droppedRunCount = new LongAdder();
+
+    /**
+     * Registry shared by the rest clients of all virtual users
+     */
+    final SendMetricsRegistry metricsRegistry = new SendMetricsRegistry();
+
+    /**
+     * Time in nanoseconds that the load took, set when the load completes
+     */
+    volatile long elapsedNanos;
+
+    /* ----- METHODS: RECORDING ------------------------------ */
+
+    /**
+     * Record a completed run
+     *
+     * @param tsonReporter Reporter returned by {@link TSONRunner#run(String)}
+     */
+    void recordRun(TSONReporter tsonReporter) {
+        runCount.increment();
+        ReportType reportType = tsonReporter.getDerivedReportType();
+        if (reportType == ReportType.FAIL || reportType.getSeverity() >= ReportType.ERROR.getSeverity()) {
+            failedRunCount.increment();
+        }
+    }
+
+    /* ----- METHODS: OUTPUT ------------------------------ */
+
+    /**
+     * Get a basic output of the result, with a line per route and per SEND statement
+     *
+     * @return Result split by line
+     */
+    public List<String> getResultAsBasicString() {
+        List<String> result = new ArrayList<>();
+        double elapsedSeconds = elapsedNanos / 1e9;
+
+        result.add(String.format(
+                "Runs: %d completed (%.1f/s), %d failed, %d dropped, in %.1fs",
+                getRunCount(),
+                elapsedSeconds > 0 ? getRunCount() / elapsedSeconds : 0,
+                getFailedRunCount(),
+                getDroppedRunCount(),
+                elapsedSeconds
+        ));
+        for (String summary : metricsRegistry.getSummary()) {
+            result.add("  " + summary);
+        }
+        return result;
+    }
+
+    /* ----- GETTERS ------------------------------ */
+    public long getRunCount() {
+        return runCount.sum();
+    }
+
+    public long getFailedRunCount() {
+        return failedRunCount.sum();
+    }
+
+    public long getDroppedRunCount() {
+        return droppedRunCount.sum();
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public SendMetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+}
@@ -0,0 +1,76 @@
+package com.euph28.tson.runner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the executors used by runners that run multiple files or users at the same time. Virtual threads are
+ * used when requested and available (JDK 21+). As the build targets Java 8, virtual threads are created through
+ * reflection, falling back to a bounded pool of platform threads on older JDKs
+ */
+public final class RunnerExecutors {
+    static Logger logger = LoggerFactory.getLogger(RunnerExecutors.class);
+
+    /* ----- VARIABLES ------------------------------ */
+    /**
+     * {@code Executors.newVirtualThreadPerTaskExecutor()}, or {@code null} if the JDK does not support virtual threads
+     */
+    final static Method VIRTUAL_THREAD_EXECUTOR_FACTORY = findVirtualThreadExecutorFactory();
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+    private RunnerExecutors() {
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Create an executor for running tasks concurrently
+     *
+     * @param threadCount       Number of platform threads if virtual threads are not used
+     * @param useVirtualThreads Specifies if a virtual thread should be created per task. Ignored (with a warning)
+     *                          if the JDK does not support virtual threads
+     * @return Executor with a virtual thread per task (not bounded by {@code threadCount}), or a fixed pool
+     * of {@code threadCount} platform threads
+     */
+    public static ExecutorService newExecutor(int threadCount, boolean useVirtualThreads) {
+        if (useVirtualThreads) {
+            if (VIRTUAL_THREAD_EXECUTOR_FACTORY != null) {
+                try {
+                    return (ExecutorService) VIRTUAL_THREAD_EXECUTOR_FACTORY.invoke(null);
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    logger.warn("Failed to create virtual thread executor. Using platform threads instead", e);
+                }
+            } else {
+                logger.warn("Virtual threads are not supported by this JDK (requires 21+). Using platform threads instead");
+            }
+        }
+        return Executors.newFixedThreadPool(Math.max(1, threadCount));
+    }
+
+    /**
+     * Check if virtual threads are supported by the JDK
+     *
+     * @return Returns {@code true} if virtual threads are supported
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREAD_EXECUTOR_FACTORY != null;
+    }
+
+    /**
+     * Find {@code Executors.newVirtualThreadPerTaskExecutor()}
+     *
+     * @return Factory method of the virtual thread executor. Returns {@code null} if it does not exist
+     */
+    static Method findVirtualThreadExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.euph28.tson.runner;
+
+import com.euph28.tson.interpreter.Interpretation;
+import com.euph28.tson.restclientinterface.metrics.SendMetricsRegistry;
+import com.euph28.tson.restclientinterface.transport.RestTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runner that replays a TSON file as load. Each virtual user has its own {@link TSONRunner}, so that the context
+ * and variables of a user are not shared with other users. All users share one transport so that connections
+ * are pooled across the load, and one metrics registry so that latency is aggregated across the load
+ */
+public class TSONLoadRunner {
+    Logger logger = LoggerFactory.getLogger(TSONLoadRunner.class);
+
+    /* ----- VARIABLES ------------------------------ */
+    /**
+     * Workspace folder of the test files. This should point to the root folder from where path resolutions
+     * should occur
+     */
+    File workspace;
+
+    /**
+     * Custom properties to be inserted into the {@link com.euph28.tson.context.TSONContext} of each user
+     */
+    Properties properties;
+
+    /**
+     * Profile of the load to be generated
+     */
+    LoadProfile loadProfile;
+
+    /**
+     * Specifies if virtual users should run on virtual threads instead of platform threads.
+     * See {@link RunnerExecutors#newExecutor(int, boolean)}
+     */
+    boolean useVirtualThreads;
+
+    /**
+     * Transport shared by all users. Created from the properties when the load is run if not set
+     */
+    RestTransport transport;
+
+    /**
+     * Interpretations shared by the runners of each user, so that the same file is only parsed once
+     */
+    final Map<String, Interpretation> interpretationCache = new ConcurrentHashMap<>();
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+
+    /**
+     * Create a runner for replaying a TSON file as load
+     *
+     * @param workspace   Workspace folder that should be used for resolving paths
+     * @param properties  Custom properties to be inserted into the context of each user
+     * @param loadProfile Profile of the load to be generated
+     */
+    public TSONLoadRunner(File workspace, Properties properties, LoadProfile loadProfile) {
+        this(workspace, properties, loadProfile, false);
+    }
+
+    /**
+     * Create a runner for replaying a TSON file as load
+     *
+     * @param workspace         Workspace folder that should be used for resolving paths
+     * @param properties        Custom properties to be inserted into the context of each user
+     * @param loadProfile       Profile of the load to be generated
+     * @param useVirtualThreads Specifies if virtual users should run on virtual threads (JDK 21+). Falls back to
+     *                          platform threads if virtual threads are not supported
+     */
+    public TSONLoadRunner(File workspace, Properties properties, LoadProfile loadProfile, boolean useVirtualThreads) {
+        this.workspace = workspace;
+        this.properties = properties;
+        this.loadProfile = loadProfile;
+        this.useVirtualThreads = useVirtualThreads;
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Replay a TSON file according to the {@link LoadProfile}. Returns once the duration has passed and all
+     * runs in progress have completed
+     *
+     * @param filename Target TSON file to run, relative to the workspace
+     * @return Result of the load
+     */
+    public LoadResult run(String filename) {
+        logger.info(String.format("Running TSON load for: %s (%s)", filename, loadProfile));
+
+        LoadResult loadResult = new LoadResult();
+        RestTransport transport = this.transport != null ? this.transport : TSONRunner.createSharedTransport(workspace, properties);
+        ExecutorService executorService = RunnerExecutors.newExecutor(loadProfile.userCount, useVirtualThreads);
+        long startNanos = System.nanoTime();
+
+        try {
+            if (loadProfile.isFixedRate()) {
+                runFixedRate(filename, transport, executorService, loadResult, startNanos);
+            } else {
+                runFixedConcurrency(filename, transport, executorService, loadResult, startNanos);
+            }
+
+            // Wait for runs in progress
+            executorService.shutdown();
+            while (!executorService.awaitTermination(1, TimeUnit.SECONDS)) {
+                logger.debug("Waiting for runs in progress to complete");
+            }
+        } catch (InterruptedException e) {
+            logger.error("Load run interrupted", e);
+            Thread.currentThread().interrupt();
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        loadResult.elapsedNanos = System.nanoTime() - startNanos;
+        return loadResult;
+    }
+
+    /**
+     * Run the file with a fixed number of users, each running the file back-to-back until the duration has passed
+     *
+     * @param filename        Target TSON file to run
+     * @param transport       Transport shared by all users
+     * @param executorService Executor with a thread per user
+     * @param loadResult      Result to record the runs into
+     * @param startNanos      Start time of the load
+     */
+    void runFixedConcurrency(String filename, RestTransport transport, ExecutorService executorService, LoadResult loadResult, long startNanos) {
+        long endNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(loadProfile.durationMillis);
+
+        for (int i = 0; i < loadProfile.userCount; i++) {
+            long userStartNanos = startNanos + loadProfile.getUserStartOffsetNanos(i);
+            executorService.submit(() -> {
+                TSONRunner tsonRunner = createRunner(transport, loadResult.metricsRegistry);
+                sleepUntil(userStartNanos);
+                while (System.nanoTime() < endNanos && !Thread.currentThread().isInterrupted()) {
+                    runOnce(tsonRunner, filename, loadResult);
+                }
+            });
+        }
+    }
+
+    /**
+     * Start runs of the file at a fixed rate until the duration has passed. Each run is given to an idle user,
+     * runs that are due while all users are busy are dropped
+     *
+     * @param filename        Target TSON file to run
+     * @param transport       Transport shared by all users
+     * @param executorService Executor with a thread per user
+     * @param loadResult      Result to record the runs into
+     * @param startNanos      Start time of the load
+     */
+    void runFixedRate(String filename, RestTransport transport, ExecutorService executorService, LoadResult loadResult, long startNanos) {
+        long durationNanos = TimeUnit.MILLISECONDS.toNanos(loadProfile.durationMillis);
+
+        // Idle users, each with their own runner
+        BlockingQueue<TSONRunner> idleRunnerQueue = new ArrayBlockingQueue<>(loadProfile.userCount);
+        for (int i = 0; i < loadProfile.userCount; i++) {
+            idleRunnerQueue.add(createRunner(transport, loadResult.metricsRegistry));
+        }
+
+        for (long arrivalIndex = 0; !Thread.currentThread().isInterrupted(); arrivalIndex++) {
+            long arrivalOffsetNanos = loadProfile.getArrivalOffsetNanos(arrivalIndex);
+            if (arrivalOffsetNanos >= durationNanos) {
+                break;
+            }
+            sleepUntil(startNanos + arrivalOffsetNanos);
+
+            // Start run on an idle user, or drop it if none are available
+            TSONRunner tsonRunner = idleRunnerQueue.poll();
+            if (tsonRunner == null) {
+                loadResult.droppedRunCount.increment();
+                continue;
+            }
+            executorService.submit(() -> {
+                try {
+                    runOnce(tsonRunner, filename, loadResult);
+                } finally {
+                    idleRunnerQueue.add(tsonRunner);
+                }
+            });
+        }
+    }
+
+    /**
+     * Run the file once and record its result. Errors are logged and recorded as a failed run
+     *
+     * @param tsonRunner Runner of the user
+     * @param filename   Target TSON file to run
+     * @param loadResult Result to record the run into
+     */
+    void runOnce(TSONRunner tsonRunner, String filename, LoadResult loadResult) {
+        try {
+            loadResult.recordRun(tsonRunner.run(filename));
+        } catch (Exception e) {
+            logger.error("Error encountered when running TSON file: " + filename, e);
+            loadResult.runCount.increment();
+            loadResult.failedRunCount.increment();
+        }
+    }
+
+    /* ----- SETTERS & GETTERS ------------------------------ */
+
+    /**
+     * Set the transport shared by all users (eg: to send the requests to a stub). If not set, a
+     * {@link com.euph28.tson.restclientinterface.transport.PooledHttpTransport} is created from the properties
+     * for each load
+     *
+     * @param transport Transport to be used for sending the requests of all users
+     */
+    public void setTransport(RestTransport transport) {
+        this.transport = transport;
+    }
+
+    /* ----- UTILITY ------------------------------ */
+
+    /**
+     * Create the runner of a virtual user
+     *
+     * @param transport       Transport to be shared with the rest client of the runner. Leave as {@code null} to let
+     *                        the rest client create its own
+     * @param metricsRegistry Metrics registry to be shared with the rest client of the runner. Leave as {@code null}
+     *                        to let the rest client use its own
+     * @return Runner with its own context, rest client and interpreter
+     */
+    TSONRunner createRunner(RestTransport transport, SendMetricsRegistry metricsRegistry) {
+        TSONRunner tsonRunner = new TSONRunner(workspace, properties);
+        tsonRunner.getTsonInterpreter().setInterpretationCache(interpretationCache);
+        if (transport != null) {
+            tsonRunner.getTsonRestClient().setTransport(transport);
+        }
+        if (metricsRegistry != null) {
+            // The summary of a shared registry is attached once by the caller instead of to each run
+            tsonRunner.getTsonRestClient().setMetricsRegistry(metricsRegistry);
+            tsonRunner.setMetricsAttached(false);
+        }
+        return tsonRunner;
+    }
+
+    /**
+     * Park the current thread until a point in time
+     *
+     * @param deadlineNanos Time (from {@link System#nanoTime()}) to wait for
+     */
+    static void sleepUntil(long deadlineNanos) {
+        long remainingNanos;
+        while ((remainingNanos = deadlineNanos - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remainingNanos);
+        }
+    }
+}
@@ -9,11 +9,16 @@ import com.euph28.tson.filereader.FileReader;
 import com.euph28.tson.interpreter.Interpretation;
 import com.euph28.tson.interpreter.Statement;
 import com.euph28.tson.interpreter.TSONInterpreter;
+import com.euph28.tson.reporter.ReportListener;
 import com.euph28.tson.reporter.TSONReporter;
+import com.euph28.tson.reporter.attachment.AttachmentStore;
 import com.euph28.tson.reporter.report.Report;
 import com.euph28.tson.reporter.report.ReportSource;
 import com.euph28.tson.reporter.report.ReportType;
 import com.euph28.tson.restclientinterface.TSONRestClient;
+import com.euph28.tson.restclientinterface.metrics.SendMetricsRegistry;
+import com.euph28.tson.restclientinterface.transport.PooledHttpTransport;
+import com.euph28.tson.restclientinterface.transport.RestTransport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,7 +26,15 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * Runner that calls all the other components to execute a run
@@ -40,6 +53,11 @@ public class TSONRunner {
      */
     TSONInterpreter tsonInterpreter;
 
+    /**
+     * TSON Rest Client, will be reused between runs
+     */
+    TSONRestClient tsonRestClient;
+
     /**
      * Workspace folder of the test files. This should point to the root folder from where path resolutions
      * should occur
@@ -51,6 +69,33 @@ public class TSONRunner {
      */
     ContentProvider contentProvider;
 
+    /**
+     * Maximum number of {@link KeywordType#ACTION} statements in flight at the same time, including the statement
+     * being handled. Pipelining is disabled if this is 1 or less
+     */
+    int pipelineDepth = 1;
+
+    /**
+     * Executor that pipelined statements are started on
+     */
+    Executor pipelineExecutor;
+
+    /**
+     * Listener of the reports of each run. Leave as {@code null} to keep the reports only in memory
+     */
+    ReportListener reportListener;
+
+    /**
+     * Store that large report attachments are moved to. Leave as {@code null} to keep the attachments in memory
+     */
+    AttachmentStore attachmentStore;
+
+    /**
+     * Specifies if the latency summary of the rest client is attached to the report of each run. Each run then
+     * records into its own metrics registry
+     */
+    boolean isMetricsAttached = true;
+
     /* ----- CONSTRUCTOR ------------------------------ */
 
     /**
@@ -72,7 +117,8 @@ public class TSONRunner {
         tsonContext.setTsonInterpreter(tsonInterpreter);
         tsonInterpreter.addKeywordProvider(tsonContext);
         tsonInterpreter.addKeywordProvider(new TSONAssertionEngine());
-        tsonInterpreter.addKeywordProvider(new TSONRestClient(tsonContext, contentProvider));
+        tsonRestClient = new TSONRestClient(tsonContext, contentProvider);
+        tsonInterpreter.addKeywordProvider(tsonRestClient);
         tsonInterpreter.addContentProvider(contentProvider);
 
         // Load properties into context
@@ -91,16 +137,34 @@ public class TSONRunner {
     /* ----- UTILITY ------------------------------ */
 
     /**
-     * Load properties from files into {@link #tsonContext}. Properties are loaded with the following order, with the later properties
+     * Load properties from files into {@link #tsonContext}, see {@link #mergeProperties(File, Properties)}
+     *
+     * @param customProperties Custom properties to be loaded. This is loaded last and overrides loaded properties
+     */
+    void loadProperties(Properties customProperties) {
+        Properties properties = mergeProperties(workspace, customProperties);
+
+        // Load properties
+        for (String key : properties.stringPropertyNames()) {
+            tsonContext.addVariable(VariableType.PROPERTY, key, properties.getProperty(key));
+        }
+        logger.debug(String.format("Loaded %d properties to TSONContext", properties.stringPropertyNames().size()));
+    }
+
+    /**
+     * Read properties from files. Properties are loaded with the following order, with the later properties
      * overriding the earlier: <br/>
      * 1. Global properties, located at {@code <tsonFolder>/global.properties}<br/>
      * 2. Local properties, located at {@code <tsonFolder>/local.properties}<br/>
      * 3. Workspace properties, located at {@code <workspaceFolder>/local.properties}<br/>
      * 4. Custom properties, provided in argument
      *
+     * @param workspace        Workspace folder containing the workspace properties
      * @param customProperties Custom properties to be loaded. This is loaded last and overrides loaded properties
+     * @return Merged properties
      */
-    void loadProperties(Properties customProperties) {
+    static Properties mergeProperties(File workspace, Properties customProperties) {
+        Logger logger = LoggerFactory.getLogger(TSONRunner.class);
         Properties properties = new Properties();
 
         // 1. Global properties
@@ -152,12 +216,32 @@ public class TSONRunner {
 
         // 4. Custom properties
         properties.putAll(customProperties);
+        return properties;
+    }
 
-        // Load properties
-        for (String key : properties.stringPropertyNames()) {
-            tsonContext.addVariable(VariableType.PROPERTY, key, properties.getProperty(key));
+    /**
+     * Create a transport to be shared between runners (eg: the files of a suite), limited by the
+     * {@link TSONRestClient#PROPERTY_MAX_CONNECTIONS} property in the same way as the transport of a single runner
+     *
+     * @param workspace        Workspace folder containing the workspace properties
+     * @param customProperties Custom properties of the runners
+     * @return Transport that pools connections across the runners it is set on
+     */
+    static RestTransport createSharedTransport(File workspace, Properties customProperties) {
+        String maxConnections = mergeProperties(workspace, customProperties).getProperty(TSONRestClient.PROPERTY_MAX_CONNECTIONS);
+        if (maxConnections != null) {
+            try {
+                return new PooledHttpTransport(Integer.parseInt(maxConnections.trim()));
+            } catch (NumberFormatException e) {
+                LoggerFactory.getLogger(TSONRunner.class).warn(String.format(
+                        "Invalid value \"%s\" for property \"%s\". Defaulting to %d instead",
+                        maxConnections,
+                        TSONRestClient.PROPERTY_MAX_CONNECTIONS,
+                        PooledHttpTransport.DEFAULT_MAX_CONNECTIONS_PER_HOST
+                ));
+            }
         }
-        logger.debug(String.format("Loaded %d properties to TSONContext", properties.stringPropertyNames().size()));
+        return new PooledHttpTransport();
     }
 
     /* ----- METHODS ------------------------------ */
@@ -168,82 +252,387 @@ public class TSONRunner {
      * @param filename Target TSON test to run
      */
     public TSONReporter run(String filename) {
+        // Parse content
+        RunState runState = startRun(filename);
+        if (runState.interpretation == null) {
+            return runState.tsonReporter;
+        }
+
+        // Run statements
+        while (!runState.interpretation.isEof()) {
+            Statement statement = runState.interpretation.getNext();
+            TSONReporter subReporter = prepareStatement(runState, statement);
+            if (subReporter == null) {
+                continue;
+            }
+
+            // Handle statement, wrap in try-catch to handle any unexpected errors when handling statement
+            try {
+                statement.getKeyword().handle(
+                        tsonContext,
+                        subReporter,
+                        statement
+                );
+            } catch (Exception e) {
+                reportStatementError(statement, subReporter, e);
+            }
+        }
+
+        // Output result
+        return finishRun(runState);
+    }
+
+    /**
+     * Run a specific TSON test file without blocking while a statement waits (eg: SLEEP). Statements are handled
+     * through {@link com.euph28.tson.core.keyword.Keyword#handleAsync}, and the file continues from the next statement
+     * once the previous statement completes. Statements that complete immediately are run on the calling thread. <br/>
+     * This runner should not be used for another run until the returned future completes
+     *
+     * @param filename  Target TSON test to run
+     * @param scheduler Scheduler used by statements that wait. Only timers are run on it
+     * @param executor  Executor to resume the file on after a statement that waited completes, and to run the blocking
+     *                  work of waiting statements on (eg: the next attempt of SEND_UNTIL). This should not be the
+     *                  scheduler, so that blocking work does not delay the timers of other runs
+     * @return Future that completes with the report of the run
+     */
+    public CompletableFuture<TSONReporter> runAsync(String filename, ScheduledExecutorService scheduler, Executor executor) {
+        CompletableFuture<TSONReporter> result = new CompletableFuture<>();
+
+        // Parse content
+        RunState runState = startRun(filename);
+        if (runState.interpretation == null) {
+            result.complete(runState.tsonReporter);
+            return result;
+        }
+
+        // Run statements
+        continueAsync(runState, scheduler, executor, result);
+        return result;
+    }
+
+    /* ----- METHODS: EXECUTION ------------------------------ */
+
+    /**
+     * Interpret a TSON test file to prepare for running it
+     *
+     * @param filename Target TSON test to run
+     * @return State of the run. The interpretation is {@code null} if the file could not be read
+     */
+    RunState startRun(String filename) {
         logger.info("Running TSON for: " + filename);
 
-        // Variables
-        TSONReporter tsonReporter = new TSONReporter();
+        // Variables, the source of the root report identifies the file (eg: to group streamed reports by file)
+        TSONReporter tsonReporter = new TSONReporter(null, new Report(ReportType.TRACE, "", "", "", new ReportSource(null, filename)));
         tsonReporter.getReport().setReportFallbackTitle(filename);
-        TSONReporter lastActionReporter = tsonReporter;
+        tsonReporter.setReportListener(reportListener);
+        tsonReporter.setAttachmentStore(attachmentStore);
+
+        // Record the requests of this run only, so that the attached summary (and its throughput) covers this run
+        if (isMetricsAttached) {
+            tsonRestClient.setMetricsRegistry(new SendMetricsRegistry());
+        }
 
         // Parse content
         Interpretation interpretation = tsonInterpreter.interpret(filename);
         if (interpretation == null || interpretation.hasError()) {
             logger.error("Failed to read TSON file: " + filename);
-            return tsonReporter;
+            interpretation = null;
         }
 
-        // Run statements
-        while (!interpretation.isEof()) {
-            // Get statement
-            Statement statement = interpretation.getNext();
+        return new RunState(interpretation, tsonReporter);
+    }
 
-            // Validity check of next statement
-            if (statement == null || statement.getKeyword() == null) {
-                logger.error("Next available statement is invalid. Skipping statement execution");
-                continue;
-            }
+    /**
+     * Create the sub-reporter for a statement to be handled
+     *
+     * @param runState  State of the current run
+     * @param statement Statement to be handled
+     * @return Sub-reporter for the statement. Returns {@code null} if the statement is invalid and should be skipped
+     */
+    TSONReporter prepareStatement(RunState runState, Statement statement) {
+        // Validity check of next statement
+        if (statement == null || statement.getKeyword() == null) {
+            logger.error("Next available statement is invalid. Skipping statement execution");
+            return null;
+        }
 
-            // Log execution
-            logger.info(String.format("Executing Statement: [%s] %s", statement.getKeyword().getCode(), statement.getValue()));
+        // Log execution
+        logger.info(String.format("Executing Statement: [%s] %s", statement.getKeyword().getCode(), statement.getValue()));
 
-            // Select root reporter based on keyword type (for nesting items under SEND request)
-            TSONReporter currentReporter;
-            if (statement.getKeyword().getKeywordType() == KeywordType.ACTION | statement.getKeyword().getKeywordType() == KeywordType.NO_IMPACT) {
-                currentReporter = tsonReporter;
-            } else {
-                currentReporter = lastActionReporter;
+        // Select root reporter based on keyword type (for nesting items under SEND request)
+        TSONReporter currentReporter;
+        if (statement.getKeyword().getKeywordType() == KeywordType.ACTION | statement.getKeyword().getKeywordType() == KeywordType.NO_IMPACT) {
+            currentReporter = runState.tsonReporter;
+        } else {
+            currentReporter = runState.lastActionReporter;
+        }
+
+        // Create sub-reporter for this statement
+        TSONReporter subReporter = currentReporter.createSubReport(new Report(
+                ReportType.INFO,
+                statement.getProperty("title", ""),
+                "",
+                String.format("[%s] %s", statement.getKeyword().getCode(), statement.getValue()),
+                new ReportSource(statement.getKeyword(), statement.getValue())
+        ));
+
+        // Store sub-reporter if its a SEND request, and start the upcoming requests if pipelining
+        if (statement.getKeyword().getKeywordType() == KeywordType.ACTION) {
+            completeStatementReports(runState, 1);
+            runState.lastActionReporter = subReporter;
+            startPipelined(runState, statement);
+        }
+
+        return subReporter;
+    }
+
+    /**
+     * Complete the reports of the statements directly under the root reporter, as statements are only nested under
+     * the last {@link KeywordType#ACTION} statement and earlier statements will not change anymore. This allows
+     * a {@link ReportListener} to write them out while the run continues
+     *
+     * @param runState    State of the current run
+     * @param ignoreCount Number of the latest statement reports to be left uncompleted
+     */
+    void completeStatementReports(RunState runState, int ignoreCount) {
+        List<TSONReporter> statementReporterList = runState.tsonReporter.getSubReportList();
+        for (int i = runState.completedReportCount; i < statementReporterList.size() - ignoreCount; i++) {
+            statementReporterList.get(i).complete();
+        }
+        runState.completedReportCount = Math.max(runState.completedReportCount, statementReporterList.size() - ignoreCount);
+    }
+
+    /**
+     * Start the upcoming {@link KeywordType#ACTION} statements ahead of the cursor, up to {@link #pipelineDepth}
+     * statements in flight. Only statements separated by {@link KeywordType#ASSERTION} statements are started, as
+     * other statements (eg: variables, SLEEP) may change what the next action does or when it should happen.
+     * Statements are started in order, stopping at the first statement that cannot be started ahead
+     *
+     * @param runState  State of the current run
+     * @param statement {@link KeywordType#ACTION} statement that is being handled
+     */
+    void startPipelined(RunState runState, Statement statement) {
+        if (pipelineDepth <= 1 || pipelineExecutor == null) {
+            return;
+        }
+
+        // Start the current statement if it was not started ahead. Later statements must not be sent before it
+        if (!runState.pipelinedStatementSet.remove(statement)
+                && !statement.getKeyword().startPipelined(tsonContext, statement, pipelineExecutor)) {
+            return;
+        }
+
+        // Start upcoming statements until the depth is reached
+        for (Statement nextStatement : runState.interpretation.getRemaining()) {
+            if (nextStatement == null || nextStatement.getKeyword() == null) {
+                return;
             }
 
-            // Create sub-reporter for this statement
-            TSONReporter subReporter = currentReporter.createSubReport(new Report(
-                    ReportType.INFO,
-                    statement.getProperty("title", ""),
-                    "",
-                    String.format("[%s] %s", statement.getKeyword().getCode(), statement.getValue()),
-                    new ReportSource(statement.getKeyword(), statement.getValue())
-            ));
-
-            // Store sub-reporter if its a SEND request
-            if (statement.getKeyword().getKeywordType() == KeywordType.ACTION) {
-                lastActionReporter = subReporter;
+            KeywordType keywordType = nextStatement.getKeyword().getKeywordType();
+            if (keywordType == KeywordType.ASSERTION || runState.pipelinedStatementSet.contains(nextStatement)) {
+                continue;
+            }
+            if (keywordType != KeywordType.ACTION
+                    || runState.pipelinedStatementSet.size() + 1 >= pipelineDepth
+                    || !nextStatement.getKeyword().startPipelined(tsonContext, nextStatement, pipelineExecutor)) {
+                return;
             }
+            runState.pipelinedStatementSet.add(nextStatement);
+        }
+    }
 
-            // Handle statement, wrap in try-catch to handle any unexpected errors when handling statement
-            try {
-                statement.getKeyword().handle(
-                        tsonContext,
-                        subReporter,
-                        statement
-                );
-            } catch (Exception e) {
-                // Log error
-                logger.error(String.format(
-                        "Error encountered when handling statement: [%s] %s",
-                        statement.getKeyword().getCode(),
-                        statement.getValue()
-                ), e);
-                // Set report to error
-                subReporter.getReport().setReportType(ReportType.ERROR);
-                subReporter.getReport().setReportDetail("Error encountered when handling statement. Check logs for details");
+    /**
+     * Report an unexpected error encountered when handling a statement
+     *
+     * @param statement   Statement that was being handled
+     * @param subReporter Sub-reporter of the statement
+     * @param e           Error encountered
+     */
+    void reportStatementError(Statement statement, TSONReporter subReporter, Throwable e) {
+        // Log error
+        logger.error(String.format(
+                "Error encountered when handling statement: [%s] %s",
+                statement.getKeyword().getCode(),
+                statement.getValue()
+        ), e);
+        // Set report to error
+        subReporter.getReport().setReportType(ReportType.ERROR);
+        subReporter.getReport().setReportDetail("Error encountered when handling statement. Check logs for details");
+    }
+
+    /**
+     * Handle the remaining statements of an asynchronous run. Returns as soon as a statement has to wait, and is called
+     * again on {@code executor} when that statement completes
+     *
+     * @param runState  State of the current run
+     * @param scheduler Scheduler used by statements that wait
+     * @param executor  Executor to resume the run on
+     * @param result    Future to complete with the report once all statements are handled
+     */
+    void continueAsync(RunState runState, ScheduledExecutorService scheduler, Executor executor, CompletableFuture<TSONReporter> result) {
+        try {
+            while (!runState.interpretation.isEof()) {
+                Statement statement = runState.interpretation.getNext();
+                TSONReporter subReporter = prepareStatement(runState, statement);
+                if (subReporter == null) {
+                    continue;
+                }
+
+                // Handle statement, wrap in try-catch to handle any unexpected errors when handling statement
+                CompletableFuture<Boolean> handleFuture;
+                try {
+                    handleFuture = statement.getKeyword()
+                            .handleAsync(tsonContext, subReporter, statement, scheduler, executor)
+                            .toCompletableFuture();
+                } catch (Exception e) {
+                    reportStatementError(statement, subReporter, e);
+                    continue;
+                }
+
+                // Statement is waiting, resume from the next statement once it completes
+                if (!handleFuture.isDone()) {
+                    handleFuture.whenCompleteAsync((status, throwable) -> {
+                        if (throwable != null) {
+                            reportStatementError(statement, subReporter, throwable);
+                        }
+                        continueAsync(runState, scheduler, executor, result);
+                    }, executor);
+                    return;
+                }
+
+                // Statement completed immediately
+                if (handleFuture.isCompletedExceptionally()) {
+                    try {
+                        handleFuture.join();
+                    } catch (CompletionException | CancellationException e) {
+                        reportStatementError(statement, subReporter, e.getCause() != null ? e.getCause() : e);
+                    }
+                }
             }
+
+            // Output result
+            result.complete(finishRun(runState));
+        } catch (Exception e) {
+            // Complete the run even if the runner failed, so that callers waiting on it are not stuck
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Complete a run after all statements are handled
+     *
+     * @param runState State of the run
+     * @return Report of the run
+     */
+    TSONReporter finishRun(RunState runState) {
+        // Discard requests that were started ahead but not reached
+        tsonRestClient.clearPipelinedSend();
+
+        // Complete the remaining statement reports
+        completeStatementReports(runState, 0);
+
+        // Attach latency summary of the requests sent
+        if (isMetricsAttached) {
+            runState.tsonReporter.getReport().addAttachment(
+                    "send_metrics.txt",
+                    String.join("\n", tsonRestClient.getMetricsRegistry().getSummary())
+            );
         }
 
         // Output result
-        return tsonReporter;
+        return runState.tsonReporter;
+    }
+
+    /**
+     * State of a single run, allowing the run to be paused between statements
+     */
+    static class RunState {
+        /**
+         * Interpretation of the file being run, used as the statement cursor
+         */
+        final Interpretation interpretation;
+
+        /**
+         * Root reporter of the run
+         */
+        final TSONReporter tsonReporter;
+
+        /**
+         * Reporter of the last ACTION statement, used for nesting the statements after it
+         */
+        TSONReporter lastActionReporter;
+
+        /**
+         * Statements ahead of the cursor that have been started, see {@link #startPipelined(RunState, Statement)}
+         */
+        final Set<Statement> pipelinedStatementSet = new HashSet<>();
+
+        /**
+         * Number of statement reports under the root reporter that are completed, see
+         * {@link #completeStatementReports(RunState, int)}
+         */
+        int completedReportCount = 0;
+
+        RunState(Interpretation interpretation, TSONReporter tsonReporter) {
+            this.interpretation = interpretation;
+            this.tsonReporter = tsonReporter;
+            this.lastActionReporter = tsonReporter;
+        }
+    }
+
+    /* ----- SETTERS ------------------------------ */
+
+    /**
+     * Set up pipelining of {@link KeywordType#ACTION} statements. When enabled, upcoming SEND requests that do not
+     * depend on earlier responses are sent while earlier requests are still waiting for their response. Assertions
+     * are still handled in order, as each response is received
+     *
+     * @param pipelineDepth    Maximum number of requests in flight at the same time. Set to 1 to disable pipelining
+     * @param pipelineExecutor Executor to send the pipelined requests on. The executor should not be shared with the
+     *                         thread running the file, as the run waits for the requests
+     */
+    public void setPipelining(int pipelineDepth, Executor pipelineExecutor) {
+        this.pipelineDepth = pipelineDepth;
+        this.pipelineExecutor = pipelineExecutor;
+    }
+
+    /**
+     * Set the listener of the reports of each run. Statement reports are completed as the run continues, and the
+     * root report of the run is left to the caller to complete (see {@link TSONReporter#complete()})
+     *
+     * @param reportListener Listener of the reports, eg: {@link com.euph28.tson.reporter.writer.JsonLinesReportWriter}
+     */
+    public void setReportListener(ReportListener reportListener) {
+        this.reportListener = reportListener;
+    }
+
+    /**
+     * Set the store that large report attachments (eg: request and response bodies) of each run are moved to
+     *
+     * @param attachmentStore Store of the attachments. Leave as {@code null} to keep the attachments in memory
+     */
+    public void setAttachmentStore(AttachmentStore attachmentStore) {
+        this.attachmentStore = attachmentStore;
+    }
+
+    /**
+     * Set if the latency summary of the rest client is attached to the report of each run (as
+     * {@code send_metrics.txt}). When enabled, the rest client is given a new metrics registry at the start of each
+     * run, so the summary only covers that run. This should be disabled when the metrics registry is shared between
+     * runs (eg: by {@link TSONSuiteRunner}), so that the shared registry is kept
+     *
+     * @param isMetricsAttached Specifies if the latency summary should be attached
+     */
+    public void setMetricsAttached(boolean isMetricsAttached) {
+        this.isMetricsAttached = isMetricsAttached;
     }
 
     /* ----- GETTERS ------------------------------ */
     public TSONInterpreter getTsonInterpreter() {
         return tsonInterpreter;
     }
+
+    public TSONRestClient getTsonRestClient() {
+        return tsonRestClient;
+    }
 }
\ No newline at end of file
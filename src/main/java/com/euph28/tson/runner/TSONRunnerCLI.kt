@@ -1,19 +1,62 @@
 package com.euph28.tson.runner
 
 import com.euph28.tson.core.Utility
+import com.euph28.tson.reporter.CompositeReportListener
+import com.euph28.tson.reporter.ReportListener
+import com.euph28.tson.reporter.attachment.AttachmentStore
+import com.euph28.tson.reporter.writer.JUnitXmlReportWriter
+import com.euph28.tson.reporter.writer.JsonLinesReportWriter
+import com.euph28.tson.reporter.writer.JsonReportWriter
 import com.github.ajalt.clikt.core.CliktCommand
+import com.github.ajalt.clikt.core.UsageError
 import com.github.ajalt.clikt.parameters.options.default
+import com.github.ajalt.clikt.parameters.options.flag
 import com.github.ajalt.clikt.parameters.options.option
-import com.github.ajalt.clikt.parameters.options.prompt
+import com.github.ajalt.clikt.parameters.types.double
 import com.github.ajalt.clikt.parameters.types.file
+import com.github.ajalt.clikt.parameters.types.int
+import com.github.ajalt.clikt.parameters.types.restrictTo
+import java.io.Closeable
 import java.io.FileInputStream
+import java.io.FileOutputStream
 import java.nio.file.Paths
 import java.util.*
+import java.util.concurrent.Executors
 
 class TSONRunnerCLI : CliktCommand() {
     val targetFile by option("--test", help = "Target TSON file to run")
         .file(mustExist = true, canBeDir = false)
-        .prompt()
+
+    val targetSuite by option("--suite", help = "Folder or glob (relative to workspace) of TSON files to run as a suite")
+
+    val threads by option("--threads", help = "Number of files to run in parallel when running a suite")
+        .int()
+        .default(Runtime.getRuntime().availableProcessors())
+
+    val virtualThreads by option("--virtual-threads", help = "Run each suite file or load user on a virtual thread (requires JDK 21+)")
+        .flag()
+
+    val asyncExecution by option("--async", help = "Run suite files without holding a thread while a statement waits (eg: SLEEP)")
+        .flag()
+
+    val pipelineDepth by option("--pipeline", help = "Number of independent SEND requests in flight at the same time for each file")
+        .int()
+        .restrictTo(min = 1)
+        .default(1)
+
+    val loadDuration by option("--duration", help = "Seconds to replay --test as load. Load mode is used if this is set")
+        .int()
+
+    val loadUsers by option("--users", help = "Number of virtual users when running as load")
+        .int()
+        .default(1)
+
+    val loadRate by option("--rate", help = "Runs to start per second when running as load. Uses fixed concurrency (--users) if not set")
+        .double()
+
+    val loadRampUp by option("--ramp-up", help = "Seconds to reach full load when running as load")
+        .int()
+        .default(0)
 
     val workspace by option(help = "Folder containing test files")
         .file(mustExist = true, canBeFile = false)
@@ -22,19 +65,103 @@ class TSONRunnerCLI : CliktCommand() {
     val customPropertiesFile by option("--properties", help = "Custom properties to be used")
         .file(mustExist = true, canBeDir = false)
 
+    val reportStreamFile by option("--report-stream", help = "File to stream finished reports to as JSON Lines. Only report summaries are kept in memory")
+        .file(canBeDir = false)
+
+    val junitReportFile by option("--report-junit", help = "File to write the report to as JUnit XML. Each file is written when it completes")
+        .file(canBeDir = false)
+
+    val jsonReportFile by option("--report-json", help = "File to write the report of each file to as a JSON array. Each file is written when it completes")
+        .file(canBeDir = false)
+
+    val attachmentStoreDir by option("--attachment-store", help = "Folder to move large report attachments (eg: responses) to. Identical attachments are stored once")
+        .file(canBeFile = false)
+
+    val compressAttachments by option("--compress-attachments", help = "Compress attachments moved to --attachment-store")
+        .flag()
+
     override fun run() {
         echo("TSON Runner - CLI Mode (" + Utility.getVersion() + ")")
-        echo("Running test: $targetFile")
 
         // Load custom properties
         val properties = Properties()
         customPropertiesFile?.let { file -> properties.load(FileInputStream(file)) }
 
-        // Create and run TSONRunner
-        val tsonRunner = TSONRunner(workspace, properties)
-        val result = tsonRunner.run(targetFile.relativeTo(workspace).toString())
-        result.reportAsBasicString.forEach { echo(it) }
+        // Store large attachments on disk if requested
+        val attachmentStore = attachmentStoreDir?.let { dir ->
+            AttachmentStore(dir.toPath(), AttachmentStore.DEFAULT_INLINE_LIMIT, compressAttachments)
+        }
+
+        // The JSON report needs the statements of each file, which are released once streamed
+        if (reportStreamFile != null && jsonReportFile != null) {
+            throw UsageError("--report-json cannot be combined with --report-stream, the streamed JSON Lines contain the same reports")
+        }
+
+        // Write reports as they complete if requested. The stream writer releases reports, so it is notified last
+        val junitReportWriter = junitReportFile?.let { file -> JUnitXmlReportWriter(FileOutputStream(file)) }
+        val jsonReportWriter = jsonReportFile?.let { file -> JsonReportWriter(FileOutputStream(file)) }
+        val streamReportWriter = reportStreamFile?.let { file -> JsonLinesReportWriter(FileOutputStream(file)) }
+        try {
+            runTarget(properties, CompositeReportListener(junitReportWriter, jsonReportWriter, streamReportWriter), attachmentStore)
+        } finally {
+            listOfNotNull<Closeable>(junitReportWriter, jsonReportWriter, streamReportWriter).forEach { it.close() }
+        }
+    }
+
+    /**
+     * Run the suite, load or single test that was requested
+     */
+    private fun runTarget(properties: Properties, reportListener: ReportListener, attachmentStore: AttachmentStore?) {
+        // Run suite or load if requested, otherwise run single test
+        val suite = targetSuite
+        val duration = loadDuration
+        if (suite != null) {
+            echo("Running suite: $suite")
+
+            // Create and run TSONSuiteRunner
+            val tsonSuiteRunner = TSONSuiteRunner(workspace, properties, threads, virtualThreads)
+            tsonSuiteRunner.setAsyncExecution(asyncExecution)
+            tsonSuiteRunner.setPipelineDepth(pipelineDepth)
+            tsonSuiteRunner.setReportListener(reportListener)
+            tsonSuiteRunner.setAttachmentStore(attachmentStore)
+            val result = tsonSuiteRunner.run(suite)
+            result.reportAsBasicString.forEach { echo(it) }
+            echo(result.report.getAttachment("send_metrics.txt"))
+            result.complete()
+        } else if (duration != null) {
+            val test = targetFile ?: throw UsageError("--test must be provided when running as load")
+            val rate = loadRate
+            val loadProfile = if (rate != null) {
+                LoadProfile.fixedRate(rate, loadUsers, loadRampUp * 1000L, duration * 1000L)
+            } else {
+                LoadProfile.fixedConcurrency(loadUsers, loadRampUp * 1000L, duration * 1000L)
+            }
+            echo("Running load: $test ($loadProfile)")
+
+            // Create and run TSONLoadRunner
+            val tsonLoadRunner = TSONLoadRunner(workspace, properties, loadProfile, virtualThreads)
+            val result = tsonLoadRunner.run(test.relativeTo(workspace).toString())
+            result.resultAsBasicString.forEach { echo(it) }
+        } else {
+            val test = targetFile ?: throw UsageError("Either --test or --suite must be provided")
+            echo("Running test: $test")
+
+            // Create and run TSONRunner
+            val tsonRunner = TSONRunner(workspace, properties)
+            val pipelineExecutor = if (pipelineDepth > 1) Executors.newFixedThreadPool(pipelineDepth) else null
+            pipelineExecutor?.let { tsonRunner.setPipelining(pipelineDepth, it) }
+            tsonRunner.setReportListener(reportListener)
+            tsonRunner.setAttachmentStore(attachmentStore)
+            val result = try {
+                tsonRunner.run(test.relativeTo(workspace).toString())
+            } finally {
+                pipelineExecutor?.shutdownNow()
+            }
+            result.reportAsBasicString.forEach { echo(it) }
+            tsonRunner.tsonRestClient.metricsRegistry.summary.forEach { echo(it) }
+            result.complete()
+        }
     }
 }
 
-fun main(args: Array<String>) = TSONRunnerCLI().main(args)
\ No newline at end of file
+fun main(args: Array<String>) = TSONRunnerCLI().main(args)
@@ -0,0 +1,326 @@
+package com.euph28.tson.runner;
+
+import com.euph28.tson.interpreter.Interpretation;
+import com.euph28.tson.reporter.ReportListener;
+import com.euph28.tson.reporter.TSONReporter;
+import com.euph28.tson.reporter.attachment.AttachmentStore;
+import com.euph28.tson.reporter.report.Report;
+import com.euph28.tson.reporter.report.ReportSource;
+import com.euph28.tson.reporter.report.ReportType;
+import com.euph28.tson.restclientinterface.metrics.SendMetricsRegistry;
+import com.euph28.tson.restclientinterface.transport.RestTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runner that executes multiple TSON files as a suite. Each file is run by its own {@link TSONRunner} so that
+ * the context, rest client and interpreter state are not shared between files
+ */
+public class TSONSuiteRunner {
+    Logger logger = LoggerFactory.getLogger(TSONSuiteRunner.class);
+
+    /* ----- CONSTANTS ------------------------------ */
+    /**
+     * File extension of TSON files, used when searching a directory for files to run
+     */
+    final static String TSON_EXTENSION = ".tson";
+
+    /* ----- VARIABLES ------------------------------ */
+    /**
+     * Workspace folder of the test files. This should point to the root folder from where path resolutions
+     * should occur
+     */
+    File workspace;
+
+    /**
+     * Custom properties to be inserted into the {@link com.euph28.tson.context.TSONContext} of each file
+     */
+    Properties properties;
+
+    /**
+     * Number of files that can be run at the same time
+     */
+    int threadCount;
+
+    /**
+     * Specifies if each file should run on its own virtual thread instead of a pool of {@link #threadCount}
+     * platform threads. See {@link RunnerExecutors#newExecutor(int, boolean)}
+     */
+    boolean useVirtualThreads;
+
+    /**
+     * Specifies if files should be run with {@link TSONRunner#runAsync}, so that files waiting on a statement
+     * (eg: SLEEP) do not hold a thread while waiting
+     */
+    boolean useAsyncExecution = false;
+
+    /**
+     * Maximum number of requests in flight at the same time for each file. See
+     * {@link TSONRunner#setPipelining(int, java.util.concurrent.Executor)}
+     */
+    int pipelineDepth = 1;
+
+    /**
+     * Listener of the reports of the suite. Leave as {@code null} to keep the reports only in memory
+     */
+    ReportListener reportListener;
+
+    /**
+     * Store that large report attachments are moved to. Leave as {@code null} to keep the attachments in memory
+     */
+    AttachmentStore attachmentStore;
+
+    /**
+     * Interpretations shared by the runners of each file, so that the same file is only parsed once
+     */
+    final Map<String, Interpretation> interpretationCache = new ConcurrentHashMap<>();
+
+    /* ----- CONSTRUCTOR ------------------------------ */
+
+    /**
+     * Create a runner for running a suite of TSON files
+     *
+     * @param workspace   Workspace folder that should be used for resolving paths
+     * @param properties  Custom properties to be inserted into the context of each file
+     * @param threadCount Number of files that can be run at the same time
+     */
+    public TSONSuiteRunner(File workspace, Properties properties, int threadCount) {
+        this(workspace, properties, threadCount, false);
+    }
+
+    /**
+     * Create a runner for running a suite of TSON files
+     *
+     * @param workspace         Workspace folder that should be used for resolving paths
+     * @param properties        Custom properties to be inserted into the context of each file
+     * @param threadCount       Number of files that can be run at the same time, when not using virtual threads
+     * @param useVirtualThreads Specifies if each file should run on its own virtual thread (JDK 21+). Falls back to
+     *                          {@code threadCount} platform threads if virtual threads are not supported
+     */
+    public TSONSuiteRunner(File workspace, Properties properties, int threadCount, boolean useVirtualThreads) {
+        this.workspace = workspace;
+        this.properties = properties;
+        this.threadCount = Math.max(1, threadCount);
+        this.useVirtualThreads = useVirtualThreads;
+    }
+
+    /* ----- METHODS ------------------------------ */
+
+    /**
+     * Find the TSON files that should be run for a target
+     *
+     * @param target Target of the suite, relative to the workspace. This can either be a directory (all TSON files
+     *               within it are used) or a glob pattern (eg: {@code tests/**.tson})
+     * @return List of files relative to the workspace, sorted by name. Returns an empty list if nothing was found
+     */
+    public List<String> findTestFiles(String target) {
+        Path workspacePath = workspace.toPath().toAbsolutePath();
+        Path targetPath = workspacePath.resolve(target);
+
+        // Select files by directory or by glob
+        Path searchRoot;
+        PathMatcher matcher;
+        if (Files.isDirectory(targetPath)) {
+            searchRoot = targetPath;
+            matcher = path -> path.toString().endsWith(TSON_EXTENSION);
+        } else {
+            searchRoot = workspacePath;
+            PathMatcher globMatcher = FileSystems.getDefault().getPathMatcher("glob:" + target);
+            matcher = path -> globMatcher.matches(workspacePath.relativize(path));
+        }
+
+        // Walk and collect the files
+        try (Stream<Path> pathStream = Files.walk(searchRoot)) {
+            return pathStream
+                    .filter(Files::isRegularFile)
+                    .filter(matcher::matches)
+                    .map(path -> workspacePath.relativize(path).toString())
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            logger.error("Failed to search for TSON files with target: " + target, e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Run all TSON files found for a target (see {@link #findTestFiles(String)})
+     *
+     * @param target Target of the suite, relative to the workspace. This can either be a directory or a glob pattern
+     * @return Reporter of the suite, with the report of each file as a sub-report
+     */
+    public TSONReporter run(String target) {
+        List<String> filenameList = findTestFiles(target);
+        logger.info(String.format("Running TSON suite for: %s (%d files found)", target, filenameList.size()));
+
+        TSONReporter suiteReporter = run(filenameList);
+        suiteReporter.getReport().setReportFallbackTitle(target);
+        return suiteReporter;
+    }
+
+    /**
+     * Run a list of TSON files
+     *
+     * @param filenameList List of TSON files to run, relative to the workspace
+     * @return Reporter of the suite, with the report of each file as a sub-report (in the same order as the list)
+     */
+    public TSONReporter run(List<String> filenameList) {
+        TSONReporter suiteReporter = new TSONReporter();
+        suiteReporter.getReport().setReportFallbackTitle("TSON Suite");
+        suiteReporter.setReportListener(reportListener);
+        suiteReporter.setAttachmentStore(attachmentStore);
+
+        // Share one transport between all files so that connections (and per-host limits) are pooled across the suite
+        RestTransport transport = TSONRunner.createSharedTransport(workspace, properties);
+
+        // Share one metrics registry between all files so that latency is aggregated across the suite
+        SendMetricsRegistry metricsRegistry = new SendMetricsRegistry();
+
+        // Submit all files to the worker pool, each file gets its own runner (and components)
+        ExecutorService executorService = RunnerExecutors.newExecutor(Math.min(threadCount, filenameList.size()), useVirtualThreads);
+        ScheduledExecutorService scheduler = useAsyncExecution ? Executors.newSingleThreadScheduledExecutor() : null;
+        ExecutorService pipelineExecutor = pipelineDepth > 1
+                ? RunnerExecutors.newExecutor(threadCount * pipelineDepth, useVirtualThreads)
+                : null;
+        List<Future<TSONReporter>> futureList = new ArrayList<>();
+        for (String filename : filenameList) {
+            if (useAsyncExecution) {
+                // Start on the worker pool, waiting statements are timed by the scheduler without holding a worker
+                futureList.add(CompletableFuture
+                        .supplyAsync(() -> createRunner(transport, metricsRegistry, pipelineExecutor), executorService)
+                        .thenCompose(tsonRunner -> tsonRunner.runAsync(filename, scheduler, executorService))
+                );
+            } else {
+                futureList.add(executorService.submit(() -> createRunner(transport, metricsRegistry, pipelineExecutor).run(filename)));
+            }
+        }
+
+        // Merge reports in order of the file list
+        try {
+            for (int i = 0; i < futureList.size(); i++) {
+                try {
+                    TSONReporter fileReporter = futureList.get(i).get();
+                    suiteReporter.attachSubReport(fileReporter);
+                    fileReporter.complete();
+                } catch (ExecutionException e) {
+                    logger.error("Error encountered when running TSON file: " + filenameList.get(i), e.getCause());
+                    suiteReporter.createSubReport(new Report(
+                            ReportType.ERROR,
+                            filenameList.get(i),
+                            "Error encountered when running file. Check logs for details",
+                            "",
+                            new ReportSource(null, filenameList.get(i))
+                    )).complete();
+                }
+            }
+        } catch (InterruptedException e) {
+            logger.error("Suite run interrupted", e);
+            Thread.currentThread().interrupt();
+        } finally {
+            executorService.shutdownNow();
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+            }
+            if (pipelineExecutor != null) {
+                pipelineExecutor.shutdownNow();
+            }
+        }
+
+        suiteReporter.getReport().addAttachment("send_metrics.txt", String.join("\n", metricsRegistry.getSummary()));
+        return suiteReporter;
+    }
+
+    /* ----- SETTERS ------------------------------ */
+
+    /**
+     * Set if files should be run asynchronously. When enabled, statements that wait (eg: SLEEP) do not hold a thread,
+     * so the number of threads no longer grows with the number of waiting files
+     *
+     * @param useAsyncExecution Specifies if files should be run with {@link TSONRunner#runAsync}
+     */
+    public void setAsyncExecution(boolean useAsyncExecution) {
+        this.useAsyncExecution = useAsyncExecution;
+    }
+
+    /**
+     * Set the maximum number of requests in flight at the same time for each file. Requests are sent ahead on a
+     * separate pool, see {@link TSONRunner#setPipelining(int, java.util.concurrent.Executor)}
+     *
+     * @param pipelineDepth Maximum number of requests in flight for each file. Set to 1 to disable pipelining
+     */
+    public void setPipelineDepth(int pipelineDepth) {
+        this.pipelineDepth = pipelineDepth;
+    }
+
+    /**
+     * Set the listener of the reports of the suite. The report of each file is completed once it is merged into the
+     * suite, and the suite report is left to the caller to complete (see {@link TSONReporter#complete()})
+     *
+     * @param reportListener Listener of the reports, eg: {@link com.euph28.tson.reporter.writer.JsonLinesReportWriter}
+     */
+    public void setReportListener(ReportListener reportListener) {
+        this.reportListener = reportListener;
+    }
+
+    /**
+     * Set the store that large report attachments of all files are moved to. Identical attachments of different
+     * files are only stored once
+     *
+     * @param attachmentStore Store of the attachments. Leave as {@code null} to keep the attachments in memory
+     */
+    public void setAttachmentStore(AttachmentStore attachmentStore) {
+        this.attachmentStore = attachmentStore;
+    }
+
+    /* ----- UTILITY ------------------------------ */
+
+    /**
+     * Create the runner for a single file of the suite
+     *
+     * @param transport        Transport to be shared with the rest client of the runner. Leave as {@code null} to let
+     *                         the rest client create its own
+     * @param metricsRegistry  Metrics registry to be shared with the rest client of the runner. Leave as {@code null}
+     *                         to let the rest client use its own
+     * @param pipelineExecutor Executor to send pipelined requests on. Leave as {@code null} to disable pipelining
+     * @return Runner with its own context, rest client and interpreter
+     */
+    TSONRunner createRunner(RestTransport transport, SendMetricsRegistry metricsRegistry, Executor pipelineExecutor) {
+        TSONRunner tsonRunner = new TSONRunner(workspace, properties);
+        tsonRunner.getTsonInterpreter().setInterpretationCache(interpretationCache);
+        if (pipelineExecutor != null) {
+            tsonRunner.setPipelining(pipelineDepth, pipelineExecutor);
+        }
+        if (transport != null) {
+            tsonRunner.getTsonRestClient().setTransport(transport);
+        }
+        if (metricsRegistry != null) {
+            // The summary of a shared registry is attached once by the caller instead of to each run
+            tsonRunner.getTsonRestClient().setMetricsRegistry(metricsRegistry);
+            tsonRunner.setMetricsAttached(false);
+        }
+        tsonRunner.setReportListener(reportListener);
+        tsonRunner.setAttachmentStore(attachmentStore);
+        return tsonRunner;
+    }
+}
@@ -1,6 +1,8 @@
 package com.euph28.tson.assertionengine.keyword.assertion;
 
 import com.euph28.tson.assertionengine.TSONAssertionEngine;
+import com.euph28.tson.assertionengine.keyword.utility.AssertionUtilities;
+import com.euph28.tson.assertionengine.keyword.utility.ValueRange;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -19,5 +21,41 @@ public class TestAssertRange {
         Assertions.assertFalse(assertion.checkAssertion(expressionValues, "28", "testPath"));
         Assertions.assertTrue(assertion.checkAssertion(expressionValues, "29", "testPath"));
         Assertions.assertTrue(assertion.checkAssertion(expressionValues, "30", "testPath"));
+
+        // Invalid actual value or range fails the assertion
+        Assertions.assertFalse(assertion.checkAssertion(expressionValues, "abc", "testPath"));
+        Assertions.assertFalse(assertion.checkAssertion(new String[]{"testPath", "a-b"}, "1", "testPath"));
+
+        // Prepared assertion gives the same results
+        PathValueAssertion.ValueAssertion valueAssertion = assertion.prepareAssertion(expressionValues);
+        Assertions.assertFalse(valueAssertion.check("28", "testPath"));
+        Assertions.assertTrue(valueAssertion.check("29", "testPath"));
+        Assertions.assertFalse(valueAssertion.check("abc", "testPath"));
+    }
+
+    @Test
+    public void testValueRange() {
+        // Multiple ranges, including overlapping and negative ranges
+        ValueRange valueRange = ValueRange.compile("1-5,10+,-8--6,4-7,-20-");
+        Assertions.assertTrue(valueRange.contains(1));
+        Assertions.assertTrue(valueRange.contains(7));
+        Assertions.assertFalse(valueRange.contains(8));
+        Assertions.assertTrue(valueRange.contains(1e10));
+        Assertions.assertTrue(valueRange.contains(-7));
+        Assertions.assertFalse(valueRange.contains(-5));
+        Assertions.assertTrue(valueRange.contains(-1e10));
+        Assertions.assertFalse(valueRange.contains(Double.NaN));
+
+        // Lower bound of value- is negative infinity
+        Assertions.assertTrue(AssertionUtilities.checkValueRange("5-", -1));
+        Assertions.assertTrue(AssertionUtilities.checkValueRange("5-", 0));
+
+        // Invalid range
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ValueRange.compile("5-1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ValueRange.compile("a-b"));
+        Assertions.assertFalse(AssertionUtilities.checkValueRange("a-b", 1));
+
+        // Same expression should share the compiled range
+        Assertions.assertSame(ValueRange.of("1-5,10+"), ValueRange.of("1-5,10+"));
     }
 }
@@ -0,0 +1,67 @@
+package com.euph28.tson.assertionengine.keyword.assertion;
+
+import com.euph28.tson.assertionengine.TSONAssertionEngine;
+import com.euph28.tson.assertionengine.keyword.utility.PatternCache;
+import com.euph28.tson.context.TSONContext;
+import com.euph28.tson.context.restdata.ResponseData;
+import com.euph28.tson.interpreter.Statement;
+import com.euph28.tson.reporter.TSONReporter;
+import com.euph28.tson.reporter.report.ReportType;
+import com.euph28.tson.restclientinterface.TSONRestClient;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+public class TestAssertRegex {
+
+    TSONAssertionEngine assertionEngine = new TSONAssertionEngine();
+
+    @Test
+    public void testCheckBasicAssertion() {
+        // Variables
+        AssertRegex assertion = new AssertRegex(assertionEngine);
+
+        // Input data
+        String[] expressionValues = {"testPath", "test[0-9]+"};
+
+        // Assertion
+        Assertions.assertTrue(assertion.checkAssertion(expressionValues, "test123", "testPath"));
+        Assertions.assertFalse(assertion.checkAssertion(expressionValues, "test", "testPath"));
+
+        // Prepared assertion
+        PathValueAssertion.ValueAssertion valueAssertion = assertion.prepareAssertion(expressionValues);
+        Assertions.assertTrue(valueAssertion.check("test123", "testPath"));
+        Assertions.assertFalse(valueAssertion.check("test123a", "testPath"));
+    }
+
+    @Test
+    public void testPatternCache() {
+        // Same regex should share the compiled pattern
+        Assertions.assertSame(PatternCache.compile("test[0-9]+"), PatternCache.compile("test[0-9]+"));
+
+        // Invalid regex should fail when preparing the assertion
+        AssertRegex assertion = new AssertRegex(assertionEngine);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> assertion.prepareAssertion(new String[]{"testPath", "test[0-9"}));
+    }
+
+    @Test
+    public void testInvalidFormat() {
+        // Variables
+        AssertRegex assertion = new AssertRegex(assertionEngine);
+        TSONContext tsonContext = new TSONContext();
+        TSONRestClient tsonRestClient = new TSONRestClient(tsonContext, sourceName -> "");
+        tsonRestClient.setTransport((requestVerb, requestData, connectTimeout, readTimeout) ->
+                new ResponseData(200, "{\"id\": \"test123\"}", 1, 1, 1, 1)
+        );
+        tsonRestClient.send();
+        assertion.tsonReporter = new TSONReporter();
+
+        // Entry without an expected value is reported as an invalid format instead of failing to prepare the assertion
+        assertion.handleAssertion(tsonContext, new Statement(assertion, Collections.emptyMap(), "id id=test[0-9]+"));
+        Assertions.assertEquals(2, assertion.tsonReporter.getSubReportList().size());
+        Assertions.assertEquals(ReportType.FAIL, assertion.tsonReporter.getSubReportList().get(0).getReport().getReportType());
+        Assertions.assertEquals("Failed to assert expression due to invalid format", assertion.tsonReporter.getSubReportList().get(0).getReport().getReportDetail());
+        Assertions.assertEquals(ReportType.PASS, assertion.tsonReporter.getSubReportList().get(1).getReport().getReportType());
+    }
+}
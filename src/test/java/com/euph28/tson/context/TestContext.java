@@ -0,0 +1,125 @@
+package com.euph28.tson.context;
+
+import com.euph28.tson.context.restdata.ResponseData;
+import com.euph28.tson.restclientinterface.TSONRestClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestContext {
+
+    TSONContext tsonContext;
+
+    TSONRestClient tsonRestClient;
+
+    @BeforeEach
+    public void setup() {
+        tsonContext = new TSONContext();
+        tsonRestClient = new TSONRestClient(tsonContext, sourceName -> "");
+        tsonContext.addVariable(VariableType.VARIABLE, "value", "resolved");
+        tsonContext.addVariable(VariableType.VARIABLE, "key", "value");
+        tsonContext.addVariable(VariableType.VARIABLE, "reference", "${var.value}!");
+    }
+
+    @Test
+    public void testResolveContent() {
+        Assertions.assertEquals("plain text", tsonContext.resolveContent("plain text"));
+        Assertions.assertEquals("a resolved b", tsonContext.resolveContent("a ${var.value} b"));
+        Assertions.assertEquals("resolved-resolved", tsonContext.resolveContent("${var.value}-${var.value}"));
+        Assertions.assertEquals("missing", tsonContext.resolveContent("${missing}"));
+    }
+
+    @Test
+    public void testResolveNestedContent() {
+        Assertions.assertEquals("resolved", tsonContext.resolveContent("${var.${var.key}}"));
+        Assertions.assertEquals("{resolved!}", tsonContext.resolveContent("{${var.reference}}"));
+    }
+
+    @Test
+    public void testGetContent() {
+        Assertions.assertTrue(tsonContext.hasContent("var.value"));
+        Assertions.assertFalse(tsonContext.hasContent("var.missing"));
+        Assertions.assertEquals("resolved", tsonContext.getContent("var.value", false));
+        Assertions.assertEquals("resolved", tsonContext.getContent("var.value").get("var.value"));
+
+        // Unknown prefix falls back to all providers with the full text as key
+        tsonContext.addVariable(VariableType.VARIABLE, "unknown.key", "fallback");
+        Assertions.assertEquals("fallback", tsonContext.getContent("unknown.key", false));
+    }
+
+    /**
+     * Send a request that receives a response with the provided body
+     */
+    void receiveResponse(String responseBody) {
+        tsonRestClient.setTransport((requestVerb, requestData, connectTimeout, readTimeout) ->
+                new ResponseData(200, responseBody, 1, 1, 1, 1)
+        );
+        tsonRestClient.send();
+    }
+
+    @Test
+    public void testJsonPath() {
+        receiveResponse("{\"order\": {\"items\": [{\"id\": 1, \"tags\": [\"a\", \"b\"]}, {\"id\": 2}], \"state\": {\"code\": \"DONE\"}}}");
+
+        // Nested paths, as periods or JSON Pointer
+        Assertions.assertEquals("DONE", tsonContext.getContent("json.order.state.code", false));
+        Assertions.assertEquals("DONE", tsonContext.getContent("json./order/state/code", false));
+
+        // Array indexes, including nested arrays
+        Assertions.assertEquals("2", tsonContext.getContent("json.order.items.1.id", false));
+        Assertions.assertEquals("b", tsonContext.getContent("json.order.items.0.tags.1", false));
+        Assertions.assertTrue(tsonContext.getContent("json.order.items.1.id").containsKey("json./order/items/1/id"));
+
+        // Wildcards resolve every item in document order
+        Assertions.assertEquals(2, tsonContext.getContent("json.order.items.*.id").size());
+        Assertions.assertEquals("1", tsonContext.getContent("json.order.items.*.id", true));
+
+        // Missing fields, out-of-range indexes and indexes on objects resolve to nothing
+        Assertions.assertTrue(tsonContext.getContent("json.order.missing").isEmpty());
+        Assertions.assertTrue(tsonContext.getContent("json.order.items.2.id").isEmpty());
+        Assertions.assertTrue(tsonContext.getContent("json.order.items.-1.id").isEmpty());
+        Assertions.assertTrue(tsonContext.getContent("json.order.state.0").isEmpty());
+        Assertions.assertTrue(tsonContext.getContent("json.order.items.id").isEmpty());
+    }
+
+    @Test
+    public void testJsonPathRepeated() {
+        // Repeated paths reuse the compiled path, but are evaluated against the latest response
+        receiveResponse("{\"items\": [{\"id\": 1}]}");
+        Assertions.assertEquals("1", tsonContext.getContent("json.items.0.id", false));
+        Assertions.assertEquals("1", tsonContext.getContent("json.items.0.id", false));
+
+        receiveResponse("{\"items\": [{\"id\": 2}]}");
+        Assertions.assertEquals("2", tsonContext.getContent("json.items.0.id", false));
+
+        receiveResponse("{\"items\": []}");
+        Assertions.assertTrue(tsonContext.getContent("json.items.0.id").isEmpty());
+    }
+
+    @Test
+    public void testJsonTreeReused() {
+        tsonRestClient.setRequestBody("{\"name\": \"request\"}");
+        receiveResponse("{\"id\": 1, \"name\": \"first\"}");
+        ResponseData responseData = tsonContext.getResponseData();
+
+        // Repeated lookups of the same response share one parsed tree
+        Assertions.assertEquals("1", tsonContext.resolveContent("${json.id}"));
+        JsonNode responseJson = responseData.getResponseJson();
+        Assertions.assertEquals("first", tsonContext.resolveContent("${json.name}"));
+        Assertions.assertEquals("1 first", tsonContext.resolveContent("${json.id} ${json.name}"));
+        Assertions.assertSame(responseJson, responseData.getResponseJson());
+
+        // Same for lookups of the request
+        Assertions.assertEquals("request", tsonContext.resolveContent("${json.request.name}"));
+        JsonNode requestJson = tsonContext.getRequestData().getRequestJson();
+        Assertions.assertEquals("request", tsonContext.resolveContent("${json.request.name}"));
+        Assertions.assertSame(requestJson, tsonContext.getRequestData().getRequestJson());
+
+        // New request is parsed from its own body
+        receiveResponse("{\"id\": 2, \"name\": \"second\"}");
+        Assertions.assertNotSame(responseData, tsonContext.getResponseData());
+        Assertions.assertEquals("2 second", tsonContext.resolveContent("${json.id} ${json.name}"));
+        Assertions.assertNotSame(responseJson, tsonContext.getResponseData().getResponseJson());
+    }
+}
@@ -0,0 +1,62 @@
+package com.euph28.tson.context.restdata;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+public class TestResponseData {
+
+    ResponseData createResponseData(String responseBody) {
+        byte[] bytes = responseBody.getBytes(StandardCharsets.UTF_8);
+        return new ResponseData(200, bytes, StandardCharsets.UTF_8, 1, 1, 1, 1);
+    }
+
+    @Test
+    public void testLazyFormatting() {
+        ResponseData responseData = createResponseData("{\"id\":1,\"items\":[1,2]}");
+
+        // Body is not decoded, parsed or formatted until it is used
+        Assertions.assertNull(responseData.responseBody);
+        Assertions.assertNull(responseData.responseJson);
+        Assertions.assertNull(responseData.responseBodyFormatted);
+        Assertions.assertEquals(200, responseData.getResponseStatus());
+        Assertions.assertEquals("{\"id\":1,\"items\":[1,2]}", responseData.getResponseBodyRaw());
+        Assertions.assertNull(responseData.responseBodyFormatted);
+
+        // Body is formatted on first retrieval, and reused afterwards
+        String responseBody = responseData.getResponseBody();
+        Assertions.assertNotEquals(responseData.getResponseBodyRaw(), responseBody);
+        Assertions.assertTrue(responseBody.contains("\n"));
+        Assertions.assertSame(responseBody, responseData.getResponseBody());
+        Assertions.assertSame(responseData.getResponseJson(), responseData.getResponseJson());
+        Assertions.assertEquals(1, responseData.getResponseJson().get("id").asInt());
+    }
+
+    @Test
+    public void testNonJsonBody() {
+        // Non-JSON body is returned as-is
+        ResponseData responseData = createResponseData("Internal Server Error\n");
+        Assertions.assertEquals("Internal Server Error\n", responseData.getResponseBody());
+        Assertions.assertTrue(responseData.getResponseJson().isMissingNode());
+
+        // Empty body
+        responseData = createResponseData("");
+        Assertions.assertEquals("", responseData.getResponseBody());
+        Assertions.assertTrue(responseData.getResponseJson().isMissingNode());
+        Assertions.assertEquals("", new ResponseData().getResponseBody());
+    }
+
+    @Test
+    public void testNonUtf8Body() {
+        // Body in another charset is parsed through the decoded String
+        String content = "{\"name\": \"caf\u00e9\"}";
+        ResponseData responseData = new ResponseData(200, content.getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.ISO_8859_1, 1, 1, 1, 1);
+        Assertions.assertEquals("caf\u00e9", responseData.getResponseJson().get("name").asText());
+        Assertions.assertEquals(content, responseData.getResponseBodyRaw());
+        Assertions.assertTrue(responseData.getResponseBody().contains("caf\u00e9"));
+
+        responseData = new ResponseData(200, content.getBytes(StandardCharsets.UTF_16), StandardCharsets.UTF_16, 1, 1, 1, 1);
+        Assertions.assertEquals("caf\u00e9", responseData.getResponseJson().get("name").asText());
+    }
+}
@@ -5,6 +5,9 @@ import com.euph28.tson.runner.TSONRunner;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class TestInterpreter {
 
     TSONRunner tsonRunner = TestUtility.getTsonRunner();
@@ -19,4 +22,44 @@ public class TestInterpreter {
         Assertions.assertFalse(interpretation.hasError());
         Assertions.assertEquals(7, interpretation.statementList.size());
     }
+
+    @Test
+    public void testCachedInterpretation() {
+        TSONInterpreter tsonInterpreter = tsonRunner.getTsonInterpreter();
+        String filename = "src/test/resources/simple01.tson";
+
+        Interpretation first = tsonInterpreter.interpret(filename);
+        first.getNext();
+        Interpretation second = tsonInterpreter.interpret(filename);
+
+        // Statements are shared, iterators are not
+        Assertions.assertSame(first.statementList, second.statementList);
+        Assertions.assertSame(first.peek(), second.statementList.get(1));
+        Assertions.assertSame(second.peek(), second.statementList.get(0));
+    }
+
+    @Test
+    public void testSharedInterpretationCache() {
+        Map<String, Interpretation> interpretationCache = new ConcurrentHashMap<>();
+        TSONInterpreter firstInterpreter = tsonRunner.getTsonInterpreter();
+        TSONInterpreter secondInterpreter = TestUtility.getTsonRunner().getTsonInterpreter();
+        firstInterpreter.setInterpretationCache(interpretationCache);
+        secondInterpreter.setInterpretationCache(interpretationCache);
+        String filename = "src/test/resources/simple01.tson";
+
+        Interpretation first = firstInterpreter.interpret(filename);
+        Interpretation cached = interpretationCache.get(filename);
+        Interpretation second = secondInterpreter.interpret(filename);
+
+        // Content is not parsed again, but statements use the keywords of their own interpreter
+        Assertions.assertSame(cached, interpretationCache.get(filename));
+        Assertions.assertEquals(first.statementList.size(), second.statementList.size());
+        for (Statement statement : second.statementList) {
+            Assertions.assertSame(
+                    secondInterpreter.getKeywordRegistry().get(statement.getKeyword().getCode()),
+                    statement.getKeyword()
+            );
+        }
+        Assertions.assertNotSame(first.statementList.get(0).getKeyword(), second.statementList.get(0).getKeyword());
+    }
 }
@@ -0,0 +1,126 @@
+package com.euph28.tson.reporter;
+
+import com.euph28.tson.reporter.report.Report;
+import com.euph28.tson.reporter.report.ReportSource;
+import com.euph28.tson.reporter.report.ReportType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class TestReporter {
+
+    Report createReport(ReportType reportType) {
+        return new Report(reportType, "", "", "", new ReportSource());
+    }
+
+    Report createReport(String reportTitle) {
+        return new Report(ReportType.INFO, reportTitle, "", "", new ReportSource());
+    }
+
+    /**
+     * Report retriever that shapes the report as {@code title[layer:index](sub-reports)}
+     */
+    ReportRetriever<String> createStringRetriever() {
+        return new ReportRetriever<String>() {
+            @Override
+            public String getReport(TSONReporter reporter, List<String> subReportList, int layer, int index) {
+                return reporter.getReport().getReportTitle() + "[" + layer + ":" + index + "]" + subReportList;
+            }
+
+            @Override
+            public boolean enableReport(ReportType derivedReportType, Report report) {
+                return !report.getReportTitle().equals("hidden");
+            }
+        };
+    }
+
+    @Test
+    public void testDerivedReportType() {
+        TSONReporter root = new TSONReporter();
+        TSONReporter child = root.createSubReport(createReport(ReportType.INFO));
+        TSONReporter grandchild = child.createSubReport(createReport(ReportType.PASS));
+        Assertions.assertEquals(ReportType.PASS, root.getDerivedReportType());
+
+        // Adding a more severe report raises all parents
+        TSONReporter failReporter = grandchild.createSubReport(createReport(ReportType.FAIL));
+        Assertions.assertEquals(ReportType.FAIL, root.getDerivedReportType());
+        Assertions.assertEquals(ReportType.FAIL, child.getDerivedReportType());
+
+        // Changing the type of a report updates all parents
+        failReporter.getReport().setReportType(ReportType.PASS);
+        Assertions.assertEquals(ReportType.PASS, root.getDerivedReportType());
+        child.getReport().setReportType(ReportType.ERROR);
+        Assertions.assertEquals(ReportType.ERROR, root.getDerivedReportType());
+        Assertions.assertEquals(ReportType.PASS, grandchild.getDerivedReportType());
+
+        // Deleting a report recalculates all parents
+        child.getReport().setReportType(ReportType.INFO);
+        failReporter.getReport().setReportType(ReportType.FAIL);
+        failReporter.delete();
+        Assertions.assertEquals(ReportType.PASS, root.getDerivedReportType());
+    }
+
+    @Test
+    public void testDerivedReportTypeOnAttach() {
+        TSONReporter source = new TSONReporter();
+        TSONReporter target = new TSONReporter();
+        TSONReporter moved = source.createSubReport(createReport(ReportType.INFO));
+        moved.createSubReport(createReport(ReportType.FAIL));
+        Assertions.assertEquals(ReportType.FAIL, source.getDerivedReportType());
+
+        // Moving a reporter updates both the previous and the new parent
+        target.attachSubReport(moved);
+        Assertions.assertEquals(ReportType.TRACE, source.getDerivedReportType());
+        Assertions.assertEquals(ReportType.FAIL, target.getDerivedReportType());
+    }
+
+    @Test
+    public void testGeneratedReport() {
+        TSONReporter root = new TSONReporter(null, createReport("root"));
+        TSONReporter a = root.createSubReport(createReport("a"));
+        a.createSubReport(createReport("a1"));
+        a.createSubReport(createReport("hidden"));
+        a.createSubReport(createReport("a2"));
+        TSONReporter b = root.createSubReport(createReport("b"));
+        TSONReporter b1 = b.createSubReport(createReport("b1"));
+        b1.createSubReport(createReport("b11"));
+        b.createSubReport(createReport("b2"));
+        root.createSubReport(createReport("c"));
+
+        // Full report
+        Assertions.assertEquals(
+                "root[0:0][a[1:0][a1[2:0][], a2[2:1][]], b[1:1][b1[2:0][b11[3:0][]], b2[2:1][]], c[1:2][]]",
+                b1.getGeneratedReport(createStringRetriever(), true)
+        );
+
+        // Partial report stops after b1 (including its sub-reports) and after each of its parents
+        Assertions.assertEquals(
+                "root[0:0][a[1:0][a1[2:0][], a2[2:1][]], b[1:1][b1[2:0][b11[3:0][]]]]",
+                b1.getGeneratedReport(createStringRetriever(), false)
+        );
+    }
+
+    @Test
+    public void testGeneratedReportDeep() {
+        // Deep tree should not overflow the stack
+        TSONReporter root = new TSONReporter(null, createReport("root"));
+        TSONReporter leaf = root;
+        for (int i = 0; i < 100000; i++) {
+            leaf = leaf.createSubReport(createReport("n"));
+            root.createSubReport(createReport("sibling"));
+        }
+        String result = leaf.getGeneratedReport(new ReportRetriever<String>() {
+            @Override
+            public String getReport(TSONReporter reporter, List<String> subReportList, int layer, int index) {
+                return subReportList.isEmpty() ? String.valueOf(layer) : subReportList.get(0);
+            }
+
+            @Override
+            public boolean enableReport(ReportType derivedReportType, Report report) {
+                return true;
+            }
+        }, false);
+        Assertions.assertEquals("100000", result);
+    }
+}
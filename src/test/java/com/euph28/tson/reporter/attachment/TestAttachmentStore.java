@@ -0,0 +1,118 @@
+package com.euph28.tson.reporter.attachment;
+
+import com.euph28.tson.reporter.TSONReporter;
+import com.euph28.tson.reporter.report.Report;
+import com.euph28.tson.reporter.report.ReportSource;
+import com.euph28.tson.reporter.report.ReportType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+public class TestAttachmentStore {
+
+    String createContent(int length, char value) {
+        char[] content = new char[length];
+        Arrays.fill(content, value);
+        return new String(content);
+    }
+
+    long countFiles(Path directory) throws IOException {
+        try (Stream<Path> fileStream = Files.list(directory)) {
+            return fileStream.count();
+        }
+    }
+
+    @Test
+    public void testStore() throws IOException {
+        Path directory = Files.createTempDirectory("tson-attachment");
+        AttachmentStore attachmentStore = new AttachmentStore(directory, 10, false);
+
+        // Small content is kept in memory
+        Attachment smallAttachment = attachmentStore.store("small");
+        Assertions.assertTrue(smallAttachment instanceof InlineAttachment);
+        Assertions.assertEquals("small", smallAttachment.getContent());
+        Assertions.assertEquals(0, countFiles(directory));
+
+        // Large content is stored once, identical content shares the same file
+        String content = createContent(100, 'a') + "\u00e9";
+        Attachment largeAttachment = attachmentStore.store(content);
+        Assertions.assertTrue(largeAttachment instanceof StoredAttachment);
+        Assertions.assertEquals(content, largeAttachment.getContent());
+        Assertions.assertSame(largeAttachment, attachmentStore.store(new String(content)));
+        attachmentStore.store(createContent(100, 'b'));
+        Assertions.assertEquals(2, attachmentStore.getStoredCount());
+        Assertions.assertEquals(2, countFiles(directory));
+    }
+
+    @Test
+    public void testStoreConcurrent() throws IOException, InterruptedException, ExecutionException {
+        Path directory = Files.createTempDirectory("tson-attachment");
+        AttachmentStore attachmentStore = new AttachmentStore(directory, 10, false);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Identical content stored by multiple threads at once shares one handle and one file
+        String content = createContent(100000, 'a');
+        List<Future<Attachment>> futureList = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            futureList.add(executor.submit(() -> attachmentStore.store(new String(content))));
+        }
+        Attachment attachment = attachmentStore.store(content);
+        for (Future<Attachment> future : futureList) {
+            Assertions.assertSame(attachment, future.get());
+        }
+        executor.shutdown();
+        Assertions.assertEquals(content, attachment.getContent());
+        Assertions.assertEquals(1, attachmentStore.getStoredCount());
+        Assertions.assertEquals(1, countFiles(directory));
+    }
+
+    @Test
+    public void testStoreCompressed() throws IOException {
+        Path directory = Files.createTempDirectory("tson-attachment");
+        AttachmentStore attachmentStore = new AttachmentStore(directory, 10, true);
+
+        String content = createContent(10000, 'a');
+        StoredAttachment attachment = (StoredAttachment) attachmentStore.store(content);
+        Assertions.assertEquals(content, attachment.getContent());
+        Assertions.assertTrue(attachment.getFile().toString().endsWith(".gz"));
+        Assertions.assertTrue(Files.size(attachment.getFile()) < content.length());
+    }
+
+    @Test
+    public void testReportAttachment() throws IOException {
+        Path directory = Files.createTempDirectory("tson-attachment");
+        TSONReporter root = new TSONReporter();
+        root.setAttachmentStore(new AttachmentStore(directory, 10, false));
+        TSONReporter reporter = root.createSubReport(new Report(ReportType.INFO, "send", "", "", new ReportSource()));
+
+        // Content is moved to the store when added, supplied content once the reporter is completed
+        String content = createContent(100, 'a');
+        reporter.getReport().addAttachment("request.json", content);
+        reporter.getReport().addAttachment("response.json", () -> content);
+        reporter.getReport().addAttachment("status.txt", "200");
+        Attachment smallAttachment = reporter.getReport().getAttachmentHandle("status.txt");
+        Assertions.assertTrue(reporter.getReport().getAttachmentHandle("request.json") instanceof StoredAttachment);
+        Assertions.assertTrue(reporter.getReport().getAttachmentHandle("response.json") instanceof InlineAttachment);
+
+        // Small content that was kept in memory when added is not given to the store again
+        reporter.complete();
+        Assertions.assertSame(smallAttachment, reporter.getReport().getAttachmentHandle("status.txt"));
+        Assertions.assertSame(
+                reporter.getReport().getAttachmentHandle("request.json"),
+                reporter.getReport().getAttachmentHandle("response.json")
+        );
+        Assertions.assertEquals(content, reporter.getReport().getAttachment("response.json"));
+        Assertions.assertEquals(1, countFiles(directory));
+    }
+}
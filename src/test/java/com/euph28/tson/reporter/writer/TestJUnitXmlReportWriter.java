@@ -0,0 +1,114 @@
+package com.euph28.tson.reporter.writer;
+
+import com.euph28.tson.context.keyword.PropertyId;
+import com.euph28.tson.context.keyword.Sleep;
+import com.euph28.tson.reporter.CompositeReportListener;
+import com.euph28.tson.reporter.TSONReporter;
+import com.euph28.tson.reporter.report.Report;
+import com.euph28.tson.reporter.report.ReportSource;
+import com.euph28.tson.reporter.report.ReportType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+public class TestJUnitXmlReportWriter {
+
+    /**
+     * Create the report of a suite with one file: an ID statement, a passing statement with timing and a failing
+     * statement
+     */
+    static TSONReporter createSuiteReporter() {
+        TSONReporter suiteReporter = new TSONReporter();
+        suiteReporter.getReport().setReportFallbackTitle("suite");
+        TSONReporter fileReporter = suiteReporter.createSubReport(new Report(ReportType.INFO, "file.tson", "", "", new ReportSource()));
+        fileReporter.createSubReport(new Report(ReportType.INFO, "id", "", "", new ReportSource(new PropertyId(), "ID-01")));
+
+        TSONReporter passReporter = fileReporter.createSubReport(new Report(ReportType.INFO, "pass", "", "", new ReportSource(new Sleep(), "1")));
+        passReporter.getReport().addAttachment("time_start", "1000000000");
+        passReporter.getReport().addAttachment("time_end", "1250000000");
+        passReporter.getReport().addAttachment("response.json", "{\"id\":1}");
+        passReporter.createSubReport(new Report(ReportType.PASS, "assert pass", "", "", new ReportSource()));
+
+        TSONReporter failReporter = fileReporter.createSubReport(new Report(ReportType.INFO, "fail", "", "", new ReportSource(new Sleep(), "1")));
+        failReporter.createSubReport(new Report(ReportType.FAIL, "assert fail", "expected 1", "", new ReportSource()));
+        return suiteReporter;
+    }
+
+    @Test
+    public void testWrite() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (JUnitXmlReportWriter writer = new JUnitXmlReportWriter(outputStream)) {
+            writer.write(createSuiteReporter());
+        }
+        Document document = DocumentBuilderFactory.newInstance()
+                .newDocumentBuilder()
+                .parse(new ByteArrayInputStream(outputStream.toByteArray()));
+
+        // Each file is a test suite, each statement (except ID) a test case
+        Element testSuite = (Element) document.getElementsByTagName("testsuite").item(0);
+        Assertions.assertEquals("file.tson", testSuite.getAttribute("name"));
+        Assertions.assertEquals("2", testSuite.getAttribute("tests"));
+        Assertions.assertEquals("1", testSuite.getAttribute("failures"));
+        Assertions.assertEquals("0", testSuite.getAttribute("errors"));
+
+        // Timing is written as properties and used for the duration
+        NodeList testCaseList = document.getElementsByTagName("testcase");
+        Element passTestCase = (Element) testCaseList.item(0);
+        Assertions.assertEquals("pass", passTestCase.getAttribute("name"));
+        Assertions.assertEquals("0.250", passTestCase.getAttribute("time"));
+        Assertions.assertEquals(2, passTestCase.getElementsByTagName("property").getLength());
+        Assertions.assertEquals(0, passTestCase.getElementsByTagName("failure").getLength());
+
+        // Failed assertions are listed in the failure
+        Element failure = (Element) ((Element) testCaseList.item(1)).getElementsByTagName("failure").item(0);
+        Assertions.assertEquals("assert fail", failure.getAttribute("message"));
+        Assertions.assertTrue(failure.getTextContent().contains("expected 1"));
+    }
+
+    @Test
+    public void testWriteOnCompletion() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JUnitXmlReportWriter writer = new JUnitXmlReportWriter(outputStream);
+        JsonLinesReportWriter streamWriter = new JsonLinesReportWriter(new ByteArrayOutputStream());
+
+        // Statements are released by the stream writer before their file is completed
+        TSONReporter fileReporter = new TSONReporter(null, new Report(ReportType.INFO, "file.tson", "", "", new ReportSource(null, "file.tson")));
+        fileReporter.setReportListener(new CompositeReportListener(writer, streamWriter));
+        TSONReporter passReporter = fileReporter.createSubReport(new Report(ReportType.INFO, "pass", "", "", new ReportSource(new Sleep(), "1")));
+        passReporter.getReport().addAttachment("time_start", "1000000000");
+        passReporter.getReport().addAttachment("time_end", "1250000000");
+        passReporter.complete();
+        TSONReporter failReporter = fileReporter.createSubReport(new Report(ReportType.INFO, "fail", "", "", new ReportSource(new Sleep(), "1")));
+        failReporter.createSubReport(new Report(ReportType.FAIL, "assert fail", "expected 1", "", new ReportSource()));
+        failReporter.complete();
+        Assertions.assertTrue(failReporter.isReleased());
+        Assertions.assertEquals(0, outputStream.size());
+
+        // File is written when completed, with the content of the released statements
+        fileReporter.complete();
+        Assertions.assertTrue(outputStream.size() > 0);
+        writer.close();
+        streamWriter.close();
+        Document document = DocumentBuilderFactory.newInstance()
+                .newDocumentBuilder()
+                .parse(new ByteArrayInputStream(outputStream.toByteArray()));
+
+        Element testSuite = (Element) document.getElementsByTagName("testsuite").item(0);
+        Assertions.assertEquals("file.tson", testSuite.getAttribute("name"));
+        Assertions.assertEquals("2", testSuite.getAttribute("tests"));
+        Assertions.assertEquals("1", testSuite.getAttribute("failures"));
+        NodeList testCaseList = document.getElementsByTagName("testcase");
+        Element passTestCase = (Element) testCaseList.item(0);
+        Assertions.assertEquals("0.250", passTestCase.getAttribute("time"));
+        Assertions.assertEquals(2, passTestCase.getElementsByTagName("property").getLength());
+        Element failure = (Element) ((Element) testCaseList.item(1)).getElementsByTagName("failure").item(0);
+        Assertions.assertEquals("assert fail", failure.getAttribute("message"));
+        Assertions.assertTrue(failure.getTextContent().contains("expected 1"));
+    }
+}
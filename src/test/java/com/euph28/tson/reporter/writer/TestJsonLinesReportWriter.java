@@ -0,0 +1,73 @@
+package com.euph28.tson.reporter.writer;
+
+import com.euph28.tson.reporter.TSONReporter;
+import com.euph28.tson.reporter.report.Report;
+import com.euph28.tson.reporter.report.ReportSource;
+import com.euph28.tson.reporter.report.ReportType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class TestJsonLinesReportWriter {
+
+    Report createReport(ReportType reportType, String reportTitle) {
+        return new Report(reportType, reportTitle, "", "", new ReportSource());
+    }
+
+    String[] getLines(ByteArrayOutputStream outputStream) {
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8).split("\n");
+    }
+
+    @Test
+    public void testStreamCompletedReports() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonLinesReportWriter writer = new JsonLinesReportWriter(outputStream);
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        TSONReporter root = new TSONReporter(null, new Report(ReportType.INFO, "file.tson", "", "", new ReportSource(null, "file.tson")));
+        root.setReportListener(writer);
+        TSONReporter send = root.createSubReport(createReport(ReportType.PASS, "send"));
+        send.getReport().addAttachment("response.json", "{\"id\":1}");
+        send.createSubReport(createReport(ReportType.FAIL, "assert"));
+        TSONReporter sleep = root.createSubReport(createReport(ReportType.INFO, "sleep"));
+
+        // Completed reporter is written with its sub-reports, then released
+        send.complete();
+        String[] lines = getLines(outputStream);
+        Assertions.assertEquals(1, lines.length);
+        JsonNode line = objectMapper.readTree(lines[0]);
+        Assertions.assertEquals("file.tson", line.get("file").asText());
+        Assertions.assertEquals("file.tson", line.get("path").get(0).asText());
+        Assertions.assertEquals("send", line.get("title").asText());
+        Assertions.assertEquals("FAIL", line.get("derivedType").asText());
+        Assertions.assertEquals("{\"id\":1}", line.get("attachments").get("response.json").asText());
+        Assertions.assertEquals("assert", line.get("subReports").get(0).get("title").asText());
+
+        Assertions.assertTrue(send.isReleased());
+        Assertions.assertTrue(send.getSubReportList().isEmpty());
+        Assertions.assertTrue(send.getReport().getAttachmentNames().isEmpty());
+        Assertions.assertEquals(ReportType.FAIL, send.getDerivedReportType());
+
+        // Summary is kept for the derived report type of parents
+        send.getReport().setReportType(ReportType.INFO);
+        Assertions.assertEquals(ReportType.FAIL, root.getDerivedReportType());
+
+        // Parent is written without the sub-reports that were already written
+        root.complete();
+        lines = getLines(outputStream);
+        Assertions.assertEquals(2, lines.length);
+        line = objectMapper.readTree(lines[1]);
+        Assertions.assertEquals("file.tson", line.get("file").asText());
+        Assertions.assertEquals(0, line.get("path").size());
+        Assertions.assertEquals(1, line.get("subReports").size());
+        Assertions.assertEquals("sleep", line.get("subReports").get(0).get("title").asText());
+        Assertions.assertFalse(sleep.isCompleted());
+
+        writer.close();
+    }
+}
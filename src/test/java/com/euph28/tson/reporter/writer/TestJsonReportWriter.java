@@ -0,0 +1,63 @@
+package com.euph28.tson.reporter.writer;
+
+import com.euph28.tson.context.keyword.Sleep;
+import com.euph28.tson.reporter.TSONReporter;
+import com.euph28.tson.reporter.report.Report;
+import com.euph28.tson.reporter.report.ReportSource;
+import com.euph28.tson.reporter.report.ReportType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+public class TestJsonReportWriter {
+
+    @Test
+    public void testWrite() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (JsonReportWriter writer = new JsonReportWriter(outputStream)) {
+            writer.write(TestJUnitXmlReportWriter.createSuiteReporter());
+        }
+        JsonNode suite = new ObjectMapper().readTree(outputStream.toByteArray());
+
+        Assertions.assertEquals("suite", suite.get("title").asText());
+        Assertions.assertEquals("FAIL", suite.get("derivedType").asText());
+        JsonNode file = suite.get("subReports").get(0);
+        Assertions.assertEquals("file.tson", file.get("title").asText());
+        Assertions.assertEquals(3, file.get("subReports").size());
+
+        // Timing is written as numeric properties instead of attachments
+        JsonNode pass = file.get("subReports").get(1);
+        Assertions.assertEquals(1000000000L, pass.get("properties").get("time_start").asLong());
+        Assertions.assertFalse(pass.get("attachments").has("time_start"));
+        Assertions.assertEquals("{\"id\":1}", pass.get("attachments").get("response.json").asText());
+        Assertions.assertEquals("assert pass", pass.get("subReports").get(0).get("title").asText());
+    }
+
+    @Test
+    public void testWriteOnCompletion() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonReportWriter writer = new JsonReportWriter(outputStream);
+        TSONReporter suiteReporter = new TSONReporter();
+        suiteReporter.setReportListener(writer);
+        for (String filename : new String[]{"a.tson", "b.tson"}) {
+            TSONReporter fileReporter = new TSONReporter(null, new Report(ReportType.INFO, filename, "", "", new ReportSource(null, filename)));
+            fileReporter.setReportListener(writer);
+            fileReporter.createSubReport(new Report(ReportType.PASS, "sleep", "", "", new ReportSource(new Sleep(), "1"))).complete();
+            suiteReporter.attachSubReport(fileReporter);
+            fileReporter.complete();
+        }
+
+        // Only files are written, each when completed
+        suiteReporter.complete();
+        writer.close();
+        JsonNode files = new ObjectMapper().readTree(outputStream.toByteArray());
+        Assertions.assertEquals(2, files.size());
+        Assertions.assertEquals("a.tson", files.get(0).get("title").asText());
+        Assertions.assertEquals("sleep", files.get(0).get("subReports").get(0).get("title").asText());
+        Assertions.assertEquals("b.tson", files.get(1).get("title").asText());
+    }
+}
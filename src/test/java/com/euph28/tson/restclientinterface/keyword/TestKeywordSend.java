@@ -0,0 +1,71 @@
+package com.euph28.tson.restclientinterface.keyword;
+
+import com.euph28.tson.context.TSONContext;
+import com.euph28.tson.context.restdata.ResponseData;
+import com.euph28.tson.interpreter.Statement;
+import com.euph28.tson.reporter.TSONReporter;
+import com.euph28.tson.restclientinterface.TSONRestClient;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+public class TestKeywordSend {
+
+    @Test
+    public void testPipelineSafe() {
+        Map<String, String> propertyMap = new HashMap<>();
+        propertyMap.put("prop.restclient.url", "http://localhost");
+        propertyMap.put("prop.a", "a");
+        propertyMap.put("prop.token", "${var.token}");
+        Function<String, String> propertyResolver = propertyMap::get;
+
+        // Bodies without content tags or with only properties do not depend on earlier statements
+        Assertions.assertTrue(KeywordSend.isPipelineSafe("", propertyResolver));
+        Assertions.assertTrue(KeywordSend.isPipelineSafe("{\"id\": 1}", propertyResolver));
+        Assertions.assertTrue(KeywordSend.isPipelineSafe("{\"url\": \"${prop.restclient.url}\"}", propertyResolver));
+        Assertions.assertTrue(KeywordSend.isPipelineSafe("${prop.a} ${prop.a}", propertyResolver));
+
+        // Bodies referring to responses, variables or any provider depend on earlier statements
+        Assertions.assertFalse(KeywordSend.isPipelineSafe("{\"id\": \"${json.body.id}\"}", propertyResolver));
+        Assertions.assertFalse(KeywordSend.isPipelineSafe("{\"id\": \"${var.id}\"}", propertyResolver));
+        Assertions.assertFalse(KeywordSend.isPipelineSafe("{\"id\": \"${id}\"}", propertyResolver));
+        Assertions.assertFalse(KeywordSend.isPipelineSafe("${prop.a} ${var.b}", propertyResolver));
+
+        // Properties are resolved again, so properties containing content tags also depend on earlier statements
+        Assertions.assertFalse(KeywordSend.isPipelineSafe("{\"token\": \"${prop.token}\"}", propertyResolver));
+        Assertions.assertFalse(KeywordSend.isPipelineSafe("${prop.${prop.a}}", propertyResolver));
+        Assertions.assertFalse(KeywordSend.isPipelineSafe("${prop.a", propertyResolver));
+    }
+
+    @Test
+    public void testResponseReleasedOnCompletion() throws InterruptedException {
+        TSONContext tsonContext = new TSONContext();
+        TSONRestClient tsonRestClient = new TSONRestClient(tsonContext, sourceName -> "{}");
+        tsonRestClient.setTransport((requestVerb, requestData, connectTimeout, readTimeout) ->
+                new ResponseData(200, "{\"id\": 1}", 1, 1, 1, 1)
+        );
+        KeywordSend keywordSend = new KeywordSend(tsonRestClient);
+        TSONReporter tsonReporter = new TSONReporter();
+        keywordSend.handle(tsonContext, tsonReporter, new Statement(keywordSend, Collections.emptyMap(), "request.json"));
+        WeakReference<ResponseData> responseReference = new WeakReference<>(tsonRestClient.getResponseData());
+
+        // Response is formatted when completed, so that the report does not keep the response afterwards
+        tsonReporter.complete();
+        tsonRestClient.setTransport((requestVerb, requestData, connectTimeout, readTimeout) -> new ResponseData());
+        tsonRestClient.send();
+        for (int i = 0; i < 50 && responseReference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assertions.assertNull(responseReference.get());
+        Assertions.assertEquals(
+                new ResponseData(200, "{\"id\": 1}", 1, 1, 1, 1).getResponseBody(),
+                tsonReporter.getReport().getAttachment("response.json")
+        );
+    }
+}
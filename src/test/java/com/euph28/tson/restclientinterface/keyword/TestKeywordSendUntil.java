@@ -0,0 +1,81 @@
+package com.euph28.tson.restclientinterface.keyword;
+
+import com.euph28.tson.context.restdata.ResponseData;
+import com.euph28.tson.reporter.TSONReporter;
+import com.euph28.tson.reporter.report.ReportType;
+import com.euph28.tson.restclientinterface.TSONRestClient;
+import com.euph28.tson.runner.TSONRunner;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestKeywordSendUntil {
+
+    @Test
+    public void testBackoff() {
+        Random random = new Random(0);
+
+        // Delay doubles after each attempt, with jitter of up to half the delay
+        for (int attempt = 1; attempt <= 4; attempt++) {
+            long backoff = 100L << (attempt - 1);
+            long delay = KeywordSendUntil.getBackoffMillis(attempt, 100, 5000, random);
+            Assertions.assertTrue(delay >= backoff / 2 && delay <= backoff, "Delay out of range: " + delay);
+        }
+
+        // Delay is capped by the maximum interval, even for large attempt counts
+        Assertions.assertTrue(KeywordSendUntil.getBackoffMillis(100, 100, 5000, random) <= 5000);
+        Assertions.assertEquals(0, KeywordSendUntil.getBackoffMillis(3, 0, 5000, random));
+    }
+
+    @Test
+    public void testSendUntil() {
+        Properties properties = new Properties();
+        properties.setProperty(TSONRestClient.PROPERTY_POLL_INTERVAL, "1");
+        TSONRunner tsonRunner = new TSONRunner(Paths.get("src", "test", "resources").toAbsolutePath().toFile(), properties);
+
+        // Respond with the expected state on the third request
+        AtomicInteger sendCount = new AtomicInteger();
+        tsonRunner.getTsonRestClient().setTransport((requestVerb, requestData, connectTimeout, readTimeout) ->
+                new ResponseData(200, sendCount.incrementAndGet() < 3 ? "{\"state\":\"PENDING\"}" : "{\"state\":\"DONE\"}", 1, 1, 1, 1)
+        );
+
+        TSONReporter tsonReporter = tsonRunner.run("poll01.tson");
+        Assertions.assertEquals(3, sendCount.get());
+        Assertions.assertEquals(ReportType.PASS, tsonReporter.getDerivedReportType());
+    }
+
+    @Test
+    public void testSendUntilAsync() throws ExecutionException, InterruptedException {
+        Properties properties = new Properties();
+        properties.setProperty(TSONRestClient.PROPERTY_POLL_INTERVAL, "1");
+        TSONRunner tsonRunner = new TSONRunner(Paths.get("src", "test", "resources").toAbsolutePath().toFile(), properties);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "scheduler"));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // Record the thread of each request, responding with the expected state on the third request
+        List<String> threadNameList = new CopyOnWriteArrayList<>();
+        tsonRunner.getTsonRestClient().setTransport((requestVerb, requestData, connectTimeout, readTimeout) -> {
+            threadNameList.add(Thread.currentThread().getName());
+            return new ResponseData(200, threadNameList.size() < 3 ? "{\"state\":\"PENDING\"}" : "{\"state\":\"DONE\"}", 1, 1, 1, 1);
+        });
+
+        // Scheduler is only used for the delay, requests are sent on the executor
+        TSONReporter tsonReporter = tsonRunner.runAsync("poll01.tson", scheduler, executor).get();
+        Assertions.assertEquals(3, threadNameList.size());
+        Assertions.assertFalse(threadNameList.contains("scheduler"));
+        Assertions.assertEquals(ReportType.PASS, tsonReporter.getDerivedReportType());
+
+        scheduler.shutdown();
+        executor.shutdown();
+    }
+}
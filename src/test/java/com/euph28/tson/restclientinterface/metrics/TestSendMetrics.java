@@ -0,0 +1,31 @@
+package com.euph28.tson.restclientinterface.metrics;
+
+import com.euph28.tson.context.restdata.ResponseData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestSendMetrics {
+
+    @Test
+    public void testRecord() {
+        SendMetricsRegistry metricsRegistry = new SendMetricsRegistry();
+
+        // Timings in nanoseconds: connect 1ms, first byte 5ms, total 10ms
+        ResponseData responseData = new ResponseData(200, "{}", 1_000_000, 2_000_000, 6_000_000, 11_000_000);
+        metricsRegistry.recordRoute("GET", "/items", responseData);
+        metricsRegistry.recordRoute("GET", "/items", responseData);
+        metricsRegistry.recordStatement("Send items", responseData);
+
+        // Requests that failed to send have no timings and are ignored
+        metricsRegistry.recordRoute("GET", "/items", new ResponseData());
+
+        SendMetrics routeMetrics = metricsRegistry.getRouteMetrics().get("GET /items");
+        Assertions.assertEquals(2, routeMetrics.getTotal().getTotalCount());
+        Assertions.assertEquals(1000, routeMetrics.getConnect().getMaxValue(), 1);
+        Assertions.assertEquals(5000, routeMetrics.getFirstByte().getMaxValue(), 5);
+        Assertions.assertEquals(10000, routeMetrics.getTotal().getMaxValue(), 10);
+
+        Assertions.assertEquals(1, metricsRegistry.getStatementMetrics().get("Send items").getTotal().getTotalCount());
+        Assertions.assertEquals(2, metricsRegistry.getSummary().size());
+    }
+}
@@ -0,0 +1,200 @@
+package com.euph28.tson.restclientinterface.transport;
+
+import com.euph28.tson.context.TSONContext;
+import com.euph28.tson.context.VariableType;
+import com.euph28.tson.context.restdata.RequestData;
+import com.euph28.tson.context.restdata.ResponseData;
+import com.euph28.tson.restclientinterface.TSONRestClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestPooledHttpTransport {
+
+    /**
+     * Client ports of the connections that requests were received on, in order
+     */
+    List<Integer> clientPortList = new CopyOnWriteArrayList<>();
+
+    /**
+     * Create a local server with routes that respond normally (/ok), with an error (/error) and slowly (/slow)
+     */
+    HttpServer createServer() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/ok", exchange -> respond(exchange, 200, "{\"id\": 1}"));
+        server.createContext("/error", exchange -> respond(exchange, 500, "{\"error\": \"failed\"}"));
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "{}");
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        return server;
+    }
+
+    void respond(HttpExchange exchange, int status, String body) throws IOException {
+        clientPortList.add(exchange.getRemoteAddress().getPort());
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    String getUrl(HttpServer server, String route) {
+        return "http://localhost:" + server.getAddress().getPort() + route;
+    }
+
+    @Test
+    public void testKeepAlive() throws IOException {
+        HttpServer server = createServer();
+        try {
+            PooledHttpTransport transport = new PooledHttpTransport();
+
+            // Sequential requests reuse the same connection
+            for (int i = 0; i < 3; i++) {
+                ResponseData responseData = transport.send("POST", new RequestData(getUrl(server, "/ok"), "{}"), 1000, 1000);
+                Assertions.assertEquals(200, responseData.getResponseStatus());
+                Assertions.assertEquals("{\"id\": 1}", responseData.getResponseBodyRaw());
+            }
+            Assertions.assertEquals(3, clientPortList.size());
+            Assertions.assertEquals(1, clientPortList.stream().distinct().count());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testErrorResponse() throws IOException {
+        HttpServer server = createServer();
+        try {
+            PooledHttpTransport transport = new PooledHttpTransport();
+
+            // Body of an error response is read from the error stream
+            ResponseData responseData = transport.send("POST", new RequestData(getUrl(server, "/error"), "{}"), 1000, 1000);
+            Assertions.assertEquals(500, responseData.getResponseStatus());
+            Assertions.assertEquals("{\"error\": \"failed\"}", responseData.getResponseBodyRaw());
+
+            // Error stream is drained, so the connection is reused for the next request
+            responseData = transport.send("POST", new RequestData(getUrl(server, "/ok"), "{}"), 1000, 1000);
+            Assertions.assertEquals(200, responseData.getResponseStatus());
+            Assertions.assertEquals(clientPortList.get(0), clientPortList.get(1));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testTimeoutProperties() throws IOException {
+        HttpServer server = createServer();
+        try {
+            TSONContext tsonContext = new TSONContext();
+            TSONRestClient tsonRestClient = new TSONRestClient(tsonContext, sourceName -> "");
+            tsonContext.addVariable(VariableType.PROPERTY, TSONRestClient.PROPERTY_REQUEST_PORT, String.valueOf(server.getAddress().getPort()));
+            tsonContext.addVariable(VariableType.PROPERTY, TSONRestClient.PROPERTY_CONNECT_TIMEOUT, "300");
+            tsonContext.addVariable(VariableType.PROPERTY, TSONRestClient.PROPERTY_READ_TIMEOUT, "200");
+
+            // Timeouts are taken from the properties
+            List<Integer> timeoutList = new ArrayList<>();
+            tsonRestClient.setTransport((requestVerb, requestData, connectTimeout, readTimeout) -> {
+                timeoutList.add(connectTimeout);
+                timeoutList.add(readTimeout);
+                return new ResponseData();
+            });
+            tsonRestClient.send();
+            Assertions.assertEquals(300, (int) timeoutList.get(0));
+            Assertions.assertEquals(200, (int) timeoutList.get(1));
+
+            // Read timeout stops waiting for a slow response
+            tsonRestClient.setTransport(new PooledHttpTransport());
+            tsonContext.addVariable(VariableType.PROPERTY, TSONRestClient.PROPERTY_REQUEST_ROUTE, "/slow");
+            long timeStart = System.nanoTime();
+            tsonRestClient.send();
+            Assertions.assertTrue(System.nanoTime() - timeStart < 900_000_000L);
+            Assertions.assertEquals(0, tsonRestClient.getResponseData().getResponseStatus());
+
+            PooledHttpTransport transport = new PooledHttpTransport();
+            Assertions.assertThrows(SocketTimeoutException.class, () ->
+                    transport.send("POST", new RequestData(getUrl(server, "/slow"), "{}"), 300, 200)
+            );
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testMaxConnectionsPerHost() throws IOException, InterruptedException, ExecutionException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        AtomicInteger inFlightCount = new AtomicInteger();
+        AtomicInteger maxInFlightCount = new AtomicInteger();
+        server.createContext("/", exchange -> {
+            maxInFlightCount.accumulateAndGet(inFlightCount.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlightCount.decrementAndGet();
+            respond(exchange, 200, "{}");
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            // Requests to the same host wait for one of the connections to be available
+            PooledHttpTransport transport = new PooledHttpTransport(2);
+            List<Future<ResponseData>> futureList = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                futureList.add(executor.submit(() -> transport.send("POST", new RequestData(getUrl(server, "/"), "{}"), 1000, 5000)));
+            }
+            for (Future<ResponseData> future : futureList) {
+                Assertions.assertEquals(200, future.get().getResponseStatus());
+            }
+            Assertions.assertEquals(2, maxInFlightCount.get());
+            Assertions.assertTrue(clientPortList.stream().distinct().count() <= 2);
+
+            // Limit is clamped to the sockets that the JDK keeps alive
+            Assertions.assertEquals(PooledHttpTransport.getKeepAliveCapacity(), new PooledHttpTransport(1000).maxConnectionsPerHost);
+        } finally {
+            executor.shutdown();
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testGetCharset() {
+        PooledHttpTransport transport = new PooledHttpTransport();
+
+        // Charset parameter, in any case and quoted
+        Assertions.assertEquals(StandardCharsets.ISO_8859_1, transport.getCharset("application/json; charset=ISO-8859-1"));
+        Assertions.assertEquals(StandardCharsets.UTF_16LE, transport.getCharset("application/json;Charset=\"utf-16le\""));
+        Assertions.assertEquals(StandardCharsets.UTF_16BE, transport.getCharset("text/plain; format=flowed; charset=UTF-16BE"));
+
+        // Missing or invalid charset defaults to UTF-8
+        Assertions.assertEquals(StandardCharsets.UTF_8, transport.getCharset(null));
+        Assertions.assertEquals(StandardCharsets.UTF_8, transport.getCharset("application/json"));
+        Assertions.assertEquals(StandardCharsets.UTF_8, transport.getCharset("application/json; charset="));
+        Assertions.assertEquals(StandardCharsets.UTF_8, transport.getCharset("application/json; charset=unknown-charset"));
+        Assertions.assertEquals(StandardCharsets.UTF_8, transport.getCharset("application/json; charset=@invalid"));
+    }
+}
@@ -0,0 +1,98 @@
+package com.euph28.tson.restclientinterface.transport;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class TestResponseBuffer {
+
+    byte[] createContent(int length) {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) i;
+        }
+        return content;
+    }
+
+    /**
+     * Stream that returns at most a few bytes per read, like a slow network stream
+     */
+    InputStream createChunkedStream(byte[] content) {
+        return new FilterInputStream(new ByteArrayInputStream(content)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 7));
+            }
+        };
+    }
+
+    @Test
+    public void testReadFully() throws IOException {
+        ResponseBuffer buffer = new ResponseBuffer(PooledHttpTransport.BUFFER_INITIAL_SIZE);
+
+        // Content is kept byte for byte, including newlines
+        byte[] content = "{\n  \"a\": 1,\r\n  \"b\": \"x\ny\"\n}\n".getBytes(StandardCharsets.UTF_8);
+        buffer.readFully(createChunkedStream(content), -1);
+        Assertions.assertTrue(Arrays.equals(content, buffer.toByteArray()));
+
+        // Buffer is cleared when reused for a shorter content
+        buffer.readFully(new ByteArrayInputStream(new byte[]{1, 2}), 2);
+        Assertions.assertTrue(Arrays.equals(new byte[]{1, 2}, buffer.toByteArray()));
+        Assertions.assertEquals(PooledHttpTransport.BUFFER_INITIAL_SIZE, buffer.capacity());
+
+        // Empty content
+        buffer.readFully(new ByteArrayInputStream(new byte[0]), 0);
+        Assertions.assertEquals(0, buffer.toByteArray().length);
+    }
+
+    @Test
+    public void testPresize() throws IOException {
+        ResponseBuffer buffer = new ResponseBuffer(PooledHttpTransport.BUFFER_INITIAL_SIZE);
+
+        // Known length is allocated up front, with room to detect the end of the stream without growing
+        byte[] content = createContent(100000);
+        buffer.readFully(createChunkedStream(content), content.length);
+        Assertions.assertEquals(content.length + 1, buffer.capacity());
+        Assertions.assertTrue(Arrays.equals(content, buffer.toByteArray()));
+    }
+
+    @Test
+    public void testGrowth() throws IOException {
+        ResponseBuffer buffer = new ResponseBuffer(PooledHttpTransport.BUFFER_INITIAL_SIZE);
+
+        // Unknown length grows past the initial size
+        byte[] content = createContent(PooledHttpTransport.BUFFER_INITIAL_SIZE * 3 + 5);
+        buffer.readFully(createChunkedStream(content), -1);
+        Assertions.assertTrue(buffer.capacity() > content.length);
+        Assertions.assertTrue(Arrays.equals(content, buffer.toByteArray()));
+
+        // Wrong length still reads the full content
+        buffer.readFully(new ByteArrayInputStream(content), 10);
+        Assertions.assertTrue(Arrays.equals(content, buffer.toByteArray()));
+    }
+
+    @Test
+    public void testBufferPool() throws IOException {
+        PooledHttpTransport transport = new PooledHttpTransport();
+
+        // Buffer is returned to the pool and reused
+        byte[] content = createContent(100);
+        Assertions.assertTrue(Arrays.equals(content, transport.readBody(new ByteArrayInputStream(content), content.length)));
+        Assertions.assertEquals(1, transport.responseBufferPool.size());
+        ResponseBuffer buffer = transport.responseBufferPool.peek();
+        transport.readBody(new ByteArrayInputStream(content), content.length);
+        Assertions.assertEquals(1, transport.responseBufferPool.size());
+        Assertions.assertSame(buffer, transport.responseBufferPool.peek());
+
+        // Buffer grown beyond the retained size is dropped after the response
+        byte[] largeContent = createContent(PooledHttpTransport.BUFFER_MAX_RETAINED_SIZE + 1);
+        Assertions.assertTrue(Arrays.equals(largeContent, transport.readBody(new ByteArrayInputStream(largeContent), -1)));
+        Assertions.assertEquals(0, transport.responseBufferPool.size());
+    }
+}
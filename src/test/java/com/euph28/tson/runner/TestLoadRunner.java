@@ -0,0 +1,70 @@
+package com.euph28.tson.runner;
+
+import com.euph28.tson.context.restdata.ResponseData;
+import com.euph28.tson.restclientinterface.metrics.SendMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.Properties;
+
+public class TestLoadRunner {
+
+    @Test
+    public void testArrivalOffset() {
+        // 10 runs per second, no ramp-up: one run every 100ms
+        LoadProfile loadProfile = LoadProfile.fixedRate(10, 1, 0, 1000);
+        Assertions.assertEquals(0, loadProfile.getArrivalOffsetNanos(0));
+        Assertions.assertEquals(500_000_000L, loadProfile.getArrivalOffsetNanos(5));
+
+        // 10 runs per second with 2s ramp-up: 10 runs during ramp-up, then one run every 100ms
+        loadProfile = LoadProfile.fixedRate(10, 1, 2000, 10000);
+        Assertions.assertEquals(Math.sqrt(2) * 1e9, loadProfile.getArrivalOffsetNanos(5), 1e3);
+        Assertions.assertEquals(2.0e9, loadProfile.getArrivalOffsetNanos(10), 1e3);
+        Assertions.assertEquals(2.1e9, loadProfile.getArrivalOffsetNanos(11), 1e3);
+    }
+
+    @Test
+    public void testUserStartOffset() {
+        LoadProfile loadProfile = LoadProfile.fixedConcurrency(4, 1000, 5000);
+        Assertions.assertEquals(0, loadProfile.getUserStartOffsetNanos(0));
+        Assertions.assertEquals(750_000_000L, loadProfile.getUserStartOffsetNanos(3));
+    }
+
+    TSONLoadRunner createLoadRunner(LoadProfile loadProfile, int responseStatus) {
+        TSONLoadRunner tsonLoadRunner = new TSONLoadRunner(
+                Paths.get("src", "test", "resources").toAbsolutePath().toFile(),
+                new Properties(),
+                loadProfile
+        );
+        tsonLoadRunner.setTransport((requestVerb, requestData, connectTimeout, readTimeout) -> new ResponseData(
+                responseStatus,
+                "{\"status\": " + responseStatus + ", \"body\": {\"values\": [\"a\", \"b\", \"abc[ads]\"]}}",
+                1, 1, 1, 1
+        ));
+        return tsonLoadRunner;
+    }
+
+    @Test
+    public void testFixedConcurrency() {
+        LoadResult loadResult = createLoadRunner(LoadProfile.fixedConcurrency(2, 0, 200), 200).run("simple01.tson");
+
+        // Each run sends 2 requests, all of which pass
+        Assertions.assertTrue(loadResult.getRunCount() > 0);
+        Assertions.assertEquals(0, loadResult.getFailedRunCount());
+        Assertions.assertEquals(0, loadResult.getDroppedRunCount());
+        SendMetrics routeMetrics = loadResult.getMetricsRegistry().getRouteMetrics().get("GET /");
+        Assertions.assertEquals(loadResult.getRunCount() * 2, routeMetrics.getTotal().getTotalCount());
+        Assertions.assertEquals(loadResult.getRunCount(), loadResult.getMetricsRegistry().getStatementMetrics().get("Send a.json").getTotal().getTotalCount());
+    }
+
+    @Test
+    public void testFailedRuns() {
+        LoadResult loadResult = createLoadRunner(LoadProfile.fixedConcurrency(2, 0, 200), 500).run("simple01.tson");
+
+        // Runs with failed assertions are counted as failed
+        Assertions.assertTrue(loadResult.getRunCount() > 0);
+        Assertions.assertEquals(loadResult.getRunCount(), loadResult.getFailedRunCount());
+        Assertions.assertEquals(loadResult.getRunCount() * 2, loadResult.getMetricsRegistry().getRouteMetrics().get("GET /").getTotal().getTotalCount());
+    }
+}
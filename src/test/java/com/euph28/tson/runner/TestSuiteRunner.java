@@ -0,0 +1,168 @@
+package com.euph28.tson.runner;
+
+import com.euph28.tson.context.restdata.ResponseData;
+import com.euph28.tson.core.keyword.KeywordType;
+import com.euph28.tson.reporter.ReportListener;
+import com.euph28.tson.reporter.TSONReporter;
+import com.euph28.tson.reporter.report.ReportType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class TestSuiteRunner {
+
+    TSONSuiteRunner tsonSuiteRunner = new TSONSuiteRunner(
+            Paths.get("src", "test", "resources").toAbsolutePath().toFile(),
+            new Properties(),
+            2
+    );
+
+    @Test
+    public void testFindByDirectory() {
+        List<String> fileList = tsonSuiteRunner.findTestFiles("");
+
+        Assertions.assertTrue(fileList.contains("simple01.tson"));
+    }
+
+    @Test
+    public void testFindByGlob() {
+        Assertions.assertTrue(tsonSuiteRunner.findTestFiles("simple*.tson").contains("simple01.tson"));
+        Assertions.assertTrue(tsonSuiteRunner.findTestFiles("missing*.tson").isEmpty());
+    }
+
+    @Test
+    public void testExecutor() throws ExecutionException, InterruptedException {
+        // Executors should run tasks with or without virtual threads (falls back to platform threads before JDK 21)
+        for (boolean useVirtualThreads : new boolean[]{false, true}) {
+            ExecutorService executorService = RunnerExecutors.newExecutor(2, useVirtualThreads);
+            Assertions.assertEquals("done", executorService.submit(() -> "done").get());
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testRunAsync() throws ExecutionException, InterruptedException {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        TSONRunner tsonRunner = new TSONRunner(Paths.get("src", "test", "resources").toAbsolutePath().toFile());
+
+        // Run returns while SLEEP is waiting on the scheduler, and resumes the remaining statements on the executor after
+        CompletableFuture<TSONReporter> future = tsonRunner.runAsync("sleep01.tson", scheduler, executor);
+        Assertions.assertFalse(future.isDone());
+
+        TSONReporter tsonReporter = future.get();
+        List<String> stepList = tsonReporter.getSubReportList().stream()
+                .map(reporter -> reporter.getReport().getReportStep())
+                .collect(Collectors.toList());
+        Assertions.assertTrue(stepList.contains("Wait for 200 milliseconds"));
+        Assertions.assertTrue(stepList.contains("Wait for 100 milliseconds"));
+        Assertions.assertNotEquals(ReportType.ERROR, tsonReporter.getDerivedReportType());
+        scheduler.shutdown();
+        executor.shutdown();
+    }
+
+    @Test
+    public void testSuiteAsync() {
+        tsonSuiteRunner.setAsyncExecution(true);
+        TSONReporter suiteReporter = tsonSuiteRunner.run(Arrays.asList("sleep01.tson", "sleep01.tson", "sleep01.tson"));
+        Assertions.assertEquals(3, suiteReporter.getSubReportList().size());
+        Assertions.assertNotEquals(ReportType.ERROR, suiteReporter.getDerivedReportType());
+
+        // Latency summary of the shared registry is only attached to the suite
+        Assertions.assertTrue(suiteReporter.getReport().getAttachmentNames().contains("send_metrics.txt"));
+        for (TSONReporter fileReporter : suiteReporter.getSubReportList()) {
+            Assertions.assertFalse(fileReporter.getReport().getAttachmentNames().contains("send_metrics.txt"));
+        }
+    }
+
+    @Test
+    public void testPipelining() {
+        ExecutorService pipelineExecutor = Executors.newFixedThreadPool(2);
+        TSONRunner tsonRunner = new TSONRunner(Paths.get("src", "test", "resources").toAbsolutePath().toFile());
+        tsonRunner.setPipelining(2, pipelineExecutor);
+
+        // Each request waits for the other, which only succeeds if both SEND statements are in flight together
+        CountDownLatch sentLatch = new CountDownLatch(2);
+        tsonRunner.getTsonRestClient().setTransport((requestVerb, requestData, connectTimeout, readTimeout) -> {
+            sentLatch.countDown();
+            try {
+                if (!sentLatch.await(5, TimeUnit.SECONDS)) {
+                    throw new IOException("Requests were not sent at the same time");
+                }
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            return new ResponseData(200, "{}", 1, 1, 1, 1);
+        });
+
+        TSONReporter tsonReporter = tsonRunner.run("simple01.tson");
+        pipelineExecutor.shutdown();
+
+        // Both requests received a response, and the assertion of each request was handled after it
+        Assertions.assertEquals(0, sentLatch.getCount());
+        Assertions.assertEquals(2, tsonRunner.getTsonRestClient().getMetricsRegistry().getStatementMetrics().size());
+        List<TSONReporter> sendReporterList = tsonReporter.getSubReportList().stream()
+                .filter(reporter -> reporter.getReport().getSource().getKeyword().getKeywordType() == KeywordType.ACTION)
+                .collect(Collectors.toList());
+        Assertions.assertEquals(2, sendReporterList.size());
+        for (TSONReporter sendReporter : sendReporterList) {
+            Assertions.assertFalse(sendReporter.getSubReportList().isEmpty());
+        }
+    }
+
+    @Test
+    public void testMetricsPerRun() {
+        TSONRunner tsonRunner = new TSONRunner(Paths.get("src", "test", "resources").toAbsolutePath().toFile());
+        tsonRunner.getTsonRestClient().setTransport((requestVerb, requestData, connectTimeout, readTimeout) ->
+                new ResponseData(200, "{}", 1, 1, 1, 1)
+        );
+
+        // Each run of the same runner only records and attaches its own requests
+        for (int i = 0; i < 2; i++) {
+            TSONReporter tsonReporter = tsonRunner.run("simple01.tson");
+            Assertions.assertEquals(2, tsonRunner.getTsonRestClient().getMetricsRegistry().getRouteMetrics().get("GET /").getTotal().getTotalCount());
+            Assertions.assertTrue(tsonReporter.getReport().getAttachment("send_metrics.txt").contains("GET /: count=2 "));
+        }
+    }
+
+    @Test
+    public void testReportListener() {
+        TSONRunner tsonRunner = new TSONRunner(Paths.get("src", "test", "resources").toAbsolutePath().toFile());
+        tsonRunner.getTsonRestClient().setTransport((requestVerb, requestData, connectTimeout, readTimeout) ->
+                new ResponseData(200, "{}", 1, 1, 1, 1)
+        );
+
+        // Record the number of statement reports created when each report is completed
+        List<String> completedList = new ArrayList<>();
+        tsonRunner.setReportListener(new ReportListener() {
+            @Override
+            public void onReportCompleted(TSONReporter reporter) {
+                completedList.add(reporter.getReport().getSource().getKeyword().getCode() + "@" + reporter.getParent().getSubReportList().size());
+            }
+        });
+        TSONReporter tsonReporter = tsonRunner.run("simple01.tson");
+
+        // Statements before a SEND are completed once the next SEND starts, the rest once the run finishes
+        Assertions.assertEquals(Arrays.asList(
+                "ID@3",
+                "DESC@3",
+                "SEND@4",
+                "SEND@4"
+        ), completedList);
+        Assertions.assertFalse(tsonReporter.isCompleted());
+    }
+}